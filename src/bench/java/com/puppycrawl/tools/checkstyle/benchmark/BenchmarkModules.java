@@ -0,0 +1,69 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import com.puppycrawl.tools.checkstyle.DefaultContext;
+import com.puppycrawl.tools.checkstyle.ModuleFactory;
+import com.puppycrawl.tools.checkstyle.ModulePrototype;
+import com.puppycrawl.tools.checkstyle.PackageNamesLoader;
+import com.puppycrawl.tools.checkstyle.PackageObjectFactory;
+import com.puppycrawl.tools.checkstyle.TreeWalker;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+/**
+ * Creates configured modules for the benchmarks, the same way as the
+ * {@code Checker} creates its children.
+ *
+ * @author the original author or authors.
+ */
+public final class BenchmarkModules {
+
+    /** Prevent instantiation. */
+    private BenchmarkModules() {
+    }
+
+    /**
+     * Creates a TreeWalker which is ready to process files.
+     * @param config the configuration of the TreeWalker and its checks.
+     * @return the TreeWalker.
+     * @throws CheckstyleException if a module cannot be created.
+     */
+    public static TreeWalker createTreeWalker(Configuration config) throws CheckstyleException {
+        final ClassLoader classLoader = BenchmarkModules.class.getClassLoader();
+        final Set<String> packageNames = PackageNamesLoader.getPackageNames(classLoader);
+        final ModuleFactory factory = new PackageObjectFactory(packageNames, classLoader);
+        final String charset = StandardCharsets.UTF_8.name();
+        final DefaultContext context = new DefaultContext();
+        context.add("charset", charset);
+        context.add("classLoader", classLoader);
+        context.add("moduleFactory", factory);
+        context.add("severity", "error");
+
+        final TreeWalker treeWalker =
+            (TreeWalker) new ModulePrototype(config, factory, context).createModule();
+        treeWalker.init();
+        treeWalker.beginProcessing(charset);
+        return treeWalker;
+    }
+}
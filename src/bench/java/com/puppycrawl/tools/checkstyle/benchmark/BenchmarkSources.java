@@ -0,0 +1,85 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * Provides the source files the benchmarks are run with. These are inputs
+ * of the tests from {@code src/test/resources} and a generated large file.
+ *
+ * @author the original author or authors.
+ */
+public final class BenchmarkSources {
+
+    /** Name of the generated large source file. */
+    public static final String SYNTHETIC = "Synthetic.java";
+
+    /** Directory of the test inputs, relative to the project directory. */
+    private static final String TEST_RESOURCES =
+        "src/test/resources/com/puppycrawl/tools/checkstyle/";
+
+    /** Directory of the generated source file, relative to the project directory. */
+    private static final String GENERATED_SOURCES = "target/benchmark-sources/";
+
+    /** Number of classes in the generated source file. */
+    private static final int SYNTHETIC_CLASSES = 300;
+
+    /** Prevent instantiation. */
+    private BenchmarkSources() {
+    }
+
+    /**
+     * Finds a source file by name, generating it if it is the synthetic one.
+     * @param name the name of the file, relative to the test resources.
+     * @return the file.
+     * @throws IOException if the synthetic file cannot be written.
+     */
+    public static File getFile(String name) throws IOException {
+        final File file;
+        if (SYNTHETIC.equals(name)) {
+            file = new File(GENERATED_SOURCES + SYNTHETIC);
+            if (!file.exists()) {
+                Files.createDirectories(file.getParentFile().toPath());
+                Files.write(file.toPath(), SyntheticSourceGenerator.generate(SYNTHETIC_CLASSES),
+                    StandardCharsets.UTF_8);
+            }
+        }
+        else {
+            file = new File(TEST_RESOURCES + name);
+        }
+        return file;
+    }
+
+    /**
+     * Reads a source file by name.
+     * @param name the name of the file, relative to the test resources.
+     * @return the content of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    public static FileText getText(String name) throws IOException {
+        return new FileText(getFile(name).getAbsoluteFile(), StandardCharsets.UTF_8.name());
+    }
+}
@@ -0,0 +1,129 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.TreeWalker;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+
+/**
+ * Measures single checks with their default configuration. The results
+ * include parsing the file, see {@link ParserBenchmark} and the
+ * {@code NONE} state of {@link TreeWalkerBenchmark} for that part.
+ *
+ * <p>The checks are the ten most expensive ones of each of three
+ * {@code --profile} runs over {@code src/main/java}, with
+ * {@code config/checkstyle_checks.xml}, {@code google_checks.xml} and
+ * {@code sun_checks.xml}. Javadoc checks lead these profiles because the
+ * first of them in a file also pays for parsing its Javadoc comments.
+ *
+ * @author the original author or authors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CheckBenchmark {
+
+    /** The name of the source file. */
+    @Param({
+        "checks/indentation/InputFromGuava.java",
+        "checks/javadoc/InputJavadocStyle.java",
+        BenchmarkSources.SYNTHETIC})
+    private String source;
+
+    /** The name of the check. */
+    @Param({
+        "AtclauseOrder",
+        "CommentsIndentation",
+        "DesignForExtension",
+        "FinalClass",
+        "Indentation",
+        "JavadocMethod",
+        "JavadocParagraph",
+        "JavadocStyle",
+        "JavadocTagContinuationIndentation",
+        "JavadocType",
+        "LineLength",
+        "NonEmptyAtclauseDescription",
+        "RedundantImport",
+        "RequireThis",
+        "SingleLineJavadoc",
+        "SummaryJavadoc",
+        "TodoComment",
+        "TypeName",
+        "UnusedImports",
+        "VisibilityModifier"})
+    private String check;
+
+    /** The source file. */
+    private File file;
+
+    /** The content of the source file. */
+    private FileText text;
+
+    /** The TreeWalker with the check. */
+    private TreeWalker treeWalker;
+
+    /**
+     * Reads the source file and creates the check.
+     * @throws IOException if the file cannot be read.
+     * @throws CheckstyleException if the check cannot be created.
+     */
+    @Setup
+    public void setUp() throws IOException, CheckstyleException {
+        file = BenchmarkSources.getFile(source);
+        text = BenchmarkSources.getText(source);
+        final DefaultConfiguration config = new DefaultConfiguration("TreeWalker");
+        config.addChild(new DefaultConfiguration(check));
+        treeWalker = BenchmarkModules.createTreeWalker(config);
+    }
+
+    /**
+     * Processes the source file with the check.
+     * @return the violations found.
+     * @throws CheckstyleException if the file cannot be processed.
+     */
+    @Benchmark
+    public SortedSet<LocalizedMessage> process() throws CheckstyleException {
+        return treeWalker.process(file, text);
+    }
+}
@@ -0,0 +1,118 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser;
+import com.puppycrawl.tools.checkstyle.TreeWalker;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
+
+/**
+ * Measures parsing of all Javadoc comments of a source file into
+ * Javadoc trees.
+ *
+ * @author the original author or authors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JavadocParserBenchmark {
+
+    /** The name of the source file. */
+    @Param({
+        "checks/javadoc/InputJavadocStyle.java",
+        "checks/javadoc/InputTags.java",
+        "checks/javadoc/InputCorrectAtClauseOrder.java",
+        BenchmarkSources.SYNTHETIC})
+    private String source;
+
+    /** The Javadoc comments of the source file. */
+    private final List<DetailAST> javadocComments = new ArrayList<>();
+
+    /**
+     * Parses the source file and collects its Javadoc comments.
+     * @throws Exception if the file cannot be read or parsed.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        final FileContents contents = new FileContents(BenchmarkSources.getText(source));
+        collectJavadocComments(TreeWalker.parseWithComments(contents));
+    }
+
+    /**
+     * Parses all Javadoc comments.
+     * @param blackhole consumes the parse results.
+     */
+    @Benchmark
+    public void parseJavadoc(Blackhole blackhole) {
+        for (final DetailAST comment : javadocComments) {
+            blackhole.consume(new JavadocDetailNodeParser().parseJavadocAsDetailNode(comment));
+        }
+    }
+
+    /**
+     * Parses all Javadoc comments with one parser, as checks of a
+     * TreeWalker do.
+     * @param blackhole consumes the parse results.
+     */
+    @Benchmark
+    public void parseJavadocWithReusedParser(Blackhole blackhole) {
+        final JavadocDetailNodeParser parser = new JavadocDetailNodeParser();
+        for (final DetailAST comment : javadocComments) {
+            blackhole.consume(parser.parseJavadocAsDetailNode(comment));
+        }
+    }
+
+    /**
+     * Collects the Javadoc comments of a tree.
+     * @param root the root of the tree.
+     */
+    private void collectJavadocComments(DetailAST root) {
+        for (DetailAST node = root; node != null; node = node.getNextSibling()) {
+            if (node.getType() == TokenTypes.BLOCK_COMMENT_BEGIN
+                    && JavadocUtils.isJavadocComment(node)) {
+                javadocComments.add(node);
+            }
+            collectJavadocComments(node.getFirstChild());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+
+/**
+ * Compares reading single lines through the copied array of
+ * {@link FileContents#getLines()}, as checks did per visited token, with
+ * reading them through {@link FileContents#getLine(int)}. The cost of the
+ * copy grows with the length of the file.
+ *
+ * @author the original author or authors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LineAccessBenchmark {
+
+    /** Number of lines read, spread evenly over the file. */
+    private static final int READ_LINES = 1000;
+
+    /** The name of the source file. */
+    @Param({
+        "checks/indentation/InputFromGuava.java",
+        BenchmarkSources.SYNTHETIC})
+    private String source;
+
+    /** The contents of the source file. */
+    private FileContents contents;
+
+    /**
+     * Reads the source file.
+     * @throws IOException if the file cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        contents = new FileContents(BenchmarkSources.getText(source));
+    }
+
+    /**
+     * Reads lines from a copy of all lines.
+     * @return the total length of the read lines.
+     */
+    @Benchmark
+    public int copiedLines() {
+        final int lineCount = contents.getText().size();
+        int length = 0;
+        for (int i = 0; i < READ_LINES; i++) {
+            length += contents.getLines()[i * lineCount / READ_LINES].length();
+        }
+        return length;
+    }
+
+    /**
+     * Reads lines without copying.
+     * @return the total length of the read lines.
+     */
+    @Benchmark
+    public int sharedLines() {
+        final int lineCount = contents.getText().size();
+        int length = 0;
+        for (int i = 0; i < READ_LINES; i++) {
+            length += contents.getLine(i * lineCount / READ_LINES).length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,133 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import antlr.RecognitionException;
+import antlr.Token;
+import antlr.TokenStreamException;
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.grammars.FastJavaLexer;
+import com.puppycrawl.tools.checkstyle.grammars.GeneratedJavaLexer;
+
+/**
+ * Measures lexing and parsing of Java sources, with and without
+ * appending the comment nodes to the tree.
+ *
+ * @author the original author or authors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+    /** The name of the source file. */
+    @Param({
+        "checks/coding/InputFinalLocalVariableFalsePositives.java",
+        "checks/indentation/InputFromGuava.java",
+        "checks/indentation/InputLambda1.java",
+        "checks/javadoc/InputJavadocStyle.java",
+        "grammars/InputRegressionJavaClass1.java",
+        BenchmarkSources.SYNTHETIC})
+    private String source;
+
+    /** Whether the fast front-end is used. */
+    @Param({"false", "true"})
+    private boolean fast;
+
+    /** The contents of the source file. */
+    private FileContents contents;
+
+    /**
+     * Reads the source file.
+     * @throws IOException if the file cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        contents = new FileContents(BenchmarkSources.getText(source));
+    }
+
+    /**
+     * Splits the source into tokens.
+     * @return the number of tokens.
+     * @throws TokenStreamException if lexing failed.
+     */
+    @Benchmark
+    public int lex() throws TokenStreamException {
+        final GeneratedJavaLexer lexer;
+        if (fast) {
+            lexer = new FastJavaLexer(contents.getText().getFullText());
+        }
+        else {
+            lexer = new GeneratedJavaLexer(
+                new StringReader(contents.getText().getFullText().toString()));
+        }
+        lexer.setCommentListener(contents);
+        lexer.setTreatAssertAsKeyword(true);
+        lexer.setTreatEnumAsKeyword(true);
+        int count = 0;
+        while (lexer.nextToken().getType() != Token.EOF_TYPE) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Parses the source without comment nodes.
+     * @return the root of the tree.
+     * @throws RecognitionException if parsing failed.
+     * @throws TokenStreamException if lexing failed.
+     */
+    @Benchmark
+    public DetailAST parse() throws RecognitionException, TokenStreamException {
+        return JavaParser.parse(contents, fast);
+    }
+
+    /**
+     * Parses the source and appends the comment nodes to the tree.
+     * @return the root of the tree.
+     * @throws RecognitionException if parsing failed.
+     * @throws TokenStreamException if lexing failed.
+     */
+    @Benchmark
+    public DetailAST parseWithComments() throws RecognitionException, TokenStreamException {
+        return JavaParser.parseWithComments(contents, fast);
+    }
+}
@@ -0,0 +1,138 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generates a large Java source file which contains the constructs found in
+ * typical code: Javadoc and other comments, generics, nested blocks,
+ * lambdas, anonymous and inner classes. The output only depends on the
+ * requested size, so results of different runs are comparable.
+ *
+ * @author the original author or authors.
+ */
+public final class SyntheticSourceGenerator {
+
+    /** Number of methods generated for each class. */
+    private static final int METHODS_PER_CLASS = 6;
+
+    /** Prevent instantiation. */
+    private SyntheticSourceGenerator() {
+    }
+
+    /**
+     * Generates the lines of a compilation unit.
+     * @param classCount the number of top level classes to generate.
+     * @return the lines of the source file.
+     */
+    public static List<String> generate(int classCount) {
+        final List<String> lines = new ArrayList<>();
+        lines.add("package com.puppycrawl.tools.checkstyle.benchmark.synthetic;");
+        lines.add("");
+        lines.add("import java.util.ArrayList;");
+        lines.add("import java.util.List;");
+        lines.add("import java.util.Map;");
+        lines.add("import java.util.function.Function;");
+        lines.add("");
+        for (int i = 0; i < classCount; i++) {
+            addClass(lines, i);
+        }
+        return lines;
+    }
+
+    /**
+     * Adds a top level class.
+     * @param lines the lines to add to.
+     * @param index the index of the class.
+     */
+    private static void addClass(List<String> lines, int index) {
+        final String name = "Synthetic" + index;
+        lines.add("/**");
+        lines.add(" * Generated class number " + index + ".");
+        lines.add(" * <p>Contains <b>fields</b>, methods and an inner class.</p>");
+        lines.add(" * @param <T> the type of the values");
+        lines.add(" */");
+        lines.add("class " + name + "<T extends Comparable<T>> {");
+        lines.add("    /** The values. */");
+        lines.add("    private final List<T> values = new ArrayList<>();");
+        lines.add("    // counts the calls");
+        lines.add("    private int count;");
+        lines.add("");
+        for (int i = 0; i < METHODS_PER_CLASS; i++) {
+            addMethod(lines, i);
+        }
+        lines.add("    /** An inner class. */");
+        lines.add("    private static final class Inner implements Runnable {");
+        lines.add("        @Override");
+        lines.add("        public void run() {");
+        lines.add("            /* nothing to do */");
+        lines.add("        }");
+        lines.add("    }");
+        lines.add("}");
+        lines.add("");
+    }
+
+    /**
+     * Adds a method to a class.
+     * @param lines the lines to add to.
+     * @param index the index of the method.
+     */
+    private static void addMethod(List<String> lines, int index) {
+        Collections.addAll(lines,
+            "    /**",
+            "     * Computes something for the key.",
+            "     * @param key the key",
+            "     * @param map the map to look up",
+            "     * @return the computed value",
+            "     * @throws IllegalStateException if the key is unknown",
+            "     */",
+            "    public int method" + index + "(String key, Map<String, T> map) {",
+            "        final Function<String, Integer> length = s -> s.length() + " + index
+                + ";",
+            "        int result = 0;",
+            "        for (int i = 0; i < values.size(); i++) {",
+            "            if (values.get(i).compareTo(map.get(key)) > 0 && i % 2 == 0) {",
+            "                result += length.apply(key); // add the length",
+            "            }",
+            "            else {",
+            "                result -= i;",
+            "            }",
+            "        }",
+            "        switch (result) {",
+            "            case 0:",
+            "                throw new IllegalStateException(\"unknown key \" + key);",
+            "            default:",
+            "                count++;",
+            "        }",
+            "        final Runnable task = new Runnable() {",
+            "            @Override",
+            "            public void run() {",
+            "                count--;",
+            "            }",
+            "        };",
+            "        task.run();",
+            "        return result;",
+            "    }",
+            "");
+    }
+}
@@ -0,0 +1,162 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.TreeWalker;
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.utils.TokenUtils;
+
+/**
+ * Measures the traversal of the AST by the TreeWalker and the dispatch of
+ * visits to checks, for each kind of registered checks. The checks visit
+ * every token but do nothing, so the difference to the {@code NONE} state,
+ * which only parses the file, is the cost of the traversal.
+ *
+ * @author the original author or authors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TreeWalkerBenchmark {
+
+    /** The name of the source file. */
+    @Param({
+        "checks/coding/InputFinalLocalVariableFalsePositives.java",
+        "checks/indentation/InputFromGuava.java",
+        BenchmarkSources.SYNTHETIC})
+    private String source;
+
+    /** The kinds of registered checks. */
+    @Param({"NONE", "ORDINARY", "COMMENT", "BOTH"})
+    private String checks;
+
+    /** The source file. */
+    private File file;
+
+    /** The content of the source file. */
+    private FileText text;
+
+    /** The TreeWalker with the registered checks. */
+    private TreeWalker treeWalker;
+
+    /**
+     * Reads the source file and creates the TreeWalker.
+     * @throws IOException if the file cannot be read.
+     * @throws CheckstyleException if a module cannot be created.
+     */
+    @Setup
+    public void setUp() throws IOException, CheckstyleException {
+        file = BenchmarkSources.getFile(source);
+        text = BenchmarkSources.getText(source);
+        final DefaultConfiguration config = new DefaultConfiguration("TreeWalker");
+        if ("ORDINARY".equals(checks) || "BOTH".equals(checks)) {
+            config.addChild(new DefaultConfiguration(VisitAllTokensCheck.class.getName()));
+        }
+        if ("COMMENT".equals(checks) || "BOTH".equals(checks)) {
+            config.addChild(new DefaultConfiguration(VisitAllCommentsCheck.class.getName()));
+        }
+        treeWalker = BenchmarkModules.createTreeWalker(config);
+    }
+
+    /**
+     * Processes the source file.
+     * @return the messages, which are always empty.
+     * @throws CheckstyleException if the file cannot be processed.
+     */
+    @Benchmark
+    public SortedSet<LocalizedMessage> process() throws CheckstyleException {
+        return treeWalker.process(file, text);
+    }
+
+    /** Visits all tokens of the AST without comment nodes and does nothing. */
+    public static class VisitAllTokensCheck extends AbstractCheck {
+        /** The number of visited tokens, so the visits cannot be optimized away. */
+        private int visits;
+
+        @Override
+        public int[] getDefaultTokens() {
+            return Arrays.stream(TokenUtils.getAllTokenIds())
+                .filter(type -> !TokenUtils.isCommentType(type))
+                .toArray();
+        }
+
+        @Override
+        public void visitToken(DetailAST ast) {
+            visits++;
+        }
+
+        @Override
+        public void leaveToken(DetailAST ast) {
+            visits--;
+        }
+    }
+
+    /** Visits all tokens of the AST with comment nodes and does nothing. */
+    public static class VisitAllCommentsCheck extends AbstractCheck {
+        /** The number of visited tokens, so the visits cannot be optimized away. */
+        private int visits;
+
+        @Override
+        public int[] getDefaultTokens() {
+            return TokenUtils.getAllTokenIds();
+        }
+
+        @Override
+        public boolean isCommentNodesRequired() {
+            return true;
+        }
+
+        @Override
+        public void visitToken(DetailAST ast) {
+            visits++;
+        }
+
+        @Override
+        public void leaveToken(DetailAST ast) {
+            visits--;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+
+/**
+ * Listener which passes the audit events to another listener on a dedicated
+ * writer thread, so that writing a report overlaps with checking the files.
+ * Events are handed over through a bounded queue, which blocks the auditing
+ * thread only if the writer falls behind by more than the queue capacity,
+ * and are delivered in the order they were received, in batches.
+ * A failure of the wrapped listener is rethrown on {@link #auditFinished}
+ * or {@link #close}, the events received after it are dropped.
+ *
+ * @author the original author or authors.
+ */
+public final class AsyncAuditListener implements AuditListener, Closeable {
+
+    /** Default number of events which may wait for the writer thread. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** Maximum number of events the writer thread takes from the queue at once. */
+    private static final int BATCH_SIZE = 256;
+
+    /** Message of the exception thrown when the wrapped listener failed. */
+    private static final String FAILURE_MSG = "Unable to notify audit listener";
+
+    /** Message of the exception thrown when the writer thread was interrupted. */
+    private static final String INTERRUPTED_MSG = "Interrupted while writing audit events";
+
+    /** Listener notified on the writer thread. */
+    private final AuditListener listener;
+
+    /** Events waiting for the writer thread. */
+    private final BlockingQueue<Notification> queue;
+
+    /** Executor running the writer thread, {@code null} if not started. */
+    private ExecutorService executor;
+
+    /** Result of the writer thread, {@code null} if not started. */
+    private Future<?> writer;
+
+    /** Whether the wrapped listener failed and the writer thread stopped. */
+    private volatile boolean failed;
+
+    /**
+     * Creates a new {@code AsyncAuditListener} with the default capacity.
+     * @param listener the listener to notify on the writer thread
+     */
+    public AsyncAuditListener(AuditListener listener) {
+        this(listener, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new {@code AsyncAuditListener} instance.
+     * @param listener the listener to notify on the writer thread
+     * @param capacity number of events which may wait for the writer thread
+     */
+    public AsyncAuditListener(AuditListener listener, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.listener = listener;
+        queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public void auditStarted(AuditEvent event) {
+        if (writer == null) {
+            failed = false;
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "checkstyle-audit-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            writer = executor.submit(this::write);
+        }
+        enqueue(new Notification(Notification.Kind.AUDIT_STARTED, event, null));
+    }
+
+    @Override
+    public void auditFinished(AuditEvent event) {
+        enqueue(new Notification(Notification.Kind.AUDIT_FINISHED, event, null));
+        close();
+    }
+
+    @Override
+    public void fileStarted(AuditEvent event) {
+        enqueue(new Notification(Notification.Kind.FILE_STARTED, event, null));
+    }
+
+    @Override
+    public void fileFinished(AuditEvent event) {
+        enqueue(new Notification(Notification.Kind.FILE_FINISHED, event, null));
+    }
+
+    @Override
+    public void addError(AuditEvent event) {
+        enqueue(new Notification(Notification.Kind.ERROR, event, null));
+    }
+
+    @Override
+    public void addException(AuditEvent event, Throwable throwable) {
+        enqueue(new Notification(Notification.Kind.EXCEPTION, event, throwable));
+    }
+
+    /**
+     * Waits until the writer thread delivered all received events and stops it.
+     * Does nothing if the writer thread is not running.
+     * @throws IllegalStateException if the wrapped listener failed or the
+     *     calling thread was interrupted.
+     */
+    @Override
+    public void close() {
+        if (writer != null) {
+            final Future<?> result = writer;
+            try {
+                enqueue(new Notification(Notification.Kind.STOP, null, null));
+                result.get();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(INTERRUPTED_MSG, ex);
+            }
+            catch (ExecutionException ex) {
+                final Throwable cause = ex.getCause();
+                if (cause instanceof Error) {
+                    throw new Error(FAILURE_MSG, cause);
+                }
+                throw new IllegalStateException(FAILURE_MSG, cause);
+            }
+            finally {
+                writer = null;
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * Hands an event over to the writer thread, or notifies the wrapped
+     * listener directly if the writer thread is not running.
+     * @param notification the event to hand over.
+     */
+    private void enqueue(Notification notification) {
+        if (writer == null) {
+            notification.deliver(listener);
+        }
+        else if (!failed) {
+            try {
+                queue.put(notification);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queuing audit event", ex);
+            }
+        }
+    }
+
+    /**
+     * Delivers the queued events to the wrapped listener until it is stopped.
+     * @throws IllegalStateException if the writer thread was interrupted.
+     */
+    private void write() {
+        final List<Notification> batch = new ArrayList<>(BATCH_SIZE);
+        boolean running = true;
+        try {
+            while (running) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (final Notification notification : batch) {
+                    if (notification.kind == Notification.Kind.STOP) {
+                        running = false;
+                        break;
+                    }
+                    notification.deliver(listener);
+                }
+                batch.clear();
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(INTERRUPTED_MSG, ex);
+        }
+        finally {
+            if (running) {
+                // unblock the auditing thread, further events are dropped
+                failed = true;
+                queue.clear();
+            }
+        }
+    }
+
+    /**
+     * Audit event waiting for the writer thread.
+     */
+    private static final class Notification {
+
+        /** Kinds of the listener notifications. */
+        private enum Kind {
+            /** Audit started. */
+            AUDIT_STARTED,
+            /** Audit finished. */
+            AUDIT_FINISHED,
+            /** File started. */
+            FILE_STARTED,
+            /** File finished. */
+            FILE_FINISHED,
+            /** Violation found. */
+            ERROR,
+            /** Exception thrown. */
+            EXCEPTION,
+            /** Writer thread should stop. */
+            STOP,
+        }
+
+        /** Kind of the notification. */
+        private final Kind kind;
+
+        /** The audit event. */
+        private final AuditEvent event;
+
+        /** The exception thrown, {@code null} if not an exception notification. */
+        private final Throwable throwable;
+
+        /**
+         * Creates a new {@code Notification} instance.
+         * @param kind kind of the notification
+         * @param event the audit event
+         * @param throwable the exception thrown
+         */
+        Notification(Kind kind, AuditEvent event, Throwable throwable) {
+            this.kind = kind;
+            this.event = event;
+            this.throwable = throwable;
+        }
+
+        /**
+         * Notifies a listener about the event.
+         * @param listener the listener to notify.
+         */
+        void deliver(AuditListener listener) {
+            switch (kind) {
+                case AUDIT_STARTED:
+                    listener.auditStarted(event);
+                    break;
+                case AUDIT_FINISHED:
+                    listener.auditFinished(event);
+                    break;
+                case FILE_STARTED:
+                    listener.fileStarted(event);
+                    break;
+                case FILE_FINISHED:
+                    listener.fileFinished(event);
+                    break;
+                case ERROR:
+                    listener.addError(event);
+                    break;
+                case EXCEPTION:
+                    listener.addException(event, throwable);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
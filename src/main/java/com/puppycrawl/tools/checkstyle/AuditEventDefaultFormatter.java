@@ -19,7 +19,10 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import java.io.PrintWriter;
+import java.util.EnumMap;
 import java.util.Locale;
+import java.util.Map;
 
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
@@ -34,53 +37,79 @@ public class AuditEventDefaultFormatter implements AuditEventFormatter {
     /** Length of all separators. */
     private static final int LENGTH_OF_ALL_SEPARATORS = 10;
 
+    /** Separator after the severity level name. */
+    private static final String SEVERITY_LEVEL_END = "] ";
+
+    /** Separator before the message. */
+    private static final String MESSAGE_START = ": ";
+
+    /** Separator before the check name. */
+    private static final String CHECK_NAME_START = " [";
+
     /** Suffix of module names like XXXXCheck. */
     private static final String SUFFIX = "Check";
 
+    /** Names of severity levels as they are printed. */
+    private static final Map<SeverityLevel, String> SEVERITY_LEVEL_NAMES =
+        new EnumMap<>(SeverityLevel.class);
+
+    static {
+        for (SeverityLevel severityLevel : SeverityLevel.values()) {
+            SEVERITY_LEVEL_NAMES.put(severityLevel,
+                severityLevel.getName().toUpperCase(Locale.US));
+        }
+        // We change the name of severity level intentionally
+        // to shorten the length of the log message.
+        SEVERITY_LEVEL_NAMES.put(SeverityLevel.WARNING, "WARN");
+    }
+
     @Override
     public String format(AuditEvent event) {
         final String fileName = event.getFileName();
         final String message = event.getMessage();
-
-        final SeverityLevel severityLevel = event.getSeverityLevel();
-        final String severityLevelName;
-        if (severityLevel == SeverityLevel.WARNING) {
-            // We change the name of severity level intentionally
-            // to shorten the length of the log message.
-            severityLevelName = "WARN";
-        }
-        else {
-            severityLevelName = severityLevel.getName().toUpperCase(Locale.US);
-        }
+        final String severityLevelName = SEVERITY_LEVEL_NAMES.get(event.getSeverityLevel());
+        final String checkShortName = getCheckShortName(event);
 
         // Avoid StringBuffer.expandCapacity
-        final int bufLen = calculateBufferLength(event, severityLevelName.length());
+        final int bufLen = LENGTH_OF_ALL_SEPARATORS + fileName.length() + message.length()
+            + severityLevelName.length() + checkShortName.length();
         final StringBuilder sb = new StringBuilder(bufLen);
 
-        sb.append('[').append(severityLevelName).append("] ")
+        sb.append('[').append(severityLevelName).append(SEVERITY_LEVEL_END)
             .append(fileName).append(':').append(event.getLine());
         if (event.getColumn() > 0) {
             sb.append(':').append(event.getColumn());
         }
-        sb.append(": ").append(message);
-        final String checkShortName = getCheckShortName(event);
-        sb.append(" [").append(checkShortName).append(']');
+        sb.append(MESSAGE_START).append(message);
+        sb.append(CHECK_NAME_START).append(checkShortName).append(']');
 
         return sb.toString();
     }
 
     /**
-     * Returns the length of the buffer for StringBuilder.
-     * bufferLength = fileNameLength + messageLength + lengthOfAllSeparators +
-     * + severityNameLength + checkNameLength.
+     * Writes the same message as {@link #format(AuditEvent)} piece by piece,
+     * without building it as a string first.
      * @param event audit event.
-     * @param severityLevelNameLength length of severity level name.
-     * @return the length of the buffer for StringBuilder.
+     * @param writer the writer to print the message to.
      */
-    private static int calculateBufferLength(AuditEvent event, int severityLevelNameLength) {
-        return LENGTH_OF_ALL_SEPARATORS + event.getFileName().length()
-            + event.getMessage().length() + severityLevelNameLength
-            + getCheckShortName(event).length();
+    final void format(AuditEvent event, PrintWriter writer) {
+        writer.print('[');
+        writer.print(SEVERITY_LEVEL_NAMES.get(event.getSeverityLevel()));
+        writer.print(SEVERITY_LEVEL_END);
+        writer.print(event.getFileName());
+        writer.print(':');
+        writer.print(event.getLine());
+        if (event.getColumn() > 0) {
+            writer.print(':');
+            writer.print(event.getColumn());
+        }
+        writer.print(MESSAGE_START);
+        writer.print(event.getMessage());
+        writer.print(CHECK_NAME_START);
+        final String checkFullName = event.getSourceName();
+        final int begin = getCheckShortNameBegin(checkFullName);
+        writer.write(checkFullName, begin, getCheckShortNameEnd(checkFullName) - begin);
+        writer.print(']');
     }
 
     /**
@@ -90,25 +119,32 @@ public class AuditEventDefaultFormatter implements AuditEventFormatter {
      */
     private static String getCheckShortName(AuditEvent event) {
         final String checkFullName = event.getSourceName();
-        final String checkShortName;
-        final int lastDotIndex = checkFullName.lastIndexOf('.');
-        if (lastDotIndex == -1) {
-            if (checkFullName.endsWith(SUFFIX)) {
-                checkShortName = checkFullName.substring(0, checkFullName.lastIndexOf(SUFFIX));
-            }
-            else {
-                checkShortName = checkFullName.substring(0, checkFullName.length());
-            }
+        return checkFullName.substring(getCheckShortNameBegin(checkFullName),
+            getCheckShortNameEnd(checkFullName));
+    }
+
+    /**
+     * Returns the index where the check name without package begins.
+     * @param checkFullName the fully qualified check name.
+     * @return index of the first character of the check short name.
+     */
+    private static int getCheckShortNameBegin(String checkFullName) {
+        return checkFullName.lastIndexOf('.') + 1;
+    }
+
+    /**
+     * Returns the index where the check name without 'Check' suffix ends.
+     * @param checkFullName the fully qualified check name.
+     * @return index after the last character of the check short name.
+     */
+    private static int getCheckShortNameEnd(String checkFullName) {
+        final int end;
+        if (checkFullName.endsWith(SUFFIX)) {
+            end = checkFullName.lastIndexOf(SUFFIX);
         }
         else {
-            if (checkFullName.endsWith(SUFFIX)) {
-                checkShortName = checkFullName.substring(lastDotIndex + 1,
-                    checkFullName.lastIndexOf(SUFFIX));
-            }
-            else {
-                checkShortName = checkFullName.substring(lastDotIndex + 1, checkFullName.length());
-            }
+            end = checkFullName.length();
         }
-        return checkShortName;
+        return end;
     }
 }
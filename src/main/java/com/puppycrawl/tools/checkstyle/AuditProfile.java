@@ -0,0 +1,652 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+
+/**
+ * Collects the time spent by the checks of all {@link TreeWalker}s of an
+ * audit in {@code beginTree}, {@code visitToken}, {@code leaveToken} and
+ * {@code finishTree}, the time spent to parse every file and to append comment
+ * nodes to its tree, which is only done if a check needs them. Optionally
+ * the bytes allocated during these calls are counted too, if the JVM supports
+ * it. Checks with the same name, e.g. the copies of a check used by
+ * different threads, are reported together.
+ *
+ * <p>Every TreeWalker measures its checks with an own {@link Recorder}, which
+ * is not thread safe and adds its measurements to the profile when the
+ * processing of files is finished. The profile is written to its report file
+ * when the audit is finished, in JSON format if the name of the file ends
+ * with {@code .json} and as plain text otherwise.</p>
+ *
+ * @author the original author or authors.
+ */
+public final class AuditProfile implements AuditListener {
+    /** Extension of file names to write the profile to in JSON format. */
+    private static final String JSON_EXTENSION = ".json";
+
+    /** The number of slowest files listed in the text report. */
+    private static final int REPORTED_FILES = 10;
+
+    /** Nanoseconds in a millisecond. */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /** Bytes in a kilobyte. */
+    private static final long BYTES_PER_KILOBYTE = 1024;
+
+    /** Format of a line of checks in the text report. */
+    private static final String TEXT_LINE_FORMAT =
+        "%-40s %12s %12s %12s %12s %12s %12s %14s%n";
+
+    /** Format of the allocated bytes in the JSON report. */
+    private static final String JSON_ALLOCATED_FORMAT = ", \"allocatedBytes\": %d";
+
+    /**
+     * Name of the thread bean which can count allocated bytes. It is not
+     * available on every JVM, so it is only used after checking by name.
+     */
+    private static final String ALLOCATION_BEAN_CLASS = "com.sun.management.ThreadMXBean";
+
+    /** Format of a time in the text report. */
+    private static final String MILLIS_FORMAT = "%.1f";
+
+    /** Orders statistics by decreasing total time. */
+    private static final Comparator<Statistics> SLOWEST_CHECKS_FIRST =
+        Comparator.comparingLong(Statistics::getTotalTime).reversed()
+            .thenComparing(statistics -> statistics.name);
+
+    /** Orders parse times by decreasing time. */
+    private static final Comparator<Entry<String, Long>> SLOWEST_FILES_FIRST =
+        Comparator.<Entry<String, Long>>comparingLong(Entry::getValue).reversed()
+            .thenComparing(Entry::getKey);
+
+    /** Collected statistics of checks by their names. */
+    private final Map<String, Statistics> checkStatistics = new HashMap<>();
+
+    /** Time spent to parse files by their names. */
+    private final Map<String, Long> parseTimes = new HashMap<>();
+
+    /** Time spent to append comment nodes by the names of the files. */
+    private final Map<String, Long> commentTimes = new HashMap<>();
+
+    /** The file to write the profile to. */
+    private final String reportFile;
+
+    /** Measures the bytes allocated by threads, {@code null} if they are not counted. */
+    private final AllocationCounter allocationCounter;
+
+    /**
+     * Creates a new empty profile.
+     * @param reportFile the file to write the profile to.
+     * @param countAllocations whether allocated bytes should be counted.
+     */
+    private AuditProfile(String reportFile, boolean countAllocations) {
+        this.reportFile = reportFile;
+        allocationCounter = getAllocationCounter(countAllocations);
+    }
+
+    /**
+     * Creates a new empty profile.
+     * @param reportFile the file to write the profile to when the audit is finished.
+     * @param countAllocations whether allocated bytes should be counted.
+     * @return the new profile.
+     */
+    public static AuditProfile create(String reportFile, boolean countAllocations) {
+        return new AuditProfile(reportFile, countAllocations);
+    }
+
+    /**
+     * Returns the bean to count allocated bytes with.
+     * @param countAllocations whether allocated bytes should be counted.
+     * @return the bean, or {@code null} if allocations are not counted or the
+     *     JVM does not support it.
+     */
+    private static AllocationCounter getAllocationCounter(boolean countAllocations) {
+        AllocationCounter result = null;
+        if (countAllocations) {
+            final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (isInstance(ALLOCATION_BEAN_CLASS, bean)) {
+                final AllocationCounter counter = new AllocationCounter(bean);
+                if (counter.enable()) {
+                    result = counter;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether an object is an instance of a class which may not exist.
+     * @param className the name of the class.
+     * @param object the object to check.
+     * @return whether the class exists and the object is an instance of it.
+     */
+    private static boolean isInstance(String className, Object object) {
+        boolean result;
+        try {
+            result = Class.forName(className).isInstance(object);
+        }
+        catch (ClassNotFoundException ignored) {
+            result = false;
+        }
+        return result;
+    }
+
+    /**
+     * Creates a recorder to measure checks on a single thread.
+     * @return the new recorder.
+     */
+    Recorder createRecorder() {
+        return new Recorder();
+    }
+
+    /**
+     * Returns the collected statistics of a check.
+     * @param name the name of the check.
+     * @return the statistics, or {@code null} if there is no check with the name.
+     */
+    synchronized Statistics getStatistics(String name) {
+        return checkStatistics.get(name);
+    }
+
+    /**
+     * Returns the time spent to parse a file.
+     * @param fileName the name of the file.
+     * @return the time in nanoseconds, or {@code null} if the file was not parsed.
+     */
+    synchronized Long getParseTime(String fileName) {
+        return parseTimes.get(fileName);
+    }
+
+    /**
+     * Returns the time spent to append comment nodes to the tree of a file.
+     * @param fileName the name of the file.
+     * @return the time in nanoseconds, or {@code null} if no comment nodes
+     *     were appended.
+     */
+    synchronized Long getCommentTime(String fileName) {
+        return commentTimes.get(fileName);
+    }
+
+    /**
+     * Adds the measurements of a recorder to the profile.
+     * @param recorder the recorder to add.
+     */
+    private synchronized void add(Recorder recorder) {
+        for (final Statistics statistics : recorder.checks.values()) {
+            checkStatistics.computeIfAbsent(statistics.name, Statistics::new).add(statistics);
+        }
+        recorder.parseTimes.forEach((fileName, time) -> parseTimes.merge(fileName, time,
+            Long::sum));
+        recorder.commentTimes.forEach((fileName, time) -> commentTimes.merge(fileName, time,
+            Long::sum));
+    }
+
+    @Override
+    public void auditStarted(AuditEvent event) {
+        // No code by default
+    }
+
+    @Override
+    public void auditFinished(AuditEvent event) {
+        try {
+            writeReport();
+        }
+        catch (IOException ex) {
+            throw new IllegalStateException("Unable to write profile to " + reportFile, ex);
+        }
+    }
+
+    @Override
+    public void fileStarted(AuditEvent event) {
+        // No code by default
+    }
+
+    @Override
+    public void fileFinished(AuditEvent event) {
+        // No code by default
+    }
+
+    @Override
+    public void addError(AuditEvent event) {
+        // No code by default
+    }
+
+    @Override
+    public void addException(AuditEvent event, Throwable throwable) {
+        // No code by default
+    }
+
+    /**
+     * Writes the profile to the report file.
+     * @throws IOException if the file cannot be written.
+     */
+    private synchronized void writeReport() throws IOException {
+        final Path path = Paths.get(reportFile).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(
+                Files.newOutputStream(path), StandardCharsets.UTF_8))) {
+            if (reportFile.toLowerCase(Locale.ENGLISH).endsWith(JSON_EXTENSION)) {
+                writeJson(writer);
+            }
+            else {
+                writeText(writer);
+            }
+        }
+    }
+
+    /**
+     * Writes the profile as plain text.
+     * @param writer the writer to write to.
+     */
+    void writeText(PrintWriter writer) {
+        final List<Entry<String, Long>> files = getSortedParseTimes();
+        final long totalParseTime = files.stream().mapToLong(Entry::getValue).sum();
+        writer.printf(Locale.ROOT, "Parsed %d files in %s ms%n", files.size(),
+            formatMillis(totalParseTime));
+        for (final Entry<String, Long> file : files.subList(0,
+                Math.min(REPORTED_FILES, files.size()))) {
+            writer.printf(Locale.ROOT, "%12s ms  %s%n", formatMillis(file.getValue()),
+                file.getKey());
+        }
+        final long totalCommentTime = commentTimes.values().stream().mapToLong(Long::longValue)
+            .sum();
+        writer.printf(Locale.ROOT, "Appended comment nodes to %d of %d files in %s ms%n",
+            commentTimes.size(), files.size(), formatMillis(totalCommentTime));
+        writer.println();
+        writer.printf(Locale.ROOT, TEXT_LINE_FORMAT, "Check", "Total ms",
+            Event.BEGIN_TREE.getName(), Event.VISIT_TOKEN.getName(),
+            Event.LEAVE_TOKEN.getName(), Event.FINISH_TREE.getName(), "Visits", "Allocated KB");
+        for (final Statistics statistics : getSortedStatistics()) {
+            final String allocated;
+            if (allocationCounter == null) {
+                allocated = "-";
+            }
+            else {
+                allocated = String.valueOf(statistics.getTotalAllocated() / BYTES_PER_KILOBYTE);
+            }
+            writer.printf(Locale.ROOT, TEXT_LINE_FORMAT, statistics.name,
+                formatMillis(statistics.getTotalTime()),
+                formatMillis(statistics.times[Event.BEGIN_TREE.ordinal()]),
+                formatMillis(statistics.times[Event.VISIT_TOKEN.ordinal()]),
+                formatMillis(statistics.times[Event.LEAVE_TOKEN.ordinal()]),
+                formatMillis(statistics.times[Event.FINISH_TREE.ordinal()]),
+                statistics.calls[Event.VISIT_TOKEN.ordinal()], allocated);
+        }
+    }
+
+    /**
+     * Writes the profile in JSON format. Times are given in nanoseconds.
+     * @param writer the writer to write to.
+     */
+    void writeJson(PrintWriter writer) {
+        writer.println("{");
+        writer.println("  \"files\": [");
+        final List<Entry<String, Long>> files = getSortedParseTimes();
+        for (int i = 0; i < files.size(); i++) {
+            final Entry<String, Long> file = files.get(i);
+            writer.printf(Locale.ROOT, "    {\"file\": \"%s\", \"parseTime\": %d",
+                escapeJson(file.getKey()), file.getValue());
+            final Long commentTime = commentTimes.get(file.getKey());
+            if (commentTime != null) {
+                writer.printf(Locale.ROOT, ", \"commentTime\": %d", commentTime);
+            }
+            writer.printf(Locale.ROOT, "}%s%n", getSeparator(i, files.size()));
+        }
+        writer.println("  ],");
+        writer.println("  \"checks\": [");
+        final List<Statistics> checks = getSortedStatistics();
+        for (int i = 0; i < checks.size(); i++) {
+            final Statistics statistics = checks.get(i);
+            writer.printf(Locale.ROOT, "    {\"name\": \"%s\", \"time\": %d",
+                escapeJson(statistics.name), statistics.getTotalTime());
+            if (allocationCounter != null) {
+                writer.printf(Locale.ROOT, JSON_ALLOCATED_FORMAT,
+                    statistics.getTotalAllocated());
+            }
+            for (final Event event : Event.values()) {
+                final int index = event.ordinal();
+                writer.printf(Locale.ROOT, ",%n      \"%s\": {\"calls\": %d, \"time\": %d",
+                    event.getName(), statistics.calls[index], statistics.times[index]);
+                if (allocationCounter != null) {
+                    writer.printf(Locale.ROOT, JSON_ALLOCATED_FORMAT,
+                        statistics.allocated[index]);
+                }
+                writer.print('}');
+            }
+            writer.print('}');
+            writer.println(getSeparator(i, checks.size()));
+        }
+        writer.println("  ]");
+        writer.println("}");
+    }
+
+    /**
+     * Returns the parse times of all files, slowest first.
+     * @return the sorted parse times.
+     */
+    private List<Entry<String, Long>> getSortedParseTimes() {
+        final List<Entry<String, Long>> files = new ArrayList<>(parseTimes.entrySet());
+        files.sort(SLOWEST_FILES_FIRST);
+        return files;
+    }
+
+    /**
+     * Returns the statistics of all checks, slowest first.
+     * @return the sorted statistics.
+     */
+    private List<Statistics> getSortedStatistics() {
+        final List<Statistics> checks = new ArrayList<>(checkStatistics.values());
+        checks.sort(SLOWEST_CHECKS_FIRST);
+        return checks;
+    }
+
+    /**
+     * Formats a time in milliseconds.
+     * @param nanos the time in nanoseconds.
+     * @return the formatted time.
+     */
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, MILLIS_FORMAT, nanos / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Returns the separator to write after an element of a JSON array.
+     * @param index the index of the element.
+     * @param size the size of the array.
+     * @return a comma for all elements but the last one.
+     */
+    private static String getSeparator(int index, int size) {
+        final String separator;
+        if (index < size - 1) {
+            separator = ",";
+        }
+        else {
+            separator = "";
+        }
+        return separator;
+    }
+
+    /**
+     * Escapes a string for a JSON string literal.
+     * @param value the string to escape.
+     * @return the escaped string.
+     */
+    private static String escapeJson(String value) {
+        final StringBuilder result = new StringBuilder(value.length());
+        for (final char chr : value.toCharArray()) {
+            if (chr == '"' || chr == '\\') {
+                result.append('\\').append(chr);
+            }
+            else if (chr < ' ') {
+                result.append(String.format(Locale.ROOT, "\\u%04x", (int) chr));
+            }
+            else {
+                result.append(chr);
+            }
+        }
+        return result.toString();
+    }
+
+    /** Measured calls of a check. */
+    enum Event {
+        /** Call of {@link AbstractCheck#beginTree}. */
+        BEGIN_TREE("beginTree"),
+        /** Call of {@link AbstractCheck#visitToken}. */
+        VISIT_TOKEN("visitToken"),
+        /** Call of {@link AbstractCheck#leaveToken}. */
+        LEAVE_TOKEN("leaveToken"),
+        /** Call of {@link AbstractCheck#finishTree}. */
+        FINISH_TREE("finishTree");
+
+        /** The name of the event in reports. */
+        private final String name;
+
+        /**
+         * Creates a new event.
+         * @param name the name of the event in reports.
+         */
+        Event(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns the name of the event in reports.
+         * @return the name of the event.
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /** Number of calls, time and allocated bytes of a check by event. */
+    static final class Statistics {
+        /** The name of the check. */
+        private final String name;
+        /** Number of calls by event. */
+        private final long[] calls = new long[Event.values().length];
+        /** Time in nanoseconds by event. */
+        private final long[] times = new long[Event.values().length];
+        /** Allocated bytes by event. */
+        private final long[] allocated = new long[Event.values().length];
+
+        /**
+         * Creates statistics without any calls.
+         * @param name the name of the check.
+         */
+        Statistics(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns the number of calls of an event.
+         * @param event the event.
+         * @return the number of calls.
+         */
+        long getCalls(Event event) {
+            return calls[event.ordinal()];
+        }
+
+        /**
+         * Returns the time spent in all events.
+         * @return the time in nanoseconds.
+         */
+        long getTotalTime() {
+            long result = 0;
+            for (final long time : times) {
+                result += time;
+            }
+            return result;
+        }
+
+        /**
+         * Returns the bytes allocated in all events.
+         * @return the number of bytes.
+         */
+        long getTotalAllocated() {
+            long result = 0;
+            for (final long bytes : allocated) {
+                result += bytes;
+            }
+            return result;
+        }
+
+        /**
+         * Adds other statistics to these.
+         * @param other the statistics to add.
+         */
+        void add(Statistics other) {
+            for (int i = 0; i < calls.length; i++) {
+                calls[i] += other.calls[i];
+                times[i] += other.times[i];
+                allocated[i] += other.allocated[i];
+            }
+        }
+    }
+
+    /**
+     * Measures the checks of a TreeWalker and the parsing of files on a single
+     * thread. Measurements are started with {@link #start()}, so they cannot be
+     * nested.
+     */
+    final class Recorder {
+        /** Statistics of the registered checks. */
+        private final Map<AbstractCheck, Statistics> checks = new IdentityHashMap<>();
+        /** Time spent to parse files by their names. */
+        private final Map<String, Long> parseTimes = new HashMap<>();
+        /** Time spent to append comment nodes by the names of the files. */
+        private final Map<String, Long> commentTimes = new HashMap<>();
+        /** The start time of the current measurement. */
+        private long startTime;
+        /** The bytes allocated by the thread at the start of the current measurement. */
+        private long startAllocated;
+
+        /**
+         * Registers a check to measure.
+         * @param check the check.
+         * @param name the name of the check in the profile.
+         */
+        void register(AbstractCheck check, String name) {
+            checks.put(check, new Statistics(name));
+        }
+
+        /** Starts a measurement. */
+        void start() {
+            if (allocationCounter != null) {
+                startAllocated = getAllocatedBytes();
+            }
+            startTime = System.nanoTime();
+        }
+
+        /**
+         * Finishes the measurement of a call of a check.
+         * @param check the called check.
+         * @param event the event of the call.
+         */
+        void stop(AbstractCheck check, Event event) {
+            final long time = System.nanoTime() - startTime;
+            final Statistics statistics = checks.get(check);
+            final int index = event.ordinal();
+            statistics.calls[index]++;
+            statistics.times[index] += time;
+            if (allocationCounter != null) {
+                statistics.allocated[index] += getAllocatedBytes() - startAllocated;
+            }
+        }
+
+        /**
+         * Finishes the measurement of parsing a file.
+         * @param fileName the name of the parsed file.
+         */
+        void stopParsing(String fileName) {
+            final long time = System.nanoTime() - startTime;
+            parseTimes.merge(fileName, time, Long::sum);
+        }
+
+        /**
+         * Finishes the measurement of appending comment nodes to the tree
+         * of a file.
+         * @param fileName the name of the file.
+         */
+        void stopAppendingComments(String fileName) {
+            final long time = System.nanoTime() - startTime;
+            commentTimes.merge(fileName, time, Long::sum);
+        }
+
+        /**
+         * Adds all measurements to the profile and starts with empty ones.
+         */
+        void flush() {
+            add(this);
+            for (final Entry<AbstractCheck, Statistics> entry : checks.entrySet()) {
+                entry.setValue(new Statistics(entry.getValue().name));
+            }
+            parseTimes.clear();
+            commentTimes.clear();
+        }
+
+        /**
+         * Returns the number of bytes allocated by the current thread.
+         * @return the number of bytes.
+         */
+        private long getAllocatedBytes() {
+            return allocationCounter.getAllocatedBytes();
+        }
+    }
+
+    /**
+     * Counts the bytes allocated by the current thread. This is the only
+     * class which refers to {@code com.sun.management}, so it is only loaded
+     * once the bean is known to be an instance of that API.
+     */
+    private static final class AllocationCounter {
+        /** The bean which counts allocated bytes. */
+        private final com.sun.management.ThreadMXBean bean;
+
+        /**
+         * Creates a counter.
+         * @param bean the thread bean, which must be an instance of
+         *     {@code com.sun.management.ThreadMXBean}.
+         */
+        AllocationCounter(ThreadMXBean bean) {
+            this.bean = (com.sun.management.ThreadMXBean) bean;
+        }
+
+        /**
+         * Enables counting of allocated bytes.
+         * @return whether the JVM supports it.
+         */
+        boolean enable() {
+            final boolean supported = bean.isThreadAllocatedMemorySupported();
+            if (supported) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return supported;
+        }
+
+        /**
+         * Returns the bytes allocated by the current thread so far.
+         * @return the number of bytes.
+         */
+        long getAllocatedBytes() {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
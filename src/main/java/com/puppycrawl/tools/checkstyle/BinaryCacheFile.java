@@ -0,0 +1,691 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Stores the entries of checked files in a compact binary file, so that
+ * large caches are neither parsed nor rewritten completely on every run.
+ *
+ * <p>The file starts with a header holding the entries that are not about
+ * files, like the configuration hash. It is followed by fixed width records
+ * sorted by the hash of the file path, which are looked up with a binary search
+ * in the loaded file content. Records of files checked later are appended to
+ * the end of the file unsorted, and are merged into the sorted records once
+ * there are too many of them. The file is read into memory instead of being
+ * mapped, so that it can be replaced while loaded on every platform.</p>
+ *
+ * <p>The violations of files are kept in a side file with the suffix
+ * {@value #MESSAGES_FILE_SUFFIX}, to which a record refers by offset. The
+ * side file is only read for the files whose violations are replayed, new
+ * violations are appended to it, and it is compacted whenever the cache file
+ * is rewritten. Each violation record starts with the hash of the file path,
+ * so a record of another file is never taken for the right one.</p>
+ *
+ * <p>Entries can be recorded and looked up concurrently by several threads
+ * auditing files.</p>
+ *
+ * <p>A file in the properties format of {@link PropertyCacheFile} is not
+ * recognized as binary file, so it can be loaded by the caller and its
+ * entries moved to this store.</p>
+ *
+ * @author the original author or authors.
+ */
+final class BinaryCacheFile {
+
+    /** The first bytes of a binary cache file, the letters CSCH. */
+    private static final int MAGIC = 0x43534348;
+
+    /** The version of the format. */
+    private static final int VERSION = 3;
+
+    /** The suffix of the side file holding the violations of files. */
+    private static final String MESSAGES_FILE_SUFFIX = ".messages";
+
+    /** The number of fields in the header: magic, version, property and record count. */
+    private static final int HEADER_FIELDS = 4;
+
+    /** The size of a record: path hash, timestamp, size, content hash and violations offset. */
+    private static final int RECORD_SIZE = 5 * Long.BYTES;
+
+    /** The size of the header of violations in the side file: path hash and length. */
+    private static final int MESSAGES_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+
+    /** Appended records are always allowed up to this number without compaction. */
+    private static final int MIN_APPENDED_RECORDS = 1024;
+
+    /** The divisor of the sorted records giving the maximal number of appended records. */
+    private static final int APPENDED_RECORDS_DIVISOR = 4;
+
+    /** The value used for an unknown size or content hash. */
+    private static final long UNKNOWN = -1;
+
+    /** The violations offset of a file without violations. */
+    private static final long NO_MESSAGES = -1;
+
+    /** Index of the timestamp in an entry. */
+    private static final int TIMESTAMP_INDEX = 0;
+
+    /** Index of the size in an entry. */
+    private static final int SIZE_INDEX = 1;
+
+    /** Index of the content hash in an entry. */
+    private static final int HASH_INDEX = 2;
+
+    /** Index of the offset of the violations in an entry. */
+    private static final int MESSAGES_INDEX = 3;
+
+    /** The cache file. */
+    private final Path file;
+
+    /** The side file holding the violations of files. */
+    private final Path messagesFile;
+
+    /** Records sorted by path hash, read from the file. */
+    private ByteBuffer sortedRecords = ByteBuffer.allocate(0);
+
+    /** Entries appended to the file after the sorted records, by path hash. */
+    private final Map<Long, long[]> appendedEntries = new HashMap<>();
+
+    /** Entries not written to the file yet, by path hash. */
+    private final Map<Long, long[]> newEntries = new LinkedHashMap<>();
+
+    /** Violations of the new entries, not written to the side file yet, by path hash. */
+    private final Map<Long, byte[]> newMessages = new HashMap<>();
+
+    /** The properties stored in the file header when it was loaded. */
+    private final Properties loadedProperties = new Properties();
+
+    /** Whether all entries were removed since loading. */
+    private boolean cleared;
+
+    /**
+     * Creates a new instance.
+     * @param file the cache file.
+     */
+    BinaryCacheFile(Path file) {
+        this.file = file;
+        messagesFile = file.resolveSibling(file.getFileName() + MESSAGES_FILE_SUFFIX);
+    }
+
+    /**
+     * Reads the cache file. A binary file with a corrupt or truncated header,
+     * or of another version, is loaded as an empty cache, which is rewritten
+     * when persisted.
+     * @param properties the properties to fill from the header.
+     * @return {@code false} if the file does not exist or is not in the binary format.
+     * @throws IOException if the file cannot be read.
+     */
+    public boolean load(Properties properties) throws IOException {
+        boolean binary = false;
+        if (Files.exists(file)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.remaining() >= 2 * Integer.BYTES && buffer.getInt() == MAGIC) {
+                final Properties header = new Properties();
+                if (buffer.getInt() == VERSION && readHeader(buffer, header)
+                        && readRecords(buffer)) {
+                    properties.putAll(header);
+                    loadedProperties.putAll(header);
+                }
+                else {
+                    clear();
+                }
+                binary = true;
+            }
+        }
+        return binary;
+    }
+
+    /**
+     * Writes the new entries to the cache file. The file is rewritten if the
+     * properties changed, the entries were cleared or too many records were
+     * appended, otherwise the new records are appended to it.
+     * @param properties the properties to store in the header.
+     * @throws IOException if the file cannot be written.
+     */
+    public void persist(Properties properties) throws IOException {
+        final int appended = appendedEntries.size() + newEntries.size();
+        final int sortedCount = sortedRecords.capacity() / RECORD_SIZE;
+        if (cleared || !Files.exists(file) || !properties.equals(loadedProperties)
+                || appended > Math.max(MIN_APPENDED_RECORDS,
+                    sortedCount / APPENDED_RECORDS_DIVISOR)) {
+            rewrite(properties);
+        }
+        else if (!newEntries.isEmpty()) {
+            appendMessages();
+            final ByteBuffer buffer = ByteBuffer.allocate(newEntries.size() * RECORD_SIZE);
+            newEntries.forEach((pathHash, entry) -> putRecord(buffer, pathHash, entry));
+            buffer.flip();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            appendedEntries.putAll(newEntries);
+            newEntries.clear();
+        }
+    }
+
+    /** Removes all entries. */
+    public void clear() {
+        sortedRecords = ByteBuffer.allocate(0);
+        appendedEntries.clear();
+        newEntries.clear();
+        newMessages.clear();
+        cleared = true;
+    }
+
+    /**
+     * Records the details of a file without violations.
+     * @param fileName the name of the file.
+     * @param timestamp the timestamp of the file.
+     * @param size the size of the file, or {@code -1} if unknown.
+     * @param contentHash the hash of the file content, or {@code -1} if unknown.
+     */
+    public void put(String fileName, long timestamp, long size, long contentHash) {
+        put(fileName, timestamp, size, contentHash, null);
+    }
+
+    /**
+     * Records the details of a file.
+     * @param fileName the name of the file.
+     * @param timestamp the timestamp of the file.
+     * @param size the size of the file, or {@code -1} if unknown.
+     * @param contentHash the hash of the file content, or {@code -1} if unknown.
+     * @param messages the encoded violations of the file, or {@code null} if none.
+     */
+    public synchronized void put(String fileName, long timestamp, long size,
+            long contentHash, byte... messages) {
+        final Long pathHash = hashPath(fileName);
+        newEntries.put(pathHash, new long[] {timestamp, size, contentHash, NO_MESSAGES});
+        if (messages == null) {
+            newMessages.remove(pathHash);
+        }
+        else {
+            newMessages.put(pathHash, messages);
+        }
+    }
+
+    /**
+     * Retrieves the encoded violations of a file from the side file.
+     * @param fileName the name of the file.
+     * @return the encoded violations, or {@code null} if the file is not
+     *     recorded or has no violations.
+     * @throws IOException if the violations cannot be read.
+     */
+    public synchronized byte[] getMessages(String fileName) throws IOException {
+        final long pathHash = hashPath(fileName);
+        byte[] result = newMessages.get(pathHash);
+        final long[] entry = get(fileName);
+        if (result == null && entry != null && entry[MESSAGES_INDEX] != NO_MESSAGES) {
+            try (FileChannel channel = FileChannel.open(messagesFile, StandardOpenOption.READ)) {
+                result = readMessages(channel, pathHash, entry[MESSAGES_INDEX]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks that a file is recorded with the given timestamp.
+     * @param fileName the name of the file.
+     * @param timestamp the timestamp of the file.
+     * @return whether the file is recorded with the timestamp.
+     */
+    public boolean isInCache(String fileName, long timestamp) {
+        final long[] entry = get(fileName);
+        return entry != null && entry[TIMESTAMP_INDEX] == timestamp;
+    }
+
+    /**
+     * Checks that a file is recorded with the given timestamp and size.
+     * @param fileName the name of the file.
+     * @param timestamp the timestamp of the file.
+     * @param size the size of the file.
+     * @return whether the file is recorded with the timestamp and size.
+     */
+    public boolean isInCache(String fileName, long timestamp, long size) {
+        final long[] entry = get(fileName);
+        return entry != null && entry[TIMESTAMP_INDEX] == timestamp
+            && entry[SIZE_INDEX] == size && size != UNKNOWN;
+    }
+
+    /**
+     * Checks that a file is recorded with the given size and content hash.
+     * @param fileName the name of the file.
+     * @param size the size of the file.
+     * @param contentHash the hash of the file content.
+     * @return whether the file is recorded with the size and content hash.
+     */
+    public boolean isContentInCache(String fileName, long size, long contentHash) {
+        final long[] entry = get(fileName);
+        return entry != null && entry[SIZE_INDEX] == size && entry[HASH_INDEX] == contentHash
+            && contentHash != UNKNOWN;
+    }
+
+    /**
+     * Finds the recorded details of a file.
+     * @param fileName the name of the file.
+     * @return the timestamp, size, content hash and violations offset,
+     *     or {@code null} if not recorded.
+     */
+    private synchronized long[] get(String fileName) {
+        final Long pathHash = hashPath(fileName);
+        long[] entry = newEntries.get(pathHash);
+        if (entry == null) {
+            entry = appendedEntries.get(pathHash);
+        }
+        if (entry == null) {
+            entry = findSortedRecord(pathHash);
+        }
+        return entry;
+    }
+
+    /**
+     * Finds a record in the sorted records with a binary search.
+     * @param pathHash the hash of the file path.
+     * @return the timestamp, size, content hash and violations offset,
+     *     or {@code null} if not found.
+     */
+    private long[] findSortedRecord(long pathHash) {
+        long[] entry = null;
+        int low = 0;
+        int high = sortedRecords.capacity() / RECORD_SIZE - 1;
+        while (low <= high) {
+            final int middle = low + high >>> 1;
+            final int offset = middle * RECORD_SIZE;
+            final int comparison = Long.compare(sortedRecords.getLong(offset), pathHash);
+            if (comparison < 0) {
+                low = middle + 1;
+            }
+            else if (comparison > 0) {
+                high = middle - 1;
+            }
+            else {
+                entry = readEntry(sortedRecords, offset + Long.BYTES);
+                break;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Writes all entries sorted by path hash into a new file, which then
+     * replaces the cache file.
+     * @param properties the properties to store in the header.
+     * @throws IOException if the file cannot be written.
+     */
+    private void rewrite(Properties properties) throws IOException {
+        final SortedMap<Long, long[]> entries = new TreeMap<>();
+        for (int offset = 0; offset < sortedRecords.capacity(); offset += RECORD_SIZE) {
+            entries.put(sortedRecords.getLong(offset),
+                readEntry(sortedRecords, offset + Long.BYTES));
+        }
+        entries.putAll(appendedEntries);
+        entries.putAll(newEntries);
+        final ByteBuffer messages = compactMessages(entries);
+
+        final byte[] header = createHeader(properties, entries.size());
+        final ByteBuffer buffer =
+            ByteBuffer.allocate(header.length + entries.size() * RECORD_SIZE);
+        buffer.put(header);
+        entries.forEach((pathHash, entry) -> putRecord(buffer, pathHash, entry));
+        buffer.flip();
+
+        if (messages.hasRemaining()) {
+            replaceFile(messagesFile, messages);
+        }
+        else {
+            Files.deleteIfExists(messagesFile);
+        }
+        replaceFile(file, buffer);
+
+        clear();
+        cleared = false;
+        loadedProperties.clear();
+        load(loadedProperties);
+    }
+
+    /**
+     * Copies the violations of the entries that are still referenced into
+     * a new side file content, and updates the offsets of the entries.
+     * Entries whose violations cannot be read are removed.
+     * @param entries the entries to write to the rewritten file.
+     * @return the new content of the side file.
+     * @throws IOException if the side file cannot be opened.
+     */
+    private ByteBuffer compactMessages(SortedMap<Long, long[]> entries) throws IOException {
+        final Map<Long, byte[]> messages = new LinkedHashMap<>();
+        int size = 0;
+        try (FileChannel channel = openMessagesFileIfExists()) {
+            final Iterator<Map.Entry<Long, long[]>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<Long, long[]> entry = iterator.next();
+                final byte[] record = getMessagesToKeep(channel, entry.getKey(), entry.getValue());
+                if (record == null) {
+                    iterator.remove();
+                }
+                else if (record.length > 0) {
+                    messages.put(entry.getKey(), record);
+                    entry.getValue()[MESSAGES_INDEX] = size;
+                    size += MESSAGES_HEADER_SIZE + record.length;
+                }
+            }
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        messages.forEach((pathHash, record) -> putMessages(buffer, pathHash, record));
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Finds the violations of an entry which is kept on a rewrite.
+     * @param channel the side file, or {@code null} if it does not exist.
+     * @param pathHash the hash of the file path.
+     * @param entry the entry of the file.
+     * @return the encoded violations, an empty array if the file has none,
+     *     or {@code null} if they cannot be read.
+     */
+    private byte[] getMessagesToKeep(FileChannel channel, long pathHash, long... entry) {
+        byte[] result = newMessages.get(pathHash);
+        if (result == null) {
+            result = new byte[0];
+            if (entry[MESSAGES_INDEX] != NO_MESSAGES) {
+                try {
+                    result = readMessages(channel, pathHash, entry[MESSAGES_INDEX]);
+                }
+                catch (final IOException ignored) {
+                    // the violations are lost, the file has to be checked again
+                    result = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Appends the violations of the new entries to the side file and records
+     * their offsets in the entries.
+     * @throws IOException if the side file cannot be written.
+     */
+    private void appendMessages() throws IOException {
+        if (!newMessages.isEmpty()) {
+            try (FileChannel channel = FileChannel.open(messagesFile, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE)) {
+                final long start = channel.size();
+                int size = 0;
+                for (final byte[] record : newMessages.values()) {
+                    size += MESSAGES_HEADER_SIZE + record.length;
+                }
+                final ByteBuffer buffer = ByteBuffer.allocate(size);
+                newMessages.forEach((pathHash, record) -> {
+                    newEntries.get(pathHash)[MESSAGES_INDEX] = start + buffer.position();
+                    putMessages(buffer, pathHash, record);
+                });
+                buffer.flip();
+                long position = start;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            }
+            newMessages.clear();
+        }
+    }
+
+    /**
+     * Opens the side file for reading.
+     * @return the channel of the side file, or {@code null} if it does not exist.
+     * @throws IOException if the side file cannot be opened.
+     */
+    private FileChannel openMessagesFileIfExists() throws IOException {
+        FileChannel channel = null;
+        if (Files.exists(messagesFile)) {
+            channel = FileChannel.open(messagesFile, StandardOpenOption.READ);
+        }
+        return channel;
+    }
+
+    /**
+     * Reads the violations of a file from the side file.
+     * @param channel the side file, or {@code null} if it does not exist.
+     * @param pathHash the hash of the file path.
+     * @param offset the offset of the violations.
+     * @return the encoded violations.
+     * @throws IOException if the violations are missing or belong to another file.
+     */
+    private static byte[] readMessages(FileChannel channel, long pathHash, long offset)
+            throws IOException {
+        if (channel == null || offset < 0
+                || offset > channel.size() - MESSAGES_HEADER_SIZE) {
+            throw new IOException("No violations at offset " + offset);
+        }
+        final ByteBuffer header = ByteBuffer.allocate(MESSAGES_HEADER_SIZE);
+        readFully(channel, header, offset);
+        final int length = header.getInt(Long.BYTES);
+        if (header.getLong(0) != pathHash || length < 0
+                || length > channel.size() - offset - MESSAGES_HEADER_SIZE) {
+            throw new IOException("Invalid violations at offset " + offset);
+        }
+        final ByteBuffer record = ByteBuffer.allocate(length);
+        readFully(channel, record, offset + MESSAGES_HEADER_SIZE);
+        return record.array();
+    }
+
+    /**
+     * Fills a buffer from a channel.
+     * @param channel the channel to read from.
+     * @param buffer the buffer to fill.
+     * @param position the position of the first byte to read.
+     * @throws IOException if the channel ends before the buffer is full.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of " + position);
+            }
+        }
+    }
+
+    /**
+     * Writes a buffer into a temporary file, which then replaces a file.
+     * @param target the file to replace.
+     * @param buffer the new content of the file.
+     * @throws IOException if the file cannot be written.
+     */
+    private static void replaceFile(Path target, ByteBuffer buffer) throws IOException {
+        final Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temporaryFile = Files.createTempFile(directory, "checkstyle", ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Creates the header of the file.
+     * @param properties the properties to store.
+     * @param recordCount the number of sorted records.
+     * @return the header.
+     */
+    private static byte[] createHeader(Properties properties, int recordCount) {
+        final Map<byte[], byte[]> encoded = new LinkedHashMap<>();
+        int size = Integer.BYTES * HEADER_FIELDS;
+        for (final String key : properties.stringPropertyNames()) {
+            final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            final byte[] valueBytes = properties.getProperty(key).getBytes(StandardCharsets.UTF_8);
+            encoded.put(keyBytes, valueBytes);
+            size += Integer.BYTES * 2 + keyBytes.length + valueBytes.length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(encoded.size());
+        encoded.forEach((key, value) -> {
+            buffer.putInt(key.length).put(key);
+            buffer.putInt(value.length).put(value);
+        });
+        buffer.putInt(recordCount);
+        return buffer.array();
+    }
+
+    /**
+     * Reads the properties from the header of the file.
+     * @param buffer the file content, positioned after the version.
+     * @param properties the properties to fill.
+     * @return {@code false} if the header is corrupt or truncated.
+     */
+    private static boolean readHeader(ByteBuffer buffer, Properties properties) {
+        boolean valid = hasBytes(buffer, Integer.BYTES);
+        if (valid) {
+            final int count = buffer.getInt();
+            valid = hasBytes(buffer, 2L * Integer.BYTES * count);
+            for (int i = 0; valid && i < count; i++) {
+                final String key = readString(buffer);
+                final String value = readString(buffer);
+                valid = key != null && value != null;
+                if (valid) {
+                    properties.setProperty(key, value);
+                }
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Reads the sorted and appended records of the file. A partially
+     * written record at the end of the file is ignored.
+     * @param buffer the file content, positioned after the properties.
+     * @return {@code false} if the count of sorted records is corrupt.
+     */
+    private boolean readRecords(ByteBuffer buffer) {
+        boolean valid = hasBytes(buffer, Integer.BYTES);
+        if (valid) {
+            final int sortedCount = buffer.getInt();
+            valid = hasBytes(buffer, (long) RECORD_SIZE * sortedCount);
+            if (valid) {
+                final int sortedEnd = buffer.position() + sortedCount * RECORD_SIZE;
+                buffer.limit(sortedEnd);
+                sortedRecords = buffer.slice();
+                buffer.limit(buffer.capacity());
+                for (int offset = sortedEnd; offset + RECORD_SIZE <= buffer.capacity();
+                        offset += RECORD_SIZE) {
+                    appendedEntries.put(buffer.getLong(offset),
+                        readEntry(buffer, offset + Long.BYTES));
+                }
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Reads a length prefixed UTF-8 string.
+     * @param buffer the buffer to read from.
+     * @return the string, or {@code null} if its length is corrupt.
+     */
+    private static String readString(ByteBuffer buffer) {
+        String result = null;
+        if (hasBytes(buffer, Integer.BYTES)) {
+            final int length = buffer.getInt();
+            if (hasBytes(buffer, length)) {
+                final byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                result = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks that a buffer has the given number of bytes remaining.
+     * @param buffer the buffer to check.
+     * @param count the number of bytes, possibly negative if corrupt.
+     * @return whether the count is valid and the bytes are remaining.
+     */
+    private static boolean hasBytes(ByteBuffer buffer, long count) {
+        return count >= 0 && count <= buffer.remaining();
+    }
+
+    /**
+     * Reads the timestamp, size, content hash and violations offset of a record.
+     * @param buffer the buffer to read from.
+     * @param offset the offset of the timestamp.
+     * @return the timestamp, size, content hash and violations offset.
+     */
+    private static long[] readEntry(ByteBuffer buffer, int offset) {
+        return new long[] {
+            buffer.getLong(offset),
+            buffer.getLong(offset + Long.BYTES),
+            buffer.getLong(offset + 2 * Long.BYTES),
+            buffer.getLong(offset + MESSAGES_INDEX * Long.BYTES),
+        };
+    }
+
+    /**
+     * Writes the violations of a file into the side file content.
+     * @param buffer the buffer to write to.
+     * @param pathHash the hash of the file path.
+     * @param record the encoded violations.
+     */
+    private static void putMessages(ByteBuffer buffer, long pathHash, byte... record) {
+        buffer.putLong(pathHash).putInt(record.length).put(record);
+    }
+
+    /**
+     * Writes a record.
+     * @param buffer the buffer to write to.
+     * @param pathHash the hash of the file path.
+     * @param entry the timestamp, size, content hash and violations offset.
+     */
+    private static void putRecord(ByteBuffer buffer, long pathHash, long... entry) {
+        buffer.putLong(pathHash);
+        for (final long value : entry) {
+            buffer.putLong(value);
+        }
+    }
+
+    /**
+     * Calculates the hash of a file path, which identifies a record.
+     * @param fileName the file path.
+     * @return the hash of the path.
+     */
+    private static long hashPath(String fileName) {
+        return Hashing.murmur3_128().hashString(fileName, StandardCharsets.UTF_8).asLong();
+    }
+}
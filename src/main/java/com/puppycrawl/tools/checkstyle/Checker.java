@@ -25,15 +25,14 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
-import java.util.TreeSet;
-
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
 
+import com.google.common.collect.ImmutableSortedSet;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.AuditListener;
 import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
@@ -44,7 +43,6 @@ import com.puppycrawl.tools.checkstyle.api.Configuration;
 import com.puppycrawl.tools.checkstyle.api.Context;
 import com.puppycrawl.tools.checkstyle.api.ExternalResourceHolder;
 import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
-import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.Filter;
 import com.puppycrawl.tools.checkstyle.api.FilterSet;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
@@ -61,8 +59,11 @@ import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
  * @author Andrei Selkin
  */
 public class Checker extends AutomaticBean implements MessageDispatcher {
-    /** Logger for Checker. */
-    private static final Log LOG = LogFactory.getLog(Checker.class);
+    /** Message of an exception thrown while a file was processed. */
+    static final String EXCEPTION_MSG = "Exception was thrown while processing ";
+
+    /** Message of an error thrown while a file was processed. */
+    static final String ERROR_MSG = "Error was thrown while processing ";
 
     /** Maintains error count. */
     private final SeverityLevelCounter counter = new SeverityLevelCounter(
@@ -74,6 +75,12 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     /** Vector of fileset checks. */
     private final List<FileSetCheck> fileSetChecks = new ArrayList<>();
 
+    /**
+     * The FileSetChecks marked with {@link GlobalStatefulCheck}, which also
+     * process the files whose violations are replayed from the cache.
+     */
+    private final List<FileSetCheck> globalStatefulChecks = new ArrayList<>();
+
     /** The audit event before execution file filters. */
     private final BeforeExecutionFileFilterSet beforeExecutionFileFilters =
             new BeforeExecutionFileFilterSet();
@@ -81,6 +88,12 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     /** The audit event filters. */
     private final FilterSet filters = new FilterSet();
 
+    /**
+     * Prototypes of the child modules which get a private copy on
+     * every worker thread when files are processed in parallel.
+     */
+    private final Map<Object, ModulePrototype> workerPrototypes = new IdentityHashMap<>();
+
     /** Class loader to resolve classes with. **/
     private ClassLoader classLoader = Thread.currentThread()
             .getContextClassLoader();
@@ -123,6 +136,15 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     /** Cache file. **/
     private PropertyCacheFile cache;
 
+    /** Number of threads used to process files. */
+    private int threads = 1;
+
+    /** The file to write the profile of the audit to, {@code null} if not profiled. */
+    private String profileFile;
+
+    /** Whether the profile counts the bytes allocated by checks. */
+    private boolean profileAllocations;
+
     /**
      * Creates a new {@code Checker} instance.
      * The instance needs to be contextualized and configured.
@@ -132,13 +154,21 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     }
 
     /**
-     * Sets cache file.
+     * Sets cache file. Cached violations of checks are restored with the
+     * module class loader, which has to be set before.
      * @param fileName the cache file.
      * @throws IOException if there are some problems with file loading.
      */
     public void setCacheFile(String fileName) throws IOException {
         final Configuration configuration = getConfiguration();
-        cache = new PropertyCacheFile(configuration, fileName);
+        final ClassLoader checkClassLoader;
+        if (moduleClassLoader == null) {
+            checkClassLoader = Checker.class.getClassLoader();
+        }
+        else {
+            checkClassLoader = moduleClassLoader;
+        }
+        cache = new PropertyCacheFile(configuration, fileName, checkClassLoader);
         cache.load();
     }
 
@@ -209,7 +239,13 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
             fsc.beginProcessing(charset);
         }
 
-        processFiles(files);
+        if (threads > 1) {
+            new ParallelProcessor(this, threads, fileSetChecks, filters, workerPrototypes,
+                charset, cache, basedir).process(files);
+        }
+        else {
+            processFiles(files);
+        }
 
         // Finish up
         // It may also log!!!
@@ -271,68 +307,90 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     private void processFiles(List<File> files) throws CheckstyleException {
         for (final File file : files) {
             try {
-                final String fileName = file.getAbsolutePath();
-                final long timestamp = file.lastModified();
-                if (cache != null && cache.isInCache(fileName, timestamp)
-                        || !CommonUtils.matchesFileExtension(file, fileExtensions)
-                        || !acceptFileStarted(fileName)) {
+                if (!acceptFile(file)) {
                     continue;
                 }
-                fireFileStarted(fileName);
-                final SortedSet<LocalizedMessage> fileMessages = processFile(file);
-                fireErrors(fileName, fileMessages);
-                fireFileFinished(fileName);
-                if (cache != null && fileMessages.isEmpty()) {
-                    cache.put(fileName, timestamp);
+                final FileContent content = new FileContent(file, charset, cache);
+                if (!content.isUnchangedInCache()) {
+                    content.read();
+                    content.loadCachedMessages();
                 }
+                auditFile(content, fileSetChecks, ImmutableSortedSet.of());
             }
             // -@cs[IllegalCatch] There is no other way to deliver filename that was under
             // processing. See https://github.com/checkstyle/checkstyle/issues/2285
             catch (Exception ex) {
                 // We need to catch all exceptions to put a reason failure (file name) in exception
-                throw new CheckstyleException("Exception was thrown while processing "
-                        + file.getPath(), ex);
+                throw new CheckstyleException(EXCEPTION_MSG + file.getPath(), ex);
             }
             catch (Error error) {
                 // We need to catch all errors to put a reason failure (file name) in error
-                throw new Error("Error was thrown while processing " + file.getPath(), error);
+                throw new Error(ERROR_MSG + file.getPath(), error);
             }
         }
     }
 
     /**
-     * Processes a file with all FileSetChecks.
-     * @param file a file to process.
-     * @return a sorted set of messages to be logged.
+     * Audits a file on the calling thread and notifies all listeners about
+     * it. A file found in the cache is only processed by the
+     * {@link GlobalStatefulCheck} FileSetChecks, which must see every file,
+     * its cached violations are reported instead of running the other checks
+     * and, if it was found by its content, its new timestamp is recorded.
+     * @param content the file, read unless it is unchanged in the cache.
+     * @param checks the FileSetChecks to process the file with.
+     * @param acceptedMessages messages found and accepted by the filters
+     *     on other threads.
      * @throws CheckstyleException if error condition within Checkstyle occurs.
      */
-    private SortedSet<LocalizedMessage> processFile(File file) throws CheckstyleException {
-        final SortedSet<LocalizedMessage> fileMessages = new TreeSet<>();
-        try {
-            final FileText theText = new FileText(file.getAbsoluteFile(), charset);
-            for (final FileSetCheck fsc : fileSetChecks) {
-                fileMessages.addAll(fsc.process(file, theText));
+    final void auditFile(FileContent content, List<FileSetCheck> checks,
+            SortedSet<LocalizedMessage> acceptedMessages) throws CheckstyleException {
+        final SortedSet<LocalizedMessage> cachedMessages = content.getCachedMessages();
+        List<FileSetCheck> fileChecks = checks;
+        SortedSet<LocalizedMessage> preAccepted = acceptedMessages;
+        if (cachedMessages != null) {
+            fileChecks = globalStatefulChecks;
+            preAccepted = cachedMessages;
+        }
+        final List<LocalizedMessage> accepted = new ArrayList<>();
+        if (cachedMessages == null || !preAccepted.isEmpty() || !fileChecks.isEmpty()) {
+            final String fileName = content.getFile().getAbsolutePath();
+            fireFileStarted(fileName);
+            final SortedSet<LocalizedMessage> fileMessages =
+                ImmutableSortedSet.<LocalizedMessage>naturalOrder()
+                    .addAll(content.process(fileChecks)).addAll(preAccepted).build();
+            final String stripped = CommonUtils.relativizeAndNormalizePath(basedir, fileName);
+            for (final LocalizedMessage element : fileMessages) {
+                final AuditEvent event = new AuditEvent(this, stripped, element);
+                if (preAccepted.contains(element) || filters.accept(event)) {
+                    accepted.add(element);
+                    for (final AuditListener listener : listeners) {
+                        listener.addError(event);
+                    }
+                }
             }
+            fireFileFinished(fileName);
         }
-        catch (final IOException ioe) {
-            LOG.debug("IOException occurred.", ioe);
-            fileMessages.add(new LocalizedMessage(0,
-                    Definitions.CHECKSTYLE_BUNDLE, "general.exception",
-                    new String[] {ioe.getMessage()}, null, getClass(), null));
+        if (cachedMessages == null) {
+            content.putInCache(ImmutableSortedSet.copyOf(accepted));
+        }
+        else {
+            content.putInCache(cachedMessages);
         }
-        return fileMessages;
     }
 
     /**
-     * Check if all before execution file filters accept starting the file.
+     * Check if the file has an accepted extension and all before execution
+     * file filters accept starting the file.
      *
-     * @param fileName
+     * @param file
      *            the file to be audited
      * @return {@code true} if the file is accepted.
      */
-    private boolean acceptFileStarted(String fileName) {
-        final String stripped = CommonUtils.relativizeAndNormalizePath(basedir, fileName);
-        return beforeExecutionFileFilters.accept(stripped);
+    final boolean acceptFile(File file) {
+        final String stripped =
+            CommonUtils.relativizeAndNormalizePath(basedir, file.getAbsolutePath());
+        return CommonUtils.matchesFileExtension(file, fileExtensions)
+            && beforeExecutionFileFilters.accept(stripped);
     }
 
     /**
@@ -409,6 +467,12 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
         context.add("moduleFactory", moduleFactory);
         context.add("severity", severityLevel.getName());
         context.add("basedir", basedir);
+        if (profileFile != null) {
+            final AuditListener profile =
+                AuditProfile.create(profileFile, profileAllocations);
+            addListener(profile);
+            context.add("profile", profile);
+        }
         childContext = context;
     }
 
@@ -416,25 +480,16 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     protected void setupChild(Configuration childConf)
             throws CheckstyleException {
         final String name = childConf.getName();
-        final Object child;
-
-        try {
-            child = moduleFactory.createModule(name);
-
-            if (child instanceof AutomaticBean) {
-                final AutomaticBean bean = (AutomaticBean) child;
-                bean.contextualize(childContext);
-                bean.configure(childConf);
-            }
-        }
-        catch (final CheckstyleException ex) {
-            throw new CheckstyleException("cannot initialize module " + name
-                    + " - " + ex.getMessage(), ex);
-        }
+        final ModulePrototype prototype =
+                new ModulePrototype(childConf, moduleFactory, childContext);
+        final Object child = prototype.createModule();
         if (child instanceof FileSetCheck) {
             final FileSetCheck fsc = (FileSetCheck) child;
             fsc.init();
             addFileSetCheck(fsc);
+            if (!fsc.getClass().isAnnotationPresent(GlobalStatefulCheck.class)) {
+                workerPrototypes.put(fsc, prototype);
+            }
         }
         else if (child instanceof BeforeExecutionFileFilter) {
             final BeforeExecutionFileFilter filter = (BeforeExecutionFileFilter) child;
@@ -443,6 +498,7 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
         else if (child instanceof Filter) {
             final Filter filter = (Filter) child;
             addFilter(filter);
+            workerPrototypes.put(filter, prototype);
         }
         else if (child instanceof AuditListener) {
             final AuditListener listener = (AuditListener) child;
@@ -462,6 +518,9 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     public void addFileSetCheck(FileSetCheck fileSetCheck) {
         fileSetCheck.setMessageDispatcher(this);
         fileSetChecks.add(fileSetCheck);
+        if (fileSetCheck.getClass().isAnnotationPresent(GlobalStatefulCheck.class)) {
+            globalStatefulChecks.add(fileSetCheck);
+        }
     }
 
     /**
@@ -597,6 +656,44 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
         this.charset = charset;
     }
 
+    /**
+     * Sets the number of threads used to process files. With more than one
+     * thread, every thread works with its own copies of the FileSetChecks and
+     * Filters created from the configuration, except for checks marked with
+     * {@link GlobalStatefulCheck}. Listeners are notified on the calling thread
+     * in the same order as in single threaded mode.
+     * @param threads the number of threads.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be positive, found "
+                    + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Enables profiling of the audit. The time spent by every check of the
+     * TreeWalkers and to parse every file is written to the file once the
+     * audit is finished, in JSON format if the name of the file ends with
+     * {@code .json} and as plain text otherwise. Has to be set before the
+     * checker is configured.
+     * @param profileFile the file to write the profile to.
+     */
+    public void setProfileFile(String profileFile) {
+        this.profileFile = profileFile;
+    }
+
+    /**
+     * Sets whether the profile counts the bytes allocated by the checks,
+     * which is only supported by some JVMs. Has to be set before the checker
+     * is configured.
+     * @param profileAllocations whether allocated bytes are counted.
+     */
+    public void setProfileAllocations(boolean profileAllocations) {
+        this.profileAllocations = profileAllocations;
+    }
+
     /**
      * Clears the cache.
      */
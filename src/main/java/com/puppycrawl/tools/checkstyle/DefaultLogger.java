@@ -55,6 +55,12 @@ public class DefaultLogger extends AutomaticBean implements AuditListener {
     /** Formatter for the log message. */
     private final AuditEventFormatter formatter;
 
+    /**
+     * The formatter if it is exactly the default one, which can write
+     * messages without building strings; null otherwise.
+     */
+    private final AuditEventDefaultFormatter defaultFormatter;
+
     /**
      * Creates a new {@code DefaultLogger} instance.
      * @param outputStream where to log infos and errors
@@ -108,6 +114,12 @@ public class DefaultLogger extends AutomaticBean implements AuditListener {
             errorWriter = new PrintWriter(errorStreamWriter);
         }
         formatter = messageFormatter;
+        if (messageFormatter.getClass() == AuditEventDefaultFormatter.class) {
+            defaultFormatter = (AuditEventDefaultFormatter) messageFormatter;
+        }
+        else {
+            defaultFormatter = null;
+        }
     }
 
     /**
@@ -119,8 +131,16 @@ public class DefaultLogger extends AutomaticBean implements AuditListener {
     public void addError(AuditEvent event) {
         final SeverityLevel severityLevel = event.getSeverityLevel();
         if (severityLevel != SeverityLevel.IGNORE) {
-            final String errorMessage = formatter.format(event);
-            errorWriter.println(errorMessage);
+            if (defaultFormatter == null) {
+                final String errorMessage = formatter.format(event);
+                errorWriter.println(errorMessage);
+            }
+            else {
+                synchronized (errorWriter) {
+                    defaultFormatter.format(event, errorWriter);
+                    errorWriter.println();
+                }
+            }
         }
     }
 
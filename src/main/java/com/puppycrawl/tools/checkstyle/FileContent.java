@@ -0,0 +1,243 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.zip.Checksum;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessages;
+
+/**
+ * A file to audit together with its content, which is read at most once
+ * and shared by the cache and all FileSetChecks.
+ * @author the original author or authors.
+ */
+final class FileContent {
+    /** Logger for FileContent. */
+    private static final Log LOG = LogFactory.getLog(FileContent.class);
+
+    /** The file. */
+    private final File file;
+    /** The name of the charset of the file. */
+    private final String charset;
+    /** The cache, {@code null} if caching is disabled. */
+    private final PropertyCacheFile cache;
+    /** The last modification time of the file. */
+    private final long timestamp;
+    /** The size of the file. */
+    private final long size;
+    /** The text of the file, {@code null} if not read or unreadable. */
+    private FileText text;
+    /** The exception thrown while reading the file. */
+    private IOException readException;
+    /** Whether the exception thrown while reading the file was already reported. */
+    private boolean readExceptionReported;
+    /** The hexadecimal 64 bit hash of the file content, {@code null} if not computed. */
+    private String contentHash;
+    /** The violations recorded in the cache, {@code null} if not found in the cache. */
+    private SortedSet<LocalizedMessage> cachedMessages;
+    /** The violations of {@link GlobalStatefulCheck} FileSetChecks, which are not cached. */
+    private SortedSet<LocalizedMessage> globalStatefulMessages = ImmutableSortedSet.of();
+
+    /**
+     * Creates a new instance without reading the file.
+     * @param file the file.
+     * @param charset the name of the charset of the file.
+     * @param cache the cache, {@code null} if caching is disabled.
+     */
+    FileContent(File file, String charset, PropertyCacheFile cache) {
+        this.file = file;
+        this.charset = charset;
+        this.cache = cache;
+        timestamp = file.lastModified();
+        size = file.length();
+    }
+
+    /**
+     * Gets the file.
+     * @return the file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the violations recorded in the cache for the file.
+     * @return the violations, or {@code null} if the file was not found in the cache.
+     */
+    public SortedSet<LocalizedMessage> getCachedMessages() {
+        return cachedMessages;
+    }
+
+    /**
+     * Reads the file, and computes the hash of its content if caching is
+     * enabled and the file is not unchanged in the cache.
+     */
+    public void read() {
+        Checksum checksum = null;
+        if (cache != null && cachedMessages == null) {
+            checksum = new ContentHash();
+        }
+        try {
+            text = new FileText(file.getAbsoluteFile(), charset, checksum);
+            if (checksum != null) {
+                contentHash = Long.toHexString(checksum.getValue());
+            }
+        }
+        catch (final IOException ex) {
+            readException = ex;
+        }
+    }
+
+    /**
+     * Processes the read file with the given FileSetChecks. The messages
+     * of all FileSetChecks are collected in one buffer and sorted once.
+     * The file is read first if this was not done yet. A failure to read
+     * the file is reported by the first call only.
+     * @param checks the FileSetChecks to process the file with.
+     * @return a sorted set of messages to be logged.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    public SortedSet<LocalizedMessage> process(List<FileSetCheck> checks)
+            throws CheckstyleException {
+        if (text == null && readException == null) {
+            read();
+        }
+        final LocalizedMessages fileMessages = new LocalizedMessages();
+        if (readException == null) {
+            final LocalizedMessages globalMessages = new LocalizedMessages();
+            for (final FileSetCheck fsc : checks) {
+                if (fsc.getClass().isAnnotationPresent(GlobalStatefulCheck.class)) {
+                    fsc.process(file, text, globalMessages);
+                }
+                else {
+                    fsc.process(file, text, fileMessages);
+                }
+            }
+            globalStatefulMessages = globalMessages.getMessages();
+            globalMessages.drainTo(fileMessages);
+        }
+        else if (!readExceptionReported) {
+            readExceptionReported = true;
+            LOG.debug("IOException occurred.", readException);
+            fileMessages.add(new LocalizedMessage(0,
+                    Definitions.CHECKSTYLE_BUNDLE, "general.exception",
+                    new String[] {readException.getMessage()}, null, Checker.class, null));
+        }
+        return fileMessages.getMessages();
+    }
+
+    /**
+     * Checks whether the file is cached with the same timestamp and size,
+     * without reading it, and retrieves its recorded violations.
+     * @return {@code true} if the file is cached.
+     */
+    public boolean isUnchangedInCache() {
+        final String fileName = file.getAbsolutePath();
+        if (cache != null && cache.isInCache(fileName, timestamp, size)) {
+            cachedMessages = cache.getMessages(fileName);
+        }
+        return cachedMessages != null;
+    }
+
+    /**
+     * Retrieves the violations recorded in the cache if the content of the
+     * read file is cached, i.e. the file was checked before and only its
+     * timestamp has changed since then. Whether it was found is told by
+     * {@link #getCachedMessages()}.
+     */
+    public void loadCachedMessages() {
+        final String fileName = file.getAbsolutePath();
+        if (contentHash != null && cache.isContentInCache(fileName, size, contentHash)) {
+            cachedMessages = cache.getMessages(fileName);
+        }
+    }
+
+    /**
+     * Records in the cache that the file was checked, unless caching is
+     * disabled or the content of the file was not read. The violations of
+     * {@link GlobalStatefulCheck} FileSetChecks are not recorded, as these
+     * checks process the file again when the other violations are replayed.
+     * @param messages the violations reported for the file.
+     */
+    public void putInCache(SortedSet<LocalizedMessage> messages) {
+        if (contentHash != null) {
+            SortedSet<LocalizedMessage> cachedViolations = messages;
+            if (!globalStatefulMessages.isEmpty()) {
+                cachedViolations = ImmutableSortedSet.copyOf(
+                    Sets.difference(messages, globalStatefulMessages));
+            }
+            cache.put(file.getAbsolutePath(), timestamp, size, contentHash, cachedViolations);
+        }
+    }
+
+    /**
+     * The hash of a file content, computed while the file is read. A 32 bit
+     * checksum like CRC32 is not strong enough to tell whether a file with a
+     * changed timestamp still has the content recorded in the cache, as
+     * colliding contents are easily found. The first 64 bits of the 128 bit
+     * MurmurHash3 are used instead, the same hash which identifies file
+     * paths in the binary cache, and they fit into its records.
+     */
+    private static final class ContentHash implements Checksum {
+        /** The hasher fed with the bytes read. */
+        private Hasher hasher = Hashing.murmur3_128().newHasher();
+        /** The hash, {@code null} if bytes may still be added. */
+        private Long value;
+
+        @Override
+        public void update(int data) {
+            hasher.putByte((byte) data);
+        }
+
+        @Override
+        public void update(byte[] data, int off, int len) {
+            hasher.putBytes(data, off, len);
+        }
+
+        @Override
+        public long getValue() {
+            if (value == null) {
+                value = hasher.hash().asLong();
+            }
+            return value;
+        }
+
+        @Override
+        public void reset() {
+            hasher = Hashing.murmur3_128().newHasher();
+            value = null;
+        }
+    }
+}
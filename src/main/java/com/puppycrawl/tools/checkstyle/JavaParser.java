@@ -0,0 +1,354 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map.Entry;
+
+import antlr.CommonHiddenStreamToken;
+import antlr.RecognitionException;
+import antlr.Token;
+import antlr.TokenStreamBasicFilter;
+import antlr.TokenStreamException;
+import antlr.TokenStreamHiddenTokenFilter;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.grammars.DetailAstFactory;
+import com.puppycrawl.tools.checkstyle.grammars.FastJavaLexer;
+import com.puppycrawl.tools.checkstyle.grammars.FastJavaRecognizer;
+import com.puppycrawl.tools.checkstyle.grammars.GeneratedJavaLexer;
+import com.puppycrawl.tools.checkstyle.grammars.GeneratedJavaRecognizer;
+
+/**
+ * Helper methods to parse Java source files.
+ *
+ * @author the original author or authors.
+ */
+public final class JavaParser {
+
+    /** Stop instances being created. **/
+    private JavaParser() {
+    }
+
+    /**
+     * Parses a Java source file with the chosen front-end. Both front-ends
+     * use the grammar generated from java.g and produce the same tree, in
+     * which nodes with equal texts share a single String. The fast
+     * front-end reads the text directly instead of through a
+     * {@link Reader}, creates tokens without reflection and does not fill
+     * in stack traces of the exceptions thrown while guessing.
+     *
+     * @param contents
+     *                contains the contents of the file
+     * @param fast
+     *                whether to use the fast front-end
+     * @return the root of the AST
+     * @throws TokenStreamException
+     *                 if lexing failed
+     * @throws RecognitionException
+     *                 if parsing failed
+     */
+    public static DetailAST parse(FileContents contents, boolean fast)
+            throws RecognitionException, TokenStreamException {
+        return parse(contents, fast, true);
+    }
+
+    /**
+     * Parses a Java source file with the chosen front-end. Comment tokens are
+     * only attached to the nodes of the tree as hidden tokens if comment nodes
+     * can be appended later, otherwise they are dropped by a plain filter.
+     * The comments are reported to the contents either way.
+     *
+     * @param contents
+     *                contains the contents of the file
+     * @param fast
+     *                whether to use the fast front-end
+     * @param keepComments
+     *                whether comment tokens are attached to the tree
+     * @return the root of the AST
+     * @throws TokenStreamException
+     *                 if lexing failed
+     * @throws RecognitionException
+     *                 if parsing failed
+     * @see #appendHiddenCommentNodes(DetailAST)
+     */
+    public static DetailAST parse(FileContents contents, boolean fast, boolean keepComments)
+            throws RecognitionException, TokenStreamException {
+        final CharSequence fullText = contents.getText().getFullText();
+        final GeneratedJavaLexer lexer;
+        if (fast) {
+            lexer = new FastJavaLexer(fullText);
+        }
+        else {
+            lexer = new GeneratedJavaLexer(new StringReader(fullText.toString()));
+            lexer.setTokenObjectClass("antlr.CommonHiddenStreamToken");
+        }
+        lexer.setFilename(contents.getFileName());
+        lexer.setCommentListener(contents);
+        lexer.setTreatAssertAsKeyword(true);
+        lexer.setTreatEnumAsKeyword(true);
+
+        final TokenStreamBasicFilter filter;
+        if (keepComments) {
+            final TokenStreamHiddenTokenFilter hiddenTokenFilter =
+                    new TokenStreamHiddenTokenFilter(lexer);
+            hiddenTokenFilter.hide(TokenTypes.SINGLE_LINE_COMMENT);
+            hiddenTokenFilter.hide(TokenTypes.BLOCK_COMMENT_BEGIN);
+            filter = hiddenTokenFilter;
+        }
+        else {
+            filter = new TokenStreamBasicFilter(lexer);
+            filter.discard(TokenTypes.SINGLE_LINE_COMMENT);
+            filter.discard(TokenTypes.BLOCK_COMMENT_BEGIN);
+        }
+
+        final GeneratedJavaRecognizer parser;
+        if (fast) {
+            parser = new FastJavaRecognizer(filter);
+        }
+        else {
+            parser = new GeneratedJavaRecognizer(filter);
+            parser.setASTFactory(new DetailAstFactory());
+        }
+        parser.setFilename(contents.getFileName());
+        parser.compilationUnit();
+
+        return (DetailAST) parser.getAST();
+    }
+
+    /**
+     * Parses Java source file with the chosen front-end. Result AST contains
+     * comment nodes.
+     * @param contents source file content
+     * @param fast whether to use the fast front-end
+     * @return DetailAST tree
+     * @throws RecognitionException if parser failed
+     * @throws TokenStreamException if lexer failed
+     * @see #parse(FileContents, boolean)
+     */
+    public static DetailAST parseWithComments(FileContents contents, boolean fast)
+            throws RecognitionException, TokenStreamException {
+        return appendHiddenCommentNodes(parse(contents, fast));
+    }
+
+    /**
+     * Appends comment nodes to existing AST.
+     * It traverses each node in AST, looks for hidden comment tokens
+     * and appends found comment tokens as nodes in AST.
+     * @param root
+     *        root of AST.
+     * @return root of AST with comment nodes.
+     */
+    public static DetailAST appendHiddenCommentNodes(DetailAST root) {
+        DetailAST result = root;
+        DetailAST curNode = root;
+        DetailAST lastNode = root;
+
+        while (curNode != null) {
+            if (isPositionGreater(curNode, lastNode)) {
+                lastNode = curNode;
+            }
+
+            CommonHiddenStreamToken tokenBefore = curNode.getHiddenBefore();
+            DetailAST currentSibling = curNode;
+            while (tokenBefore != null) {
+                final DetailAST newCommentNode =
+                         createCommentAstFromToken(tokenBefore);
+
+                currentSibling.addPreviousSibling(newCommentNode);
+
+                if (currentSibling == result) {
+                    result = newCommentNode;
+                }
+
+                currentSibling = newCommentNode;
+                tokenBefore = tokenBefore.getHiddenBefore();
+            }
+
+            DetailAST toVisit = curNode.getFirstChild();
+            while (curNode != null && toVisit == null) {
+                toVisit = curNode.getNextSibling();
+                if (toVisit == null) {
+                    curNode = curNode.getParent();
+                }
+            }
+            curNode = toVisit;
+        }
+        if (lastNode != null) {
+            CommonHiddenStreamToken tokenAfter = lastNode.getHiddenAfter();
+            DetailAST currentSibling = lastNode;
+            while (tokenAfter != null) {
+                final DetailAST newCommentNode =
+                        createCommentAstFromToken(tokenAfter);
+
+                currentSibling.addNextSibling(newCommentNode);
+
+                currentSibling = newCommentNode;
+                tokenAfter = tokenAfter.getHiddenAfter();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if position of first DetailAST is greater than position of
+     * second DetailAST. Position is line number and column number in source
+     * file.
+     * @param ast1
+     *        first DetailAST node.
+     * @param ast2
+     *        second DetailAST node.
+     * @return true if position of ast1 is greater than position of ast2.
+     */
+    private static boolean isPositionGreater(DetailAST ast1, DetailAST ast2) {
+        if (ast1.getLineNo() == ast2.getLineNo()) {
+            return ast1.getColumnNo() > ast2.getColumnNo();
+        }
+        else {
+            return ast1.getLineNo() > ast2.getLineNo();
+        }
+    }
+
+    /**
+     * Create comment AST from token. Depending on token type
+     * SINGLE_LINE_COMMENT or BLOCK_COMMENT_BEGIN is created.
+     * @param token
+     *        Token object.
+     * @return DetailAST of comment node.
+     */
+    private static DetailAST createCommentAstFromToken(Token token) {
+        if (token.getType() == TokenTypes.SINGLE_LINE_COMMENT) {
+            return createSlCommentNode(token);
+        }
+        else {
+            return createBlockCommentNode(token);
+        }
+    }
+
+    /**
+     * Create single-line comment from token.
+     * @param token
+     *        Token object.
+     * @return DetailAST with SINGLE_LINE_COMMENT type.
+     */
+    private static DetailAST createSlCommentNode(Token token) {
+        final DetailAST slComment = new DetailAST();
+        slComment.setType(TokenTypes.SINGLE_LINE_COMMENT);
+        slComment.setText("//");
+
+        // column counting begins from 0
+        slComment.setColumnNo(token.getColumn() - 1);
+        slComment.setLineNo(token.getLine());
+
+        final DetailAST slCommentContent = new DetailAST();
+        slCommentContent.initialize(token);
+        slCommentContent.setType(TokenTypes.COMMENT_CONTENT);
+
+        // column counting begins from 0
+        // plus length of '//'
+        slCommentContent.setColumnNo(token.getColumn() - 1 + 2);
+        slCommentContent.setLineNo(token.getLine());
+        slCommentContent.setText(token.getText());
+
+        slComment.addChild(slCommentContent);
+        return slComment;
+    }
+
+    /**
+     * Create block comment from token.
+     * @param token
+     *        Token object.
+     * @return DetailAST with BLOCK_COMMENT type.
+     */
+    private static DetailAST createBlockCommentNode(Token token) {
+        final DetailAST blockComment = new DetailAST();
+        blockComment.initialize(TokenTypes.BLOCK_COMMENT_BEGIN, "/*");
+
+        // column counting begins from 0
+        blockComment.setColumnNo(token.getColumn() - 1);
+        blockComment.setLineNo(token.getLine());
+
+        final DetailAST blockCommentContent = new DetailAST();
+        blockCommentContent.initialize(token);
+        blockCommentContent.setType(TokenTypes.COMMENT_CONTENT);
+
+        // column counting begins from 0
+        // plus length of '/*'
+        blockCommentContent.setColumnNo(token.getColumn() - 1 + 2);
+        blockCommentContent.setLineNo(token.getLine());
+        blockCommentContent.setText(token.getText());
+
+        final DetailAST blockCommentClose = new DetailAST();
+        blockCommentClose.initialize(TokenTypes.BLOCK_COMMENT_END, "*/");
+
+        final Entry<Integer, Integer> linesColumns = countLinesColumns(
+                token.getText(), token.getLine(), token.getColumn());
+        blockCommentClose.setLineNo(linesColumns.getKey());
+        blockCommentClose.setColumnNo(linesColumns.getValue());
+
+        blockComment.addChild(blockCommentContent);
+        blockComment.addChild(blockCommentClose);
+        return blockComment;
+    }
+
+    /**
+     * Count lines and columns (in last line) in text.
+     * @param text
+     *        String.
+     * @param initialLinesCnt
+     *        initial value of lines counter.
+     * @param initialColumnsCnt
+     *        initial value of columns counter.
+     * @return entry(pair), first element is lines counter, second - columns
+     *         counter.
+     */
+    private static Entry<Integer, Integer> countLinesColumns(
+            String text, int initialLinesCnt, int initialColumnsCnt) {
+        int lines = initialLinesCnt;
+        int columns = initialColumnsCnt;
+        boolean foundCr = false;
+        for (char c : text.toCharArray()) {
+            if (c == '\n') {
+                foundCr = false;
+                lines++;
+                columns = 0;
+            }
+            else {
+                if (foundCr) {
+                    foundCr = false;
+                    lines++;
+                    columns = 0;
+                }
+                if (c == '\r') {
+                    foundCr = true;
+                }
+                columns++;
+            }
+        }
+        if (foundCr) {
+            lines++;
+            columns = 0;
+        }
+        return new SimpleEntry<>(lines, columns);
+    }
+}
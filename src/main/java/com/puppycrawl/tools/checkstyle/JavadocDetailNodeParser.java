@@ -19,6 +19,13 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.BaseErrorListener;
@@ -27,8 +34,10 @@ import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
-import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
 import org.antlr.v4.runtime.tree.TerminalNode;
 
 import com.google.common.base.CaseFormat;
@@ -78,14 +87,55 @@ public class JavadocDetailNodeParser {
             "javadoc.unrecognized.antlr.error";
 
     /**
-     * Line number of the Block comment AST that is being parsed.
+     * Reused lexer, its input is replaced for every comment.
      */
-    private int blockCommentLineNumber;
+    private final JavadocLexer lexer = new JavadocLexer(null);
+
+    /**
+     * Reused parser, its token stream is replaced for every comment.
+     */
+    private final JavadocParser parser = new JavadocParser(null);
 
     /**
      * Custom error listener.
      */
-    private DescriptiveErrorListener errorListener;
+    private final DescriptiveErrorListener errorListener = new DescriptiveErrorListener();
+
+    /**
+     * Builds DetailNode tree while the parser recognizes the comment.
+     */
+    private final DetailNodeBuilder treeBuilder = new DetailNodeBuilder();
+
+    /**
+     * Whether the first parsing attempt uses SLL prediction mode.
+     */
+    private final boolean trySllFirst;
+
+    /**
+     * Creates parser that tries faster SLL prediction mode first.
+     */
+    public JavadocDetailNodeParser() {
+        this(true);
+    }
+
+    /**
+     * Creates parser.
+     * @param trySllFirst whether the first parsing attempt uses SLL
+     *        prediction mode, comments that SLL fails on are parsed
+     *        again in full LL mode
+     */
+    JavadocDetailNodeParser(boolean trySllFirst) {
+        this.trySllFirst = trySllFirst;
+
+        // remove default error listeners and
+        // add custom error listener that logs parsing errors
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errorListener);
+        parser.removeErrorListeners();
+        parser.addErrorListener(errorListener);
+
+        parser.addParseListener(treeBuilder);
+    }
 
     /**
      * Parses Javadoc comment as DetailNode tree.
@@ -94,25 +144,23 @@ public class JavadocDetailNodeParser {
      * @return DetailNode tree of Javadoc comment
      */
     public ParseStatus parseJavadocAsDetailNode(DetailAST javadocCommentAst) {
-        blockCommentLineNumber = javadocCommentAst.getLineNo();
         final String javadocComment = JavadocUtils.getJavadocCommentContent(javadocCommentAst);
 
-        // Use a new error listener each time to be able to use
-        // one check instance for multiple files to be checked
-        // without getting side effects.
-        errorListener = new DescriptiveErrorListener();
-
         // Log messages should have line number in scope of file,
         // not in scope of Javadoc comment.
         // Offset is line number of beginning of Javadoc comment.
-        errorListener.setOffset(javadocCommentAst.getLineNo() - 1);
+        final int offset = javadocCommentAst.getLineNo() - 1;
 
         final ParseStatus result = new ParseStatus();
 
         try {
-            final ParseTree parseTree = parseJavadocAsParseTree(javadocComment);
-
-            final DetailNode tree = convertParseTreeToDetailNode(parseTree);
+            DetailNode tree = null;
+            if (trySllFirst) {
+                tree = parseSll(javadocComment, offset);
+            }
+            if (tree == null) {
+                tree = parse(javadocComment, offset, PredictionMode.LL);
+            }
             result.setTree(tree);
         }
         catch (ParseCancellationException ex) {
@@ -134,260 +182,219 @@ public class JavadocDetailNodeParser {
         return result;
     }
 
+    /**
+     * Parses block comment content in SLL prediction mode.
+     * SLL mode is faster but reports errors on some valid input,
+     * so any failure just requests the full LL attempt.
+     * @param blockComment block comment content.
+     * @param offset line number of the beginning of the comment.
+     * @return root of DetailNode tree or null if SLL parsing failed.
+     */
+    private DetailNode parseSll(String blockComment, int offset) {
+        DetailNode tree;
+        try {
+            tree = parse(blockComment, offset, PredictionMode.SLL);
+        }
+        catch (ParseCancellationException ignored) {
+            tree = null;
+        }
+        return tree;
+    }
+
     /**
      * Parses block comment content as javadoc comment.
      * @param blockComment
      *        block comment content.
-     * @return parse tree
+     * @param offset line number of the beginning of the comment.
+     * @param predictionMode prediction mode of the parser.
+     * @return root of DetailNode tree
      */
-    private ParseTree parseJavadocAsParseTree(String blockComment) {
-        final ANTLRInputStream input = new ANTLRInputStream(blockComment);
-
-        final JavadocLexer lexer = new JavadocLexer(input);
+    private DetailNode parse(String blockComment, int offset, PredictionMode predictionMode) {
+        errorListener.reset(offset);
+        treeBuilder.reset(offset + 1);
 
-        // remove default error listeners
-        lexer.removeErrorListeners();
-
-        // add custom error listener that logs parsing errors
-        lexer.addErrorListener(errorListener);
-
-        final CommonTokenStream tokens = new CommonTokenStream(lexer);
-
-        final JavadocParser parser = new JavadocParser(tokens);
-
-        // remove default error listeners
-        parser.removeErrorListeners();
-
-        // add custom error listener that logs syntax errors
-        parser.addErrorListener(errorListener);
+        // Setting the input resets the state of the lexer.
+        lexer.setInputStream(new ANTLRInputStream(blockComment));
+        parser.setTokenStream(new CommonTokenStream(lexer));
+        parser.getInterpreter().setPredictionMode(predictionMode);
 
         // This strategy stops parsing when parser error occurs.
         // By default it uses Error Recover Strategy which is slow and useless.
         parser.setErrorHandler(new BailErrorStrategy());
 
-        return parser.javadoc();
+        parser.javadoc();
+        return treeBuilder.getRoot();
     }
 
     /**
-     * Converts ParseTree (that is generated by ANTLRv4) to DetailNode tree.
-     *
-     * @param parseTreeNode root node of ParseTree
-     * @return root of DetailNode tree
+     * Listens to the parser and creates DetailNode tree, the nodes
+     * of the rule are created when the rule is exited.
      */
-    private DetailNode convertParseTreeToDetailNode(ParseTree parseTreeNode) {
-        final JavadocNodeImpl rootJavadocNode = createRootJavadocNode(parseTreeNode);
-
-        JavadocNodeImpl currentJavadocParent = rootJavadocNode;
-        ParseTree parseTreeParent = parseTreeNode;
+    private static class DetailNodeBuilder implements ParseTreeListener {
 
-        while (currentJavadocParent != null) {
-            final JavadocNodeImpl[] children =
-                    (JavadocNodeImpl[]) currentJavadocParent.getChildren();
-
-            insertChildrenNodes(children, parseTreeParent);
-
-            if (children.length > 0) {
-                currentJavadocParent = children[0];
-                parseTreeParent = parseTreeParent.getChild(0);
-            }
-            else {
-                JavadocNodeImpl nextJavadocSibling = (JavadocNodeImpl) JavadocUtils
-                        .getNextSibling(currentJavadocParent);
+        /**
+         * Type of the nodes created for rules that have no token type.
+         */
+        private static final int UNKNOWN_RULE_TYPE = Integer.MIN_VALUE;
 
-                ParseTree nextParseTreeSibling = getNextSibling(parseTreeParent);
+        /**
+         * Token types of the rule context classes.
+         */
+        private final Map<Class<?>, Integer> ruleTypes = new HashMap<>();
 
-                if (nextJavadocSibling == null) {
-                    JavadocNodeImpl tempJavadocParent =
-                            (JavadocNodeImpl) currentJavadocParent.getParent();
+        /**
+         * Children of the rules that are being recognized.
+         */
+        private final Deque<List<JavadocNodeImpl>> openRules = new ArrayDeque<>();
 
-                    ParseTree tempParseTreeParent = parseTreeParent.getParent();
+        /**
+         * Line number of the Block comment AST that is being parsed.
+         */
+        private int blockCommentLineNumber;
 
-                    while (nextJavadocSibling == null && tempJavadocParent != null) {
+        /**
+         * Root of the tree built by last parsing.
+         */
+        private JavadocNodeImpl root;
 
-                        nextJavadocSibling = (JavadocNodeImpl) JavadocUtils
-                                .getNextSibling(tempJavadocParent);
+        /**
+         * Token type name of the rule recognized by last parsing that is
+         * not known in JavadocTokenTypes class.
+         */
+        private String unknownRuleTypeName;
 
-                        nextParseTreeSibling = getNextSibling(tempParseTreeParent);
+        /**
+         * Prepares the builder to new parsing.
+         * @param lineNumber line number of the Block comment AST.
+         */
+        public void reset(int lineNumber) {
+            blockCommentLineNumber = lineNumber;
+            openRules.clear();
+            root = null;
+            unknownRuleTypeName = null;
+        }
 
-                        tempJavadocParent = (JavadocNodeImpl) tempJavadocParent.getParent();
-                        tempParseTreeParent = tempParseTreeParent.getParent();
-                    }
-                }
-                currentJavadocParent = nextJavadocSibling;
-                parseTreeParent = nextParseTreeSibling;
+        /**
+         * Getter for the root of the built tree.
+         * @return root of DetailNode tree.
+         */
+        public DetailNode getRoot() {
+            if (unknownRuleTypeName != null) {
+                // report the rule that has no token type
+                JavadocUtils.getTokenId(unknownRuleTypeName);
             }
+            return root;
         }
 
-        return rootJavadocNode;
-    }
-
-    /**
-     * Creates child nodes for each node from 'nodes' array.
-     * @param parseTreeParent original ParseTree parent node
-     * @param nodes array of JavadocNodeImpl nodes
-     */
-    private void insertChildrenNodes(final JavadocNodeImpl[] nodes, ParseTree parseTreeParent) {
-        for (int i = 0; i < nodes.length; i++) {
-            final JavadocNodeImpl currentJavadocNode = nodes[i];
-            final ParseTree currentParseTreeNodeChild = parseTreeParent.getChild(i);
-            final JavadocNodeImpl[] subChildren =
-                    createChildrenNodes(currentJavadocNode, currentParseTreeNodeChild);
-            currentJavadocNode.setChildren((DetailNode[]) subChildren);
+        @Override
+        public void enterEveryRule(ParserRuleContext ctx) {
+            openRules.push(new ArrayList<>());
         }
-    }
-
-    /**
-     * Creates children Javadoc nodes base on ParseTree node's children.
-     * @param parentJavadocNode node that will be parent for created children
-     * @param parseTreeNode original ParseTree node
-     * @return array of Javadoc nodes
-     */
-    private JavadocNodeImpl[]
-            createChildrenNodes(JavadocNodeImpl parentJavadocNode, ParseTree parseTreeNode) {
-        final JavadocNodeImpl[] children =
-                new JavadocNodeImpl[parseTreeNode.getChildCount()];
 
-        for (int j = 0; j < children.length; j++) {
-            final JavadocNodeImpl child =
-                    createJavadocNode(parseTreeNode.getChild(j), parentJavadocNode, j);
+        @Override
+        public void exitEveryRule(ParserRuleContext ctx) {
+            final List<JavadocNodeImpl> children = openRules.pop();
+            final JavadocNodeImpl node = createNode(ctx.start, getRuleType(ctx));
+            node.setText(getText(children));
+            final JavadocNodeImpl[] childArray =
+                    children.toArray(new JavadocNodeImpl[children.size()]);
+            for (int i = 0; i < childArray.length; i++) {
+                childArray[i].setParent(node);
+                childArray[i].setIndex(i);
+            }
+            node.setChildren((DetailNode[]) childArray);
 
-            children[j] = child;
+            if (openRules.isEmpty()) {
+                node.setIndex(-1);
+                root = node;
+            }
+            else {
+                openRules.peek().add(node);
+            }
         }
-        return children;
-    }
-
-    /**
-     * Creates root JavadocNodeImpl node base on ParseTree root node.
-     * @param parseTreeNode ParseTree root node
-     * @return root Javadoc node
-     */
-    private JavadocNodeImpl createRootJavadocNode(ParseTree parseTreeNode) {
-        final JavadocNodeImpl rootJavadocNode = createJavadocNode(parseTreeNode, null, -1);
-
-        final int childCount = parseTreeNode.getChildCount();
-        final JavadocNodeImpl[] children = new JavadocNodeImpl[childCount];
 
-        for (int i = 0; i < childCount; i++) {
-            final JavadocNodeImpl child = createJavadocNode(parseTreeNode.getChild(i),
-                    rootJavadocNode, i);
-            children[i] = child;
+        @Override
+        public void visitTerminal(TerminalNode terminal) {
+            addTerminal(terminal.getSymbol());
         }
-        rootJavadocNode.setChildren((DetailNode[]) children);
-        return rootJavadocNode;
-    }
-
-    /**
-     * Creates JavadocNodeImpl node on base of ParseTree node.
-     *
-     * @param parseTree ParseTree node
-     * @param parent DetailNode that will be parent of new node
-     * @param index child index that has new node
-     * @return JavadocNodeImpl node on base of ParseTree node.
-     */
-    private JavadocNodeImpl createJavadocNode(ParseTree parseTree, DetailNode parent, int index) {
-        final JavadocNodeImpl node = new JavadocNodeImpl();
-        node.setText(parseTree.getText());
-        node.setColumnNumber(getColumn(parseTree));
-        node.setLineNumber(getLine(parseTree) + blockCommentLineNumber);
-        node.setIndex(index);
-        node.setType(getTokenType(parseTree));
-        node.setParent(parent);
-        node.setChildren((DetailNode[]) new JavadocNodeImpl[parseTree.getChildCount()]);
-        return node;
-    }
 
-    /**
-     * Gets line number from ParseTree node.
-     * @param tree
-     *        ParseTree node
-     * @return line number
-     */
-    private static int getLine(ParseTree tree) {
-        if (tree instanceof TerminalNode) {
-            return ((TerminalNode) tree).getSymbol().getLine() - 1;
-        }
-        else {
-            final ParserRuleContext rule = (ParserRuleContext) tree;
-            return rule.start.getLine() - 1;
+        @Override
+        public void visitErrorNode(ErrorNode errorNode) {
+            addTerminal(errorNode.getSymbol());
         }
-    }
 
-    /**
-     * Gets column number from ParseTree node.
-     * @param tree
-     *        ParseTree node
-     * @return column number
-     */
-    private static int getColumn(ParseTree tree) {
-        if (tree instanceof TerminalNode) {
-            return ((TerminalNode) tree).getSymbol().getCharPositionInLine();
+        /**
+         * Adds node of the token to the children of the current rule.
+         * @param token the token.
+         */
+        private void addTerminal(Token token) {
+            final JavadocNodeImpl node = createNode(token, token.getType());
+            node.setText(token.getText());
+            node.setChildren((DetailNode[]) new JavadocNodeImpl[0]);
+            openRules.peek().add(node);
         }
-        else {
-            final ParserRuleContext rule = (ParserRuleContext) tree;
-            return rule.start.getCharPositionInLine();
+
+        /**
+         * Creates node at the position of the token.
+         * @param token first token of the node.
+         * @param type type of the node.
+         * @return new node.
+         */
+        private JavadocNodeImpl createNode(Token token, int type) {
+            final JavadocNodeImpl node = new JavadocNodeImpl();
+            node.setType(type);
+            node.setLineNumber(token.getLine() - 1 + blockCommentLineNumber);
+            node.setColumnNumber(token.getCharPositionInLine());
+            return node;
         }
-    }
 
-    /**
-     * Gets next sibling of ParseTree node.
-     * @param node ParseTree node
-     * @return next sibling of ParseTree node.
-     */
-    private static ParseTree getNextSibling(ParseTree node) {
-        ParseTree nextSibling = null;
-
-        if (node.getParent() != null) {
-            final ParseTree parent = node.getParent();
-            final int childCount = parent.getChildCount();
-
-            int index = 0;
-            while (true) {
-                final ParseTree currentNode = parent.getChild(index);
-                if (currentNode.equals(node)) {
-                    if (index != childCount - 1) {
-                        nextSibling = parent.getChild(index + 1);
-                    }
-                    break;
+        /**
+         * Gets token type of rule from JavadocTokenTypes class.
+         * @param ctx rule context.
+         * @return token type from JavadocTokenTypes
+         */
+        private int getRuleType(ParserRuleContext ctx) {
+            final Class<?> contextClass = ctx.getClass();
+            Integer type = ruleTypes.get(contextClass);
+            if (type == null) {
+                final String className = contextClass.getSimpleName();
+                // remove 'Context' at the end
+                final int contextLength = 7;
+                final String typeName = CaseFormat.UPPER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE,
+                        className.substring(0, className.length() - contextLength));
+                try {
+                    type = JavadocUtils.getTokenId(typeName);
+                    ruleTypes.put(contextClass, type);
+                }
+                catch (IllegalArgumentException ignored) {
+                    // Rules that only report errors have no token type,
+                    // parsing is cancelled after they are recognized.
+                    unknownRuleTypeName = typeName;
+                    type = UNKNOWN_RULE_TYPE;
                 }
-                index++;
             }
+            return type;
         }
-        return nextSibling;
-    }
-
-    /**
-     * Gets token type of ParseTree node from JavadocTokenTypes class.
-     * @param node ParseTree node.
-     * @return token type from JavadocTokenTypes
-     */
-    private static int getTokenType(ParseTree node) {
-        final int tokenType;
 
-        if (node.getChildCount() == 0) {
-            tokenType = ((TerminalNode) node).getSymbol().getType();
-        }
-        else {
-            final String className = getNodeClassNameWithoutContext(node);
-            final String typeName =
-                    CaseFormat.UPPER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, className);
-            tokenType = JavadocUtils.getTokenId(typeName);
+        /**
+         * Concatenates texts of the nodes.
+         * @param nodes the nodes.
+         * @return text of the nodes.
+         */
+        private static String getText(List<JavadocNodeImpl> nodes) {
+            final String text;
+            if (nodes.size() == 1) {
+                text = nodes.get(0).getText();
+            }
+            else {
+                final StringBuilder builder = new StringBuilder();
+                for (final JavadocNodeImpl node : nodes) {
+                    builder.append(node.getText());
+                }
+                text = builder.toString();
+            }
+            return text;
         }
-
-        return tokenType;
-    }
-
-    /**
-     * Gets class name of ParseTree node and removes 'Context' postfix at the
-     * end.
-     * @param node
-     *        ParseTree node.
-     * @return class name without 'Context'
-     */
-    private static String getNodeClassNameWithoutContext(ParseTree node) {
-        final String className = node.getClass().getSimpleName();
-        // remove 'Context' at the end
-        final int contextLength = 7;
-        return className.substring(0, className.length() - contextLength);
     }
 
     /**
@@ -416,14 +423,15 @@ public class JavadocDetailNodeParser {
         }
 
         /**
-         * Sets offset. Offset is line number of beginning of the Javadoc
-         * comment. Log messages should have line number in scope of file, not
-         * in scope of Javadoc comment.
-         * @param offset
+         * Prepares the listener to new parsing. Offset is line number of
+         * beginning of the Javadoc comment. Log messages should have line
+         * number in scope of file, not in scope of Javadoc comment.
+         * @param lineOffset
          *        offset line number
          */
-        public void setOffset(int offset) {
-            this.offset = offset;
+        public void reset(int lineOffset) {
+            offset = lineOffset;
+            errorMessage = null;
         }
 
         /**
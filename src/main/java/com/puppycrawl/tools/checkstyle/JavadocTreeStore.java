@@ -0,0 +1,88 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseStatus;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.TextBlock;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocTags;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtils.JavadocTagType;
+
+/**
+ * Parsed Javadoc comments of a file, shared by the checks of a
+ * {@link TreeWalker}. Comments are parsed when a check first asks for them
+ * and are looked up by the identity of their node or text block, so every
+ * comment is parsed once per file no matter how many checks use it.
+ * {@link TreeWalker} clears the store after every file. A store is not
+ * thread safe.
+ *
+ * @author the original author or authors.
+ */
+public final class JavadocTreeStore {
+
+    /** Parses Javadoc comments as DetailNode trees. */
+    private final JavadocDetailNodeParser parser = new JavadocDetailNodeParser();
+
+    /** Results of parsing Javadoc comments by their block comment nodes. */
+    private final Map<DetailAST, ParseStatus> parseStatuses = new IdentityHashMap<>();
+
+    /** Tags of Javadoc comments by their text blocks, indexed by the tag type. */
+    private final Map<TextBlock, JavadocTags[]> javadocTags = new IdentityHashMap<>();
+
+    /**
+     * Returns the DetailNode tree of a Javadoc comment, or the error found
+     * while parsing it.
+     * @param blockComment the block comment node of the Javadoc comment
+     * @return the result of parsing the comment
+     */
+    public ParseStatus getParseStatus(DetailAST blockComment) {
+        return parseStatuses.computeIfAbsent(blockComment, parser::parseJavadocAsDetailNode);
+    }
+
+    /**
+     * Returns the tags of a Javadoc comment.
+     * @param textBlock the Javadoc comment
+     * @param tagType the type of tags to return
+     * @return the tags of the comment
+     * @see JavadocUtils#getJavadocTags(TextBlock, JavadocTagType)
+     */
+    public JavadocTags getJavadocTags(TextBlock textBlock, JavadocTagType tagType) {
+        final JavadocTags[] tagsByType = javadocTags.computeIfAbsent(textBlock,
+            block -> new JavadocTags[JavadocTagType.values().length]);
+        JavadocTags tags = tagsByType[tagType.ordinal()];
+        if (tags == null) {
+            tags = JavadocUtils.getJavadocTags(textBlock, tagType);
+            tagsByType[tagType.ordinal()] = tags;
+        }
+        return tags;
+    }
+
+    /**
+     * Removes all parsed comments, once the file they belong to is processed.
+     */
+    public void clear() {
+        parseStatuses.clear();
+        javadocTags.clear();
+    }
+}
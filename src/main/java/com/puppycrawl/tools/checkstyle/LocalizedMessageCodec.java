@@ -0,0 +1,327 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+/**
+ * Encodes the violations of a file for the cache as an explicit record.
+ * Every violation is written field by field: line, column, severity,
+ * module id, key, bundle, name of the source class, custom message and
+ * the arguments tagged with their type. Records are parsed field by field
+ * as well, so no object is ever deserialized from the cache file.
+ * @author the original author or authors.
+ */
+final class LocalizedMessageCodec {
+
+    /** The length written for a {@code null} string or argument array. */
+    private static final int NULL_LENGTH = -1;
+
+    /** The tag of a {@code null} argument. */
+    private static final int NULL_TAG = 0;
+
+    /** The tag of a {@code String} argument. */
+    private static final int STRING_TAG = 1;
+
+    /** The tag of an {@code Integer} argument. */
+    private static final int INTEGER_TAG = 2;
+
+    /** The tag of a {@code Long} argument. */
+    private static final int LONG_TAG = 3;
+
+    /** The tag of a {@code Double} argument. */
+    private static final int DOUBLE_TAG = 4;
+
+    /** The tag of a {@code Boolean} argument. */
+    private static final int BOOLEAN_TAG = 5;
+
+    /** The tag of a {@code Character} argument. */
+    private static final int CHARACTER_TAG = 6;
+
+    /** Prevent instances. */
+    private LocalizedMessageCodec() {
+    }
+
+    /**
+     * Encodes violations.
+     * @param messages the violations to encode.
+     * @return the record, or {@code null} if an argument of a violation
+     *     has a type which cannot be encoded.
+     */
+    public static byte[] encode(SortedSet<LocalizedMessage> messages) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        boolean encodable = true;
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(messages.size());
+            for (final LocalizedMessage message : messages) {
+                encodable &= writeMessage(out, message);
+            }
+        }
+        catch (final IOException ex) {
+            throw new IllegalStateException("Unable to encode violations.", ex);
+        }
+        byte[] result = null;
+        if (encodable) {
+            result = bytes.toByteArray();
+        }
+        return result;
+    }
+
+    /**
+     * Decodes violations.
+     * @param classLoader the class loader of the source classes, which are
+     *     usually checks loaded with the module class loader of the checker.
+     * @param record the record to decode.
+     * @return the violations, or {@code null} if the record is corrupt or
+     *     refers to an unknown source class.
+     */
+    public static SortedSet<LocalizedMessage> decode(ClassLoader classLoader, byte... record) {
+        SortedSet<LocalizedMessage> result = new TreeSet<>();
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(record))) {
+            final int count = input.readInt();
+            checkLength(input, count);
+            for (int i = 0; i < count; i++) {
+                result.add(readMessage(input, classLoader));
+            }
+            if (input.available() > 0) {
+                throw new IOException("Unexpected data after violations.");
+            }
+        }
+        catch (final IOException | ClassNotFoundException | IllegalArgumentException ignored) {
+            result = null;
+        }
+        return result;
+    }
+
+    /**
+     * Writes a violation.
+     * @param out the output to write to.
+     * @param message the violation to write.
+     * @return {@code false} if an argument cannot be encoded.
+     * @throws IOException if the output cannot be written.
+     */
+    private static boolean writeMessage(DataOutputStream out, LocalizedMessage message)
+            throws IOException {
+        out.writeInt(message.getLineNo());
+        out.writeInt(message.getColumnNo());
+        writeString(out, message.getSeverityLevel().getName());
+        writeString(out, message.getModuleId());
+        writeString(out, message.getKey());
+        writeString(out, message.getBundleName());
+        writeString(out, message.getSourceName());
+        writeString(out, message.getCustomMessage());
+        final Object[] args = message.getArgs();
+        boolean encodable = true;
+        if (args == null) {
+            out.writeInt(NULL_LENGTH);
+        }
+        else {
+            out.writeInt(args.length);
+            for (final Object arg : args) {
+                encodable &= writeArgument(out, arg);
+            }
+        }
+        return encodable;
+    }
+
+    /**
+     * Reads a violation.
+     * @param input the input to read from.
+     * @param classLoader the class loader of the source class.
+     * @return the violation.
+     * @throws IOException if the record is corrupt.
+     * @throws ClassNotFoundException if the source class is unknown.
+     */
+    private static LocalizedMessage readMessage(DataInputStream input, ClassLoader classLoader)
+            throws IOException, ClassNotFoundException {
+        final int lineNo = input.readInt();
+        final int columnNo = input.readInt();
+        final SeverityLevel severityLevel = SeverityLevel.getInstance(readRequiredString(input));
+        final String moduleId = readString(input);
+        final String key = readString(input);
+        final String bundle = readString(input);
+        final Class<?> sourceClass =
+            Class.forName(readRequiredString(input), false, classLoader);
+        final String customMessage = readString(input);
+        final int argCount = input.readInt();
+        Object[] args = null;
+        if (argCount != NULL_LENGTH) {
+            checkLength(input, argCount);
+            args = new Object[argCount];
+            for (int i = 0; i < argCount; i++) {
+                args[i] = readArgument(input);
+            }
+        }
+        return new LocalizedMessage(lineNo, columnNo, bundle, key, args, severityLevel,
+            moduleId, sourceClass, customMessage);
+    }
+
+    /**
+     * Writes an argument with its type tag.
+     * @param out the output to write to.
+     * @param arg the argument to write.
+     * @return {@code false} if the type of the argument is not supported.
+     * @throws IOException if the output cannot be written.
+     */
+    private static boolean writeArgument(DataOutputStream out, Object arg) throws IOException {
+        boolean supported = true;
+        if (arg == null) {
+            out.writeByte(NULL_TAG);
+        }
+        else if (arg instanceof String) {
+            out.writeByte(STRING_TAG);
+            writeString(out, (String) arg);
+        }
+        else if (arg instanceof Integer) {
+            out.writeByte(INTEGER_TAG);
+            out.writeInt((Integer) arg);
+        }
+        else if (arg instanceof Long) {
+            out.writeByte(LONG_TAG);
+            out.writeLong((Long) arg);
+        }
+        else if (arg instanceof Double) {
+            out.writeByte(DOUBLE_TAG);
+            out.writeDouble((Double) arg);
+        }
+        else if (arg instanceof Boolean) {
+            out.writeByte(BOOLEAN_TAG);
+            out.writeBoolean((Boolean) arg);
+        }
+        else if (arg instanceof Character) {
+            out.writeByte(CHARACTER_TAG);
+            out.writeChar((Character) arg);
+        }
+        else {
+            supported = false;
+        }
+        return supported;
+    }
+
+    /**
+     * Reads an argument written with its type tag.
+     * @param input the input to read from.
+     * @return the argument.
+     * @throws IOException if the record is corrupt.
+     */
+    private static Object readArgument(DataInputStream input) throws IOException {
+        final int tag = input.readByte();
+        final Object result;
+        switch (tag) {
+            case NULL_TAG:
+                result = null;
+                break;
+            case STRING_TAG:
+                result = readRequiredString(input);
+                break;
+            case INTEGER_TAG:
+                result = input.readInt();
+                break;
+            case LONG_TAG:
+                result = input.readLong();
+                break;
+            case DOUBLE_TAG:
+                result = input.readDouble();
+                break;
+            case BOOLEAN_TAG:
+                result = input.readBoolean();
+                break;
+            case CHARACTER_TAG:
+                result = input.readChar();
+                break;
+            default:
+                throw new IOException("Unknown argument type " + tag);
+        }
+        return result;
+    }
+
+    /**
+     * Writes a length prefixed UTF-8 string, which may be {@code null}.
+     * @param out the output to write to.
+     * @param value the string to write.
+     * @throws IOException if the output cannot be written.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+        }
+        else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads a length prefixed UTF-8 string, which may be {@code null}.
+     * @param input the input to read from.
+     * @return the string.
+     * @throws IOException if the record is corrupt.
+     */
+    private static String readString(DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        String result = null;
+        if (length != NULL_LENGTH) {
+            checkLength(input, length);
+            final byte[] bytes = new byte[length];
+            input.readFully(bytes);
+            result = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return result;
+    }
+
+    /**
+     * Reads a length prefixed UTF-8 string, which must not be {@code null}.
+     * @param input the input to read from.
+     * @return the string.
+     * @throws IOException if the record is corrupt.
+     */
+    private static String readRequiredString(DataInputStream input) throws IOException {
+        final String result = readString(input);
+        if (result == null) {
+            throw new IOException("Missing value.");
+        }
+        return result;
+    }
+
+    /**
+     * Checks that a length or count read from a record is not negative and
+     * not larger than the rest of the record, which holds at least one byte
+     * per element.
+     * @param input the input the length was read from.
+     * @param length the length to check.
+     * @throws IOException if the length is invalid.
+     */
+    private static void checkLength(DataInputStream input, int length) throws IOException {
+        if (length < 0 || length > input.available()) {
+            throw new IOException("Invalid length " + length);
+        }
+    }
+}
@@ -46,7 +46,6 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.google.common.io.Closeables;
-import com.puppycrawl.tools.checkstyle.api.AuditListener;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
@@ -123,6 +122,15 @@ public final class Main {
     /** Name for the option '--exclude-regexp'. */
     private static final String OPTION_EXCLUDE_REGEXP_NAME = "exclude-regexp";
 
+    /** Name for the option '--threads'. */
+    private static final String OPTION_THREADS_NAME = "threads";
+
+    /** Name for the option '--profile'. */
+    private static final String OPTION_PROFILE_NAME = "profile";
+
+    /** Name for the option '--profile-allocations'. */
+    private static final String OPTION_PROFILE_ALLOCATIONS_NAME = "profile-allocations";
+
     /** Name for 'xml' format. */
     private static final String XML_FORMAT_NAME = "xml";
 
@@ -289,6 +297,13 @@ public final class Main {
                     result.add(String.format("Could not find file '%s'.", propertiesLocation));
                 }
             }
+            if (cmdLine.hasOption(OPTION_THREADS_NAME)) {
+                final String threads = cmdLine.getOptionValue(OPTION_THREADS_NAME);
+                if (!isPositiveNumber(threads)) {
+                    result.add(String.format("Invalid number of threads."
+                            + " Found '%s' but expected a positive number.", threads));
+                }
+            }
         }
         else {
             result.add("Must specify a config XML file.");
@@ -297,6 +312,22 @@ public final class Main {
         return result;
     }
 
+    /**
+     * Checks whether a string is a positive decimal integer.
+     * @param value the string to check.
+     * @return {@code true} if the string is a positive number.
+     */
+    private static boolean isPositiveNumber(String value) {
+        boolean result;
+        try {
+            result = Integer.parseInt(value) > 0;
+        }
+        catch (NumberFormatException ignored) {
+            result = false;
+        }
+        return result;
+    }
+
     /**
      * Do execution of CheckStyle based on Command line options.
      * @param commandLine command line object
@@ -376,6 +407,11 @@ public final class Main {
         conf.outputLocation = cmdLine.getOptionValue(OPTION_O_NAME);
         conf.configLocation = cmdLine.getOptionValue(OPTION_C_NAME);
         conf.propertiesLocation = cmdLine.getOptionValue(OPTION_P_NAME);
+        if (cmdLine.hasOption(OPTION_THREADS_NAME)) {
+            conf.threads = Integer.parseInt(cmdLine.getOptionValue(OPTION_THREADS_NAME));
+        }
+        conf.profileFile = cmdLine.getOptionValue(OPTION_PROFILE_NAME);
+        conf.profileAllocations = cmdLine.hasOption(OPTION_PROFILE_ALLOCATIONS_NAME);
         conf.files = filesToProcess;
         return conf;
     }
@@ -406,26 +442,34 @@ public final class Main {
         final Configuration config = ConfigurationLoader.loadConfiguration(
                 cliOptions.configLocation, new PropertiesExpander(props));
 
-        // create a listener for output
-        final AuditListener listener = createListener(cliOptions.format, cliOptions.outputLocation);
-
-        // create Checker object and run it
+        // create a listener for output, which writes the report on its own thread;
+        // a failure to close it is suppressed by a failure of the audit
         int errorCounter = 0;
-        final Checker checker = new Checker();
+        try (AsyncAuditListener listener =
+                createListener(cliOptions.format, cliOptions.outputLocation)) {
 
-        try {
+            // create Checker object and run it
+            final Checker checker = new Checker();
 
-            final ClassLoader moduleClassLoader = Checker.class.getClassLoader();
-            checker.setModuleClassLoader(moduleClassLoader);
-            checker.configure(config);
-            checker.addListener(listener);
+            try {
 
-            // run Checker
-            errorCounter = checker.process(cliOptions.files);
+                final ClassLoader moduleClassLoader = Checker.class.getClassLoader();
+                checker.setModuleClassLoader(moduleClassLoader);
+                checker.setProfileFile(cliOptions.profileFile);
+                checker.setProfileAllocations(cliOptions.profileAllocations);
+                checker.configure(config);
+                if (cliOptions.threads > 0) {
+                    checker.setThreads(cliOptions.threads);
+                }
+                checker.addListener(listener);
 
-        }
-        finally {
-            checker.destroy();
+                // run Checker
+                errorCounter = checker.process(cliOptions.files);
+
+            }
+            finally {
+                checker.destroy();
+            }
         }
 
         return errorCounter;
@@ -464,10 +508,10 @@ public final class Main {
      *
      * @param format format of the audit listener
      * @param outputLocation the location of output
-     * @return a fresh new {@code AuditListener}
+     * @return a fresh new {@code AuditListener} notified on its own thread
      * @exception FileNotFoundException when provided output location is not found
      */
-    private static AuditListener createListener(String format,
+    private static AsyncAuditListener createListener(String format,
                                                 String outputLocation)
             throws FileNotFoundException {
 
@@ -484,13 +528,14 @@ public final class Main {
         }
 
         // setup a listener
-        final AuditListener listener;
+        final AsyncAuditListener listener;
         if (XML_FORMAT_NAME.equals(format)) {
-            listener = new XMLLogger(out, closeOutputStream);
+            listener = new AsyncAuditListener(new XMLLogger(out, closeOutputStream));
 
         }
         else if (PLAIN_FORMAT_NAME.equals(format)) {
-            listener = new DefaultLogger(out, closeOutputStream, out, false);
+            listener = new AsyncAuditListener(
+                    new DefaultLogger(out, closeOutputStream, out, false));
 
         }
         else {
@@ -609,6 +654,12 @@ public final class Main {
                 "Directory path to exclude from CheckStyle");
         options.addOption(OPTION_X_NAME, OPTION_EXCLUDE_REGEXP_NAME, true,
                 "Regular expression of directory to exclude from CheckStyle");
+        options.addOption(null, OPTION_THREADS_NAME, true,
+                "Number of threads used to process files. Defaults to 1");
+        options.addOption(null, OPTION_PROFILE_NAME, true,
+                "Writes a profile of the checks to the file, as JSON for *.json files");
+        options.addOption(null, OPTION_PROFILE_ALLOCATIONS_NAME, false,
+                "Adds the bytes allocated by every check to the profile");
         return options;
     }
 
@@ -622,6 +673,12 @@ public final class Main {
         private String format;
         /** Output file location. */
         private String outputLocation;
+        /** Number of threads used to process files, 0 if not specified. */
+        private int threads;
+        /** File to write the profile to, {@code null} if not profiled. */
+        private String profileFile;
+        /** Whether the profile counts allocated bytes. */
+        private boolean profileAllocations;
         /** List of file to validate. */
         private List<File> files;
     }
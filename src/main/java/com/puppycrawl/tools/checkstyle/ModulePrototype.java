@@ -0,0 +1,118 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.util.Map;
+
+import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.Context;
+
+/**
+ * Produces fresh, fully configured instances of a module together with all
+ * its children. Checks keep per-file state in their fields, so every thread
+ * of an audit needs its own module tree; a prototype creates such trees
+ * without reading the original configuration again.
+ *
+ * <p>The configuration is copied when the prototype is created, so later
+ * changes of the original configuration do not affect the created modules.
+ * Module classes and bean properties resolved for the first module are
+ * reused by the {@link ModuleFactory} and {@link AutomaticBean} for
+ * all following ones.</p>
+ *
+ * @author the original author or authors.
+ */
+public final class ModulePrototype {
+    /** The copy of the module configuration. */
+    private final Configuration configuration;
+    /** The factory for instantiating modules. */
+    private final ModuleFactory moduleFactory;
+    /** The context to apply to the created modules. */
+    private final Context context;
+
+    /**
+     * Creates a new prototype.
+     * @param configuration the configuration of the module.
+     * @param moduleFactory the factory for instantiating modules.
+     * @param context the context to apply to the created modules.
+     * @throws CheckstyleException if the configuration cannot be read.
+     */
+    public ModulePrototype(Configuration configuration, ModuleFactory moduleFactory,
+            Context context) throws CheckstyleException {
+        this.configuration = copyConfiguration(configuration);
+        this.moduleFactory = moduleFactory;
+        this.context = context;
+    }
+
+    /**
+     * Returns the configuration applied to the created modules.
+     * @return the copy of the module configuration.
+     */
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Creates a new module and applies the context and configuration to it.
+     * @return the configured module.
+     * @throws CheckstyleException if the module cannot be created or configured.
+     */
+    public Object createModule() throws CheckstyleException {
+        final String name = configuration.getName();
+        final Object module;
+
+        try {
+            module = moduleFactory.createModule(name);
+
+            if (module instanceof AutomaticBean) {
+                final AutomaticBean bean = (AutomaticBean) module;
+                bean.contextualize(context);
+                bean.configure(configuration);
+            }
+        }
+        catch (final CheckstyleException ex) {
+            throw new CheckstyleException("cannot initialize module " + name
+                    + " - " + ex.getMessage(), ex);
+        }
+        return module;
+    }
+
+    /**
+     * Copies a configuration with all its children.
+     * @param original the configuration to copy.
+     * @return the copy of the configuration.
+     * @throws CheckstyleException if an attribute cannot be read.
+     */
+    private static Configuration copyConfiguration(Configuration original)
+            throws CheckstyleException {
+        final DefaultConfiguration copy = new DefaultConfiguration(original.getName());
+        for (final String attributeName : original.getAttributeNames()) {
+            copy.addAttribute(attributeName, original.getAttribute(attributeName));
+        }
+        for (final Map.Entry<String, String> message : original.getMessages().entrySet()) {
+            copy.addMessage(message.getKey(), message.getValue());
+        }
+        for (final Configuration child : original.getChildren()) {
+            copy.addChild(copyConfiguration(child));
+        }
+        return copy;
+    }
+}
@@ -23,7 +23,9 @@ import java.lang.reflect.Constructor;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
@@ -55,6 +57,11 @@ public class PackageObjectFactory implements ModuleFactory {
     private final Set<String> packages;
     /** The class loader used to load Checkstyle core and custom modules. */
     private final ClassLoader moduleClassLoader;
+    /**
+     * Classes already found for module names, so that repeated creation
+     * of a module does not search through all packages again.
+     */
+    private final Map<String, Class<?>> moduleClasses = new ConcurrentHashMap<>();
 
     /**
      * Creates a new {@code PackageObjectFactory} instance.
@@ -85,6 +92,26 @@ public class PackageObjectFactory implements ModuleFactory {
      */
     @Override
     public Object createModule(String name) throws CheckstyleException {
+        Object instance = null;
+        final Class<?> clazz = moduleClasses.get(name);
+        if (clazz != null) {
+            instance = createObject(clazz);
+        }
+        if (instance == null) {
+            instance = createModuleWithoutCache(name);
+            moduleClasses.put(name, instance.getClass());
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a new instance of a class from a given name by searching
+     * through all possible class names.
+     * @param name the name of a class.
+     * @return the {@code Object} created by loader.
+     * @throws CheckstyleException if an error occurs.
+     */
+    private Object createModuleWithoutCache(String name) throws CheckstyleException {
         Object instance = createObjectWithIgnoringProblems(name, getAllPossibleNames(name));
         if (instance == null) {
             final String nameCheck = name + "Check";
@@ -154,6 +181,22 @@ public class PackageObjectFactory implements ModuleFactory {
         Object instance = null;
         try {
             final Class<?> clazz = Class.forName(className, true, moduleClassLoader);
+            instance = createObject(clazz);
+        }
+        catch (final ClassNotFoundException | NoClassDefFoundError exception) {
+            LOG.debug(IGNORING_EXCEPTION_MESSAGE, exception);
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a new instance of a class with its no-argument constructor.
+     * @param clazz the class to instantiate.
+     * @return the {@code Object} created or null.
+     */
+    private static Object createObject(Class<?> clazz) {
+        Object instance = null;
+        try {
             final Constructor<?> declaredConstructor = clazz.getDeclaredConstructor();
             declaredConstructor.setAccessible(true);
             instance = declaredConstructor.newInstance();
@@ -0,0 +1,392 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableSortedSet;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+import com.puppycrawl.tools.checkstyle.api.FilterSet;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+
+/**
+ * Processes files of a {@link Checker} on a pool of worker threads. Every
+ * worker owns private copies of the configured FileSetChecks and Filters,
+ * while events are still delivered to the listeners on the calling thread,
+ * file by file, in the order of the processed list.
+ * @author the original author or authors.
+ */
+final class ParallelProcessor {
+    /** Number of files queued ahead of event delivery per worker thread. */
+    private static final int PENDING_FILES_PER_THREAD = 4;
+
+    /** The checker which notifies the listeners. */
+    private final Checker checker;
+
+    /** Number of worker threads. */
+    private final int threads;
+
+    /** All FileSetChecks of the checker. */
+    private final List<FileSetCheck> fileSetChecks;
+
+    /** All Filters of the checker. */
+    private final FilterSet filters;
+
+    /** Prototypes of the child modules which get a private copy on every worker. */
+    private final Map<Object, ModulePrototype> workerPrototypes;
+
+    /** Name of the charset of the files. */
+    private final String charset;
+
+    /** The cache, {@code null} if caching is disabled. */
+    private final PropertyCacheFile cache;
+
+    /** The basedir to strip off in file names. */
+    private final String basedir;
+
+    /** Modules of the workers that are not busy. */
+    private final BlockingQueue<WorkerModules> idleWorkers;
+
+    /** FileSetChecks which have no copies on the workers. */
+    private final List<FileSetCheck> auditingThreadChecks = new ArrayList<>();
+
+    /** Filters which have no copies on the workers. */
+    private final List<Filter> auditingThreadFilters = new ArrayList<>();
+
+    /**
+     * Creates a new instance.
+     * @param checker the checker which notifies the listeners.
+     * @param threads number of worker threads.
+     * @param fileSetChecks all FileSetChecks of the checker.
+     * @param filters all Filters of the checker.
+     * @param workerPrototypes prototypes of the child modules which get a
+     *     private copy on every worker.
+     * @param charset name of the charset of the files.
+     * @param cache the cache, {@code null} if caching is disabled.
+     * @param basedir the basedir to strip off in file names.
+     */
+    // -@cs[ParameterNumber] The processor shares the state of the checker.
+    ParallelProcessor(Checker checker, int threads, List<FileSetCheck> fileSetChecks,
+            FilterSet filters, Map<Object, ModulePrototype> workerPrototypes,
+            String charset, PropertyCacheFile cache, String basedir) {
+        this.checker = checker;
+        this.threads = threads;
+        this.fileSetChecks = fileSetChecks;
+        this.filters = filters;
+        this.workerPrototypes = workerPrototypes;
+        this.charset = charset;
+        this.cache = cache;
+        this.basedir = basedir;
+        idleWorkers = new ArrayBlockingQueue<>(threads);
+        for (final FileSetCheck fsc : fileSetChecks) {
+            if (!workerPrototypes.containsKey(fsc)) {
+                auditingThreadChecks.add(fsc);
+            }
+        }
+        for (final Filter filter : filters.getFilters()) {
+            if (!workerPrototypes.containsKey(filter)) {
+                auditingThreadFilters.add(filter);
+            }
+        }
+    }
+
+    /**
+     * Processes a list of files with all FileSetChecks.
+     * @param files a list of files to process.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    public void process(List<File> files) throws CheckstyleException {
+        final List<WorkerModules> workers = new ArrayList<>(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                final WorkerModules worker = new WorkerModules();
+                workers.add(worker);
+                createWorkerModules(worker);
+                idleWorkers.add(worker);
+            }
+            processWithWorkers(files);
+            for (final WorkerModules worker : workers) {
+                worker.fileSetChecks.forEach(FileSetCheck::finishProcessing);
+            }
+        }
+        finally {
+            for (final WorkerModules worker : workers) {
+                worker.fileSetChecks.forEach(FileSetCheck::destroy);
+            }
+        }
+    }
+
+    /**
+     * Processes a list of files on the worker threads. The workers are
+     * stopped before returning, even if processing a file failed, so that
+     * their modules are no longer used.
+     * @param files a list of files to process.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    private void processWithWorkers(List<File> files) throws CheckstyleException {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final Queue<PendingFile> pendingFiles = new ArrayDeque<>();
+            for (final File file : files) {
+                if (!checker.acceptFile(file)) {
+                    continue;
+                }
+                pendingFiles.add(submitFile(executor, new FileContent(file, charset, cache)));
+                if (pendingFiles.size() >= threads * PENDING_FILES_PER_THREAD) {
+                    finishPendingFile(pendingFiles.remove());
+                }
+            }
+            while (!pendingFiles.isEmpty()) {
+                finishPendingFile(pendingFiles.remove());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+            awaitTermination(executor);
+        }
+    }
+
+    /**
+     * Waits for the workers to finish the files they are processing.
+     * @param executor the executor of the workers, already shut down.
+     */
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Passes a file to a worker, unless it is cached with the same
+     * timestamp and size.
+     * @param executor the executor of the workers.
+     * @param content the file to process, not read yet.
+     * @return the file waiting for the worker.
+     */
+    private PendingFile submitFile(ExecutorService executor, FileContent content) {
+        Future<WorkerResult> result = null;
+        if (!content.isUnchangedInCache()) {
+            result = executor.submit(() -> processFileInWorker(content));
+        }
+        return new PendingFile(content, result);
+    }
+
+    /**
+     * Creates private copies of all child modules which can be used
+     * concurrently by a single worker thread. Every copy is added to the
+     * worker as soon as it exists, so it is destroyed even if creating a
+     * later one fails.
+     * @param worker the worker to add the modules to.
+     * @throws CheckstyleException if a module cannot be created.
+     */
+    private void createWorkerModules(WorkerModules worker) throws CheckstyleException {
+        for (final FileSetCheck fsc : fileSetChecks) {
+            final ModulePrototype prototype = workerPrototypes.get(fsc);
+            if (prototype != null) {
+                final FileSetCheck copy = (FileSetCheck) prototype.createModule();
+                worker.fileSetChecks.add(copy);
+                copy.init();
+                copy.setMessageDispatcher(checker);
+                copy.beginProcessing(charset);
+            }
+        }
+        for (final Filter filter : filters.getFilters()) {
+            final ModulePrototype prototype = workerPrototypes.get(filter);
+            if (prototype != null) {
+                worker.filters.addFilter((Filter) prototype.createModule());
+            }
+        }
+    }
+
+    /**
+     * Reads a file and processes it with the modules of an idle worker,
+     * unless its content is cached. Runs on a worker thread.
+     * @param content a file to process, not read yet.
+     * @return messages found by the worker modules.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     * @throws InterruptedException if the audit was aborted.
+     */
+    private WorkerResult processFileInWorker(FileContent content)
+            throws CheckstyleException, InterruptedException {
+        content.read();
+        content.loadCachedMessages();
+        if (content.getCachedMessages() != null) {
+            return WorkerResult.CONTENT_IN_CACHE;
+        }
+        final WorkerModules worker = idleWorkers.take();
+        try {
+            final SortedSet<LocalizedMessage> fileMessages =
+                content.process(worker.fileSetChecks);
+            final String stripped = CommonUtils.relativizeAndNormalizePath(basedir,
+                content.getFile().getAbsolutePath());
+            final List<LocalizedMessage> acceptedMessages = new ArrayList<>();
+            for (final LocalizedMessage element : fileMessages) {
+                if (worker.filters.accept(new AuditEvent(checker, stripped, element))) {
+                    acceptedMessages.add(element);
+                }
+            }
+            return new WorkerResult(ImmutableSortedSet.copyOf(acceptedMessages));
+        }
+        finally {
+            idleWorkers.add(worker);
+        }
+    }
+
+    /**
+     * Waits for a worker to process the file, runs the FileSetChecks which
+     * can't be copied to workers and notifies all listeners about the file.
+     * @param pendingFile a file which was passed to a worker.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     * @noinspection ProhibitedExceptionThrown
+     */
+    private void finishPendingFile(PendingFile pendingFile) throws CheckstyleException {
+        final FileContent content = pendingFile.content;
+        final File file = content.getFile();
+        try {
+            final WorkerResult result = pendingFile.getResult();
+            checker.auditFile(content, auditingThreadChecks,
+                filterWorkerMessages(file.getAbsolutePath(), result.acceptedMessages));
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CheckstyleException("Interrupted while processing "
+                    + file.getPath(), ex);
+        }
+        catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof Error) {
+                throw new Error(Checker.ERROR_MSG + file.getPath(), cause);
+            }
+            throw new CheckstyleException(Checker.EXCEPTION_MSG + file.getPath(), cause);
+        }
+        // -@cs[IllegalCatch] There is no other way to deliver filename that was under
+        // processing. See https://github.com/checkstyle/checkstyle/issues/2285
+        catch (Exception ex) {
+            // We need to catch all exceptions to put a reason failure (file name) in exception
+            throw new CheckstyleException(Checker.EXCEPTION_MSG + file.getPath(), ex);
+        }
+        catch (Error error) {
+            // We need to catch all errors to put a reason failure (file name) in error
+            throw new Error(Checker.ERROR_MSG + file.getPath(), error);
+        }
+    }
+
+    /**
+     * Selects the messages accepted by the worker filters which are also
+     * accepted by the filters that have no copies on the workers.
+     * @param fileName the audited file
+     * @param workerMessages messages accepted by the worker filters
+     * @return the accepted messages
+     */
+    private SortedSet<LocalizedMessage> filterWorkerMessages(String fileName,
+            SortedSet<LocalizedMessage> workerMessages) {
+        SortedSet<LocalizedMessage> result = workerMessages;
+        if (!auditingThreadFilters.isEmpty()) {
+            final String stripped = CommonUtils.relativizeAndNormalizePath(basedir, fileName);
+            final List<LocalizedMessage> acceptedMessages = new ArrayList<>();
+            for (final LocalizedMessage element : workerMessages) {
+                final AuditEvent event = new AuditEvent(checker, stripped, element);
+                if (auditingThreadFilters.stream().allMatch(filter -> filter.accept(event))) {
+                    acceptedMessages.add(element);
+                }
+            }
+            result = ImmutableSortedSet.copyOf(acceptedMessages);
+        }
+        return result;
+    }
+
+    /** Private copies of child modules owned by a single worker thread. */
+    private static final class WorkerModules {
+        /** FileSetChecks of the worker. */
+        private final List<FileSetCheck> fileSetChecks = new ArrayList<>();
+        /** Filters of the worker. */
+        private final FilterSet filters = new FilterSet();
+    }
+
+    /** Outcome of processing a file on a worker thread. */
+    private static final class WorkerResult {
+        /** The outcome for a file which was not processed as its content is cached. */
+        private static final WorkerResult CONTENT_IN_CACHE =
+            new WorkerResult(ImmutableSortedSet.of());
+
+        /** Messages accepted by the worker filters. */
+        private final SortedSet<LocalizedMessage> acceptedMessages;
+
+        /**
+         * Creates a new instance.
+         * @param acceptedMessages messages accepted by the worker filters.
+         */
+        WorkerResult(SortedSet<LocalizedMessage> acceptedMessages) {
+            this.acceptedMessages = acceptedMessages;
+        }
+    }
+
+    /** A file submitted to a worker thread. */
+    private static final class PendingFile {
+        /** The file. */
+        private final FileContent content;
+        /** The outcome of the worker, {@code null} if the file is cached. */
+        private final Future<WorkerResult> result;
+
+        /**
+         * Creates a new instance.
+         * @param content the file.
+         * @param result the outcome of the worker, {@code null} if the file is cached.
+         */
+        PendingFile(FileContent content, Future<WorkerResult> result) {
+            this.content = content;
+            this.result = result;
+        }
+
+        /**
+         * Waits for the worker to process the file.
+         * @return the outcome of the worker.
+         * @throws InterruptedException if the audit was aborted.
+         * @throws ExecutionException if the worker failed.
+         */
+        public WorkerResult getResult() throws InterruptedException, ExecutionException {
+            WorkerResult outcome = WorkerResult.CONTENT_IN_CACHE;
+            if (result != null) {
+                outcome = result.get();
+            }
+            return outcome;
+        }
+    }
+}
@@ -35,9 +35,13 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Properties;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.regex.Pattern;
 
 import javax.xml.bind.DatatypeConverter;
 
@@ -45,17 +49,25 @@ import com.google.common.io.Closeables;
 import com.google.common.io.Flushables;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
 /**
  * This class maintains a persistent(on file-system) store of the files
- * that have checked ok(no validation events) and their associated
- * timestamp. It is used to optimize Checkstyle between few launches.
+ * that have been checked and their associated timestamp, size and content
+ * hash, together with the violations reported for them. It is used to optimize Checkstyle
+ * between few launches. Files with the same timestamp and size are taken
+ * as unchanged without reading them, files with a different timestamp are
+ * still unchanged if their content has the same hash.
  * It is mostly useful for plugin and extensions of Checkstyle.
  * It uses a property file
  * for storage.  A hashcode of the Configuration is stored in the
  * cache file to ensure the cache is invalidated when the
  * configuration has changed.
+ * If the name of the cache file ends with {@value #BINARY_FORMAT_EXTENSION}
+ * the files are stored in a {@link BinaryCacheFile} instead. An existing
+ * property file with this name is converted to the binary format, a cache
+ * file with another name is not migrated.
  *
  * @author Oliver Burn
  * @author Andrei Selkin
@@ -70,9 +82,40 @@ final class PropertyCacheFile {
      */
     public static final String CONFIG_HASH_KEY = "configuration*?";
 
+    /** Extension of cache files in the binary format. */
+    public static final String BINARY_FORMAT_EXTENSION = ".bin";
+
+    /**
+     * The prefix of the property key to use for storing the violations of
+     * a file, which is followed by the name of the file.
+     */
+    public static final String MESSAGES_KEY_PREFIX = "messages*?";
+
     /** Size of buffer which is used to read external configuration resources. */
     private static final int BUFFER_SIZE = 1024;
 
+    /** Separator of the timestamp, size and content hash in the entry of a file. */
+    private static final String ENTRY_SEPARATOR = ",";
+
+    /** Number of parts of the entry of a file with a content hash. */
+    private static final int ENTRY_PARTS = 3;
+
+    /** Index of the size in the entry of a file. */
+    private static final int ENTRY_SIZE_INDEX = 1;
+
+    /** Index of the content hash in the entry of a file. */
+    private static final int ENTRY_HASH_INDEX = 2;
+
+    /** Pattern of the entry of a file, with or without size and content hash. */
+    private static final Pattern FILE_ENTRY_PATTERN =
+        Pattern.compile("-?\\d+(,\\d+,[0-9a-fA-F]+)?");
+
+    /** Radix of the content hash. */
+    private static final int HEX_RADIX = 16;
+
+    /** The value of an unknown size or content hash in the binary format. */
+    private static final long UNKNOWN = -1;
+
     /** The details on files. **/
     private final Properties details = new Properties();
 
@@ -82,6 +125,12 @@ final class PropertyCacheFile {
     /** File name of cache. **/
     private final String fileName;
 
+    /** The store of the files in the binary format, or {@code null}. **/
+    private final BinaryCacheFile binaryFile;
+
+    /** The class loader of the checks which reported the cached violations. **/
+    private final ClassLoader classLoader;
+
     /** Generated configuration hash. **/
     private String configHash;
 
@@ -92,6 +141,18 @@ final class PropertyCacheFile {
      * @param fileName the cache file
      */
     PropertyCacheFile(Configuration config, String fileName) {
+        this(config, fileName, PropertyCacheFile.class.getClassLoader());
+    }
+
+    /**
+     * Creates a new {@code PropertyCacheFile} instance.
+     *
+     * @param config the current configuration, not null
+     * @param fileName the cache file
+     * @param classLoader the class loader of the checks which report
+     *     violations, used to restore cached violations
+     */
+    PropertyCacheFile(Configuration config, String fileName, ClassLoader classLoader) {
         if (config == null) {
             throw new IllegalArgumentException("config can not be null");
         }
@@ -100,6 +161,13 @@ final class PropertyCacheFile {
         }
         this.config = config;
         this.fileName = fileName;
+        this.classLoader = classLoader;
+        if (fileName.endsWith(BINARY_FORMAT_EXTENSION)) {
+            binaryFile = new BinaryCacheFile(Paths.get(fileName));
+        }
+        else {
+            binaryFile = null;
+        }
     }
 
     /**
@@ -111,18 +179,13 @@ final class PropertyCacheFile {
         // the first time the hash will be added to output file
         configHash = getHashCodeBasedOnObjectContent(config);
         if (new File(fileName).exists()) {
-            FileInputStream inStream = null;
-            try {
-                inStream = new FileInputStream(fileName);
-                details.load(inStream);
-                final String cachedConfigHash = details.getProperty(CONFIG_HASH_KEY);
-                if (!configHash.equals(cachedConfigHash)) {
-                    // Detected configuration change - clear cache
-                    reset();
-                }
+            if (binaryFile == null || !binaryFile.load(details)) {
+                loadProperties();
             }
-            finally {
-                Closeables.closeQuietly(inStream);
+            final String cachedConfigHash = details.getProperty(CONFIG_HASH_KEY);
+            if (!configHash.equals(cachedConfigHash)) {
+                // Detected configuration change - clear cache
+                reset();
             }
         }
         else {
@@ -131,11 +194,80 @@ final class PropertyCacheFile {
         }
     }
 
+    /**
+     * Loads the cache file in the property format. If the binary format is
+     * used, the entries of files are moved to the binary store.
+     * @throws IOException when there is a problems with file read
+     */
+    private void loadProperties() throws IOException {
+        FileInputStream inStream = null;
+        try {
+            inStream = new FileInputStream(fileName);
+            details.load(inStream);
+        }
+        finally {
+            Closeables.closeQuietly(inStream);
+        }
+        if (binaryFile != null) {
+            for (final String name : details.stringPropertyNames()) {
+                final String entry = details.getProperty(name);
+                if (!CONFIG_HASH_KEY.equals(name) && FILE_ENTRY_PATTERN.matcher(entry).matches()) {
+                    details.remove(name);
+                    moveToBinaryFile(name, details.getProperty(MESSAGES_KEY_PREFIX + name),
+                        entry.split(ENTRY_SEPARATOR));
+                }
+            }
+            details.stringPropertyNames().stream()
+                .filter(name -> name.startsWith(MESSAGES_KEY_PREFIX))
+                .forEach(details::remove);
+        }
+    }
+
+    /**
+     * Records the entry of a file from the property format in the binary store.
+     * A file with broken violations is not recorded, so it is checked again.
+     * @param name the name of the file
+     * @param messages the Base64 encoded violations of the file, or {@code null}
+     * @param entry the parts of the entry of the file
+     */
+    private void moveToBinaryFile(String name, String messages, String... entry) {
+        final long timestamp = Long.parseLong(entry[0]);
+        if (entry.length == ENTRY_PARTS) {
+            try {
+                byte[] record = null;
+                if (messages != null) {
+                    record = Base64.getDecoder().decode(messages);
+                }
+                binaryFile.put(name, timestamp, Long.parseLong(entry[ENTRY_SIZE_INDEX]),
+                    Long.parseUnsignedLong(entry[ENTRY_HASH_INDEX], HEX_RADIX), record);
+            }
+            catch (final IllegalArgumentException ignored) {
+                // the file is checked again
+            }
+        }
+        else {
+            put(name, timestamp);
+        }
+    }
+
     /**
      * Cleans up the object and updates the cache file.
      * @throws IOException  when there is a problems with file save
      */
     public void persist() throws IOException {
+        if (binaryFile == null) {
+            persistProperties();
+        }
+        else {
+            binaryFile.persist(details);
+        }
+    }
+
+    /**
+     * Writes the cache file in the property format.
+     * @throws IOException  when there is a problems with file save
+     */
+    private void persistProperties() throws IOException {
         final Path directory = Paths.get(fileName).getParent();
         if (directory != null) {
             Files.createDirectories(directory);
@@ -156,6 +288,9 @@ final class PropertyCacheFile {
     public void reset() {
         details.clear();
         details.setProperty(CONFIG_HASH_KEY, configHash);
+        if (binaryFile != null) {
+            binaryFile.clear();
+        }
     }
 
     /**
@@ -177,9 +312,61 @@ final class PropertyCacheFile {
      * @return whether the specified file has already been checked ok
      */
     public boolean isInCache(String uncheckedFileName, long timestamp) {
-        final String lastChecked = details.getProperty(uncheckedFileName);
-        return lastChecked != null
-            && lastChecked.equals(Long.toString(timestamp));
+        final boolean result;
+        if (binaryFile == null) {
+            final String lastChecked = details.getProperty(uncheckedFileName);
+            result = lastChecked != null
+                && lastChecked.split(ENTRY_SEPARATOR)[0].equals(Long.toString(timestamp));
+        }
+        else {
+            result = binaryFile.isInCache(uncheckedFileName, timestamp);
+        }
+        return result;
+    }
+
+    /**
+     * Checks that file is in cache with the same timestamp and size.
+     * This is a cheap check that does not require to read the file.
+     * @param uncheckedFileName the file to check
+     * @param timestamp the timestamp of the file to check
+     * @param size the size of the file to check
+     * @return whether the specified file has already been checked ok
+     */
+    public boolean isInCache(String uncheckedFileName, long timestamp, long size) {
+        final boolean result;
+        if (binaryFile == null) {
+            final String[] entry = getFileEntry(uncheckedFileName);
+            result = entry.length == ENTRY_PARTS
+                && entry[0].equals(Long.toString(timestamp))
+                && entry[ENTRY_SIZE_INDEX].equals(Long.toString(size));
+        }
+        else {
+            result = binaryFile.isInCache(uncheckedFileName, timestamp, size);
+        }
+        return result;
+    }
+
+    /**
+     * Checks that file is in cache with the same content, regardless of
+     * its timestamp.
+     * @param uncheckedFileName the file to check
+     * @param size the size of the file to check
+     * @param contentHash the hexadecimal hash of the content of the file to check
+     * @return whether the specified file has already been checked ok
+     */
+    public boolean isContentInCache(String uncheckedFileName, long size, String contentHash) {
+        final boolean result;
+        if (binaryFile == null) {
+            final String[] entry = getFileEntry(uncheckedFileName);
+            result = entry.length == ENTRY_PARTS
+                && entry[ENTRY_SIZE_INDEX].equals(Long.toString(size))
+                && entry[ENTRY_HASH_INDEX].equals(contentHash);
+        }
+        else {
+            result = binaryFile.isContentInCache(uncheckedFileName, size,
+                Long.parseUnsignedLong(contentHash, HEX_RADIX));
+        }
+        return result;
     }
 
     /**
@@ -188,7 +375,126 @@ final class PropertyCacheFile {
      * @param timestamp the timestamp of the file
      */
     public void put(String checkedFileName, long timestamp) {
-        details.setProperty(checkedFileName, Long.toString(timestamp));
+        if (binaryFile == null) {
+            details.setProperty(checkedFileName, Long.toString(timestamp));
+        }
+        else {
+            binaryFile.put(checkedFileName, timestamp, UNKNOWN, UNKNOWN);
+        }
+    }
+
+    /**
+     * Records that a file with the given content checked ok.
+     * @param checkedFileName name of the file that checked ok
+     * @param timestamp the timestamp of the file
+     * @param size the size of the file
+     * @param contentHash the hexadecimal hash of the content of the file
+     */
+    public void put(String checkedFileName, long timestamp, long size, String contentHash) {
+        if (binaryFile == null) {
+            details.setProperty(checkedFileName, timestamp + ENTRY_SEPARATOR + size
+                + ENTRY_SEPARATOR + contentHash);
+        }
+        else {
+            binaryFile.put(checkedFileName, timestamp, size,
+                Long.parseUnsignedLong(contentHash, HEX_RADIX));
+        }
+    }
+
+    /**
+     * Records that a file with the given content was checked and reported
+     * the given violations. The violations are stored as explicit records
+     * by {@link LocalizedMessageCodec}, in the property file as Base64 text
+     * or in the side file of the binary store. If the violations cannot be
+     * stored, the file is not recorded.
+     * @param checkedFileName name of the file that was checked
+     * @param timestamp the timestamp of the file
+     * @param size the size of the file
+     * @param contentHash the hexadecimal hash of the content of the file
+     * @param messages the violations reported for the file
+     */
+    public void put(String checkedFileName, long timestamp, long size, String contentHash,
+            SortedSet<LocalizedMessage> messages) {
+        final String messagesKey = MESSAGES_KEY_PREFIX + checkedFileName;
+        byte[] record = null;
+        if (!messages.isEmpty()) {
+            record = LocalizedMessageCodec.encode(messages);
+        }
+        if (record == null && !messages.isEmpty()) {
+            // arguments of a message cannot be encoded, the file
+            // is checked again next time
+            details.remove(messagesKey);
+        }
+        else if (binaryFile == null) {
+            if (record == null) {
+                details.remove(messagesKey);
+            }
+            else {
+                details.setProperty(messagesKey, Base64.getEncoder().encodeToString(record));
+            }
+            put(checkedFileName, timestamp, size, contentHash);
+        }
+        else {
+            binaryFile.put(checkedFileName, timestamp, size,
+                Long.parseUnsignedLong(contentHash, HEX_RADIX), record);
+        }
+    }
+
+    /**
+     * Retrieves the violations reported for a file when it was recorded.
+     * @param name the name of the file
+     * @return the violations of the file, or {@code null} if they cannot be restored
+     */
+    public SortedSet<LocalizedMessage> getMessages(String name) {
+        SortedSet<LocalizedMessage> result = Collections.emptySortedSet();
+        try {
+            final byte[] record = getMessagesRecord(name);
+            if (record != null) {
+                result = LocalizedMessageCodec.decode(classLoader, record);
+            }
+        }
+        catch (final IOException | IllegalArgumentException ignored) {
+            // the stored violations are broken, so the file has to be checked again
+            result = null;
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the encoded violations of a file.
+     * @param name the name of the file
+     * @return the encoded violations, or {@code null} if the file has none
+     * @throws IOException if the violations cannot be read from the binary store
+     */
+    private byte[] getMessagesRecord(String name) throws IOException {
+        byte[] result = null;
+        if (binaryFile == null) {
+            final String encoded = details.getProperty(MESSAGES_KEY_PREFIX + name);
+            if (encoded != null) {
+                result = Base64.getDecoder().decode(encoded);
+            }
+        }
+        else {
+            result = binaryFile.getMessages(name);
+        }
+        return result;
+    }
+
+    /**
+     * Splits the cache entry of a file into its parts.
+     * @param name the name of the file
+     * @return the parts of the entry, or an empty array if there is no entry
+     */
+    private String[] getFileEntry(String name) {
+        final String entry = details.getProperty(name);
+        final String[] result;
+        if (entry == null) {
+            result = CommonUtils.EMPTY_STRING_ARRAY;
+        }
+        else {
+            result = entry.split(ENTRY_SEPARATOR);
+        }
+        return result;
     }
 
     /**
@@ -20,25 +20,19 @@
 package com.puppycrawl.tools.checkstyle;
 
 import java.io.File;
-import java.io.Reader;
-import java.io.StringReader;
-import java.util.AbstractMap.SimpleEntry;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map.Entry;
+import java.util.Map;
 import java.util.Set;
 
-import antlr.CommonHiddenStreamToken;
 import antlr.RecognitionException;
-import antlr.Token;
 import antlr.TokenStreamException;
-import antlr.TokenStreamHiddenTokenFilter;
 import antlr.TokenStreamRecognitionException;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
+import com.puppycrawl.tools.checkstyle.AuditProfile.Event;
+import com.puppycrawl.tools.checkstyle.AuditProfile.Recorder;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
@@ -48,9 +42,6 @@ import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.ExternalResourceHolder;
 import com.puppycrawl.tools.checkstyle.api.FileContents;
 import com.puppycrawl.tools.checkstyle.api.FileText;
-import com.puppycrawl.tools.checkstyle.api.TokenTypes;
-import com.puppycrawl.tools.checkstyle.grammars.GeneratedJavaLexer;
-import com.puppycrawl.tools.checkstyle.grammars.GeneratedJavaRecognizer;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 import com.puppycrawl.tools.checkstyle.utils.TokenUtils;
 
@@ -65,13 +56,17 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     /** Default distance between tab stops. */
     private static final int DEFAULT_TAB_WIDTH = 8;
 
-    /** Maps from token name to ordinary checks. */
-    private final Multimap<String, AbstractCheck> tokenToOrdinaryChecks =
-        HashMultimap.create();
+    /** Empty array of checks. */
+    private static final AbstractCheck[] EMPTY_CHECKS = new AbstractCheck[0];
 
-    /** Maps from token name to comment checks. */
-    private final Multimap<String, AbstractCheck> tokenToCommentChecks =
-            HashMultimap.create();
+    /** Ordinary checks indexed by the type of token they are registered for. */
+    private final AbstractCheck[][] tokenToOrdinaryChecks = createDispatchTable();
+
+    /** Comment checks indexed by the type of token they are registered for. */
+    private final AbstractCheck[][] tokenToCommentChecks = createDispatchTable();
+
+    /** Tokens of the checks that are visited through the token type index. */
+    private final Map<AbstractCheck, int[]> indexedCheckTokens = new HashMap<>();
 
     /** Registered ordinary checks, that don't use comment nodes. */
     private final Set<AbstractCheck> ordinaryChecks = new HashSet<>();
@@ -79,9 +74,15 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     /** Registered comment checks. */
     private final Set<AbstractCheck> commentChecks = new HashSet<>();
 
+    /** Parsed Javadoc comments of the current file, shared by the checks. */
+    private final JavadocTreeStore javadocTreeStore = new JavadocTreeStore();
+
     /** The distance between tab stops. */
     private int tabWidth = DEFAULT_TAB_WIDTH;
 
+    /** Whether files are parsed with the fast front-end. */
+    private boolean fastParser;
+
     /** Class loader to resolve classes with. **/
     private ClassLoader classLoader;
 
@@ -91,6 +92,12 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     /** A factory for creating submodules (i.e. the Checks) */
     private ModuleFactory moduleFactory;
 
+    /** The profile to add the time spent by checks to, {@code null} if not profiled. */
+    private AuditProfile profile;
+
+    /** Measures the checks of this instance, {@code null} if not profiled. */
+    private Recorder recorder;
+
     /**
      * Creates a new {@code TreeWalker} instance.
      */
@@ -106,6 +113,15 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         this.tabWidth = tabWidth;
     }
 
+    /**
+     * Sets whether files are parsed with the fast front-end, which produces
+     * the same syntax trees.
+     * @param fastParser whether to use the fast front-end
+     */
+    public void setFastParser(boolean fastParser) {
+        this.fastParser = fastParser;
+    }
+
     /**
      * Sets cache file.
      * @deprecated Use {@link Checker#setCacheFile} instead. It does not do anything now. We just
@@ -134,6 +150,15 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         this.moduleFactory = moduleFactory;
     }
 
+    /**
+     * Sets the profile to add the time spent by the checks and to parse
+     * files to.
+     * @param profile the profile
+     */
+    public void setProfile(AuditProfile profile) {
+        this.profile = profile;
+    }
+
     @Override
     public void finishLocalSetup() {
         final DefaultContext checkContext = new DefaultContext();
@@ -141,8 +166,13 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         checkContext.add("messages", getMessageCollector());
         checkContext.add("severity", getSeverity());
         checkContext.add("tabWidth", String.valueOf(tabWidth));
+        checkContext.add("javadocTreeStore", javadocTreeStore);
 
         childContext = checkContext;
+
+        if (profile != null) {
+            recorder = profile.createRecorder();
+        }
     }
 
     @Override
@@ -160,6 +190,13 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         check.init();
 
         registerCheck(check);
+        if (recorder != null) {
+            String profiledName = check.getId();
+            if (profiledName == null) {
+                profiledName = name;
+            }
+            recorder.register(check, profiledName);
+        }
     }
 
     @Override
@@ -171,15 +208,25 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
             try {
                 final FileText text = FileText.fromLines(file, lines);
                 final FileContents contents = new FileContents(text);
-                final DetailAST rootAST = parse(contents);
+                // comments are only attached to the tree and walked if comment
+                // checks are registered, the comment maps of the contents are
+                // filled when they are first used
+                final boolean withComments = !commentChecks.isEmpty();
+                startMeasurement();
+                final DetailAST rootAST = JavaParser.parse(contents, fastParser, withComments);
+                stopParsing(fileName);
 
                 getMessageCollector().reset();
 
                 walk(rootAST, contents, AstState.ORDINARY);
+                if (withComments) {
+                    startMeasurement();
+                    final DetailAST astWithComments = JavaParser.appendHiddenCommentNodes(rootAST);
+                    stopAppendingComments(fileName);
 
-                final DetailAST astWithComments = appendHiddenCommentNodes(rootAST);
-
-                walk(astWithComments, contents, AstState.WITH_COMMENTS);
+                    walk(astWithComments, contents, AstState.WITH_COMMENTS);
+                }
+                javadocTreeStore.clear();
             }
             catch (final TokenStreamRecognitionException tre) {
                 final String exceptionMsg = String.format(Locale.ROOT, msg,
@@ -194,6 +241,37 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         }
     }
 
+    /**
+     * Starts to measure the time spent to parse a file, if profiled.
+     */
+    private void startMeasurement() {
+        if (recorder != null) {
+            recorder.start();
+        }
+    }
+
+    /**
+     * Adds the time spent since the start of the measurement to the parse
+     * time of a file, if profiled.
+     * @param fileName the name of the parsed file.
+     */
+    private void stopParsing(String fileName) {
+        if (recorder != null) {
+            recorder.stopParsing(fileName);
+        }
+    }
+
+    /**
+     * Adds the time spent since the start of the measurement to the time
+     * spent to append comment nodes to the tree of a file, if profiled.
+     * @param fileName the name of the file.
+     */
+    private void stopAppendingComments(String fileName) {
+        if (recorder != null) {
+            recorder.stopAppendingComments(fileName);
+        }
+    }
+
     /**
      * Register a check for a given configuration.
      * @param check the check to register
@@ -216,7 +294,7 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
             for (String token : checkTokens) {
                 final int tokenId = TokenUtils.getTokenId(token);
                 if (Arrays.binarySearch(acceptableTokens, tokenId) >= 0) {
-                    registerCheck(token, check);
+                    registerCheck(tokenId, check);
                 }
                 else {
                     final String message = String.format(Locale.ROOT, "Token \"%s\" was "
@@ -244,27 +322,54 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      * @throws CheckstyleException if Check is misconfigured
      */
     private void registerCheck(int tokenId, AbstractCheck check) throws CheckstyleException {
-        registerCheck(TokenUtils.getTokenName(tokenId), check);
-    }
-
-    /**
-     * Register a check for a specified token name.
-     * @param token the name of the token
-     * @param check the check to register
-     * @throws CheckstyleException if Check is misconfigured
-     */
-    private void registerCheck(String token, AbstractCheck check) throws CheckstyleException {
+        final String token = TokenUtils.getTokenName(tokenId);
         if (check.isCommentNodesRequired()) {
-            tokenToCommentChecks.put(token, check);
+            addCheck(tokenToCommentChecks, tokenId, check);
         }
-        else if (TokenUtils.isCommentType(token)) {
+        else if (TokenUtils.isCommentType(tokenId)) {
             final String message = String.format(Locale.ROOT, "Check '%s' waits for comment type "
                     + "token ('%s') and should override 'isCommentNodesRequired()' "
                     + "method to return 'true'", check.getClass().getName(), token);
             throw new CheckstyleException(message);
         }
         else {
-            tokenToOrdinaryChecks.put(token, check);
+            addCheck(tokenToOrdinaryChecks, tokenId, check);
+        }
+    }
+
+    /**
+     * Creates a table of checks indexed by token type, with no checks registered.
+     * @return the table of checks.
+     */
+    private static AbstractCheck[][] createDispatchTable() {
+        final AbstractCheck[][] table = new AbstractCheck[TokenUtils.getTokenCount()][];
+        Arrays.fill(table, EMPTY_CHECKS);
+        return table;
+    }
+
+    /**
+     * Adds a check to the checks of a token type, unless it is already there.
+     * Checks that are visited through the token type index are not added to
+     * the table, their tokens are kept aside.
+     * @param table the table of checks indexed by token type.
+     * @param tokenId the type of the token.
+     * @param check the check to add.
+     */
+    private void addCheck(AbstractCheck[][] table, int tokenId, AbstractCheck check) {
+        final AbstractCheck[] checks = table[tokenId];
+        if (check.isIndexDriven()) {
+            final int[] tokens =
+                indexedCheckTokens.getOrDefault(check, CommonUtils.EMPTY_INT_ARRAY);
+            if (Arrays.stream(tokens).noneMatch(token -> token == tokenId)) {
+                final int[] newTokens = Arrays.copyOf(tokens, tokens.length + 1);
+                newTokens[tokens.length] = tokenId;
+                indexedCheckTokens.put(check, newTokens);
+            }
+        }
+        else if (!Arrays.asList(checks).contains(check)) {
+            final AbstractCheck[] newChecks = Arrays.copyOf(checks, checks.length + 1);
+            newChecks[checks.length] = check;
+            table[tokenId] = newChecks;
         }
     }
 
@@ -300,19 +405,23 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
 
         // empty files are not flagged by javac, will yield ast == null
         if (ast != null) {
-            processIter(ast, astState);
+            final Set<AbstractCheck> checks = getChecks(astState);
+            // the tree is walked only if some of the checks are not index driven,
+            // so it is not walked at all when no checks of the state are registered
+            if (checks.size() > countIndexDriven(checks)) {
+                processIter(ast, astState);
+            }
+            visitIndexed(checks);
         }
         notifyEnd(ast, astState);
     }
 
     /**
-     * Notify checks that we are about to begin walking a tree.
-     * @param rootAST the root of the tree.
-     * @param contents the contents of the file the AST was generated from.
+     * Returns the registered checks for a state of AST.
      * @param astState state of AST.
+     * @return the checks of the state.
      */
-    private void notifyBegin(DetailAST rootAST, FileContents contents,
-            AstState astState) {
+    private Set<AbstractCheck> getChecks(AstState astState) {
         final Set<AbstractCheck> checks;
 
         if (astState == AstState.WITH_COMMENTS) {
@@ -321,10 +430,53 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         else {
             checks = ordinaryChecks;
         }
+        return checks;
+    }
 
+    /**
+     * Counts the checks that are visited through the token type index.
+     * @param checks the checks to count.
+     * @return the number of index driven checks.
+     */
+    private static long countIndexDriven(Set<AbstractCheck> checks) {
+        return checks.stream().filter(AbstractCheck::isIndexDriven).count();
+    }
+
+    /**
+     * Visits the nodes of the registered tokens of the index driven checks
+     * in document order.
+     * @param checks the checks to visit the nodes for.
+     */
+    private void visitIndexed(Set<AbstractCheck> checks) {
         for (AbstractCheck check : checks) {
+            final int[] tokens = indexedCheckTokens.get(check);
+            if (tokens != null) {
+                for (DetailAST node : check.getNodesOfType(tokens)) {
+                    visitToken(check, node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Notify checks that we are about to begin walking a tree.
+     * @param rootAST the root of the tree.
+     * @param contents the contents of the file the AST was generated from.
+     * @param astState state of AST.
+     */
+    private void notifyBegin(DetailAST rootAST, FileContents contents,
+            AstState astState) {
+        for (AbstractCheck check : getChecks(astState)) {
             check.setFileContents(contents);
-            check.beginTree(rootAST);
+            check.setTreeRoot(rootAST);
+            if (recorder == null) {
+                check.beginTree(rootAST);
+            }
+            else {
+                recorder.start();
+                check.beginTree(rootAST);
+                recorder.stop(check, Event.BEGIN_TREE);
+            }
         }
     }
 
@@ -334,17 +486,15 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      * @param astState state of AST.
      */
     private void notifyEnd(DetailAST rootAST, AstState astState) {
-        final Set<AbstractCheck> checks;
-
-        if (astState == AstState.WITH_COMMENTS) {
-            checks = commentChecks;
-        }
-        else {
-            checks = ordinaryChecks;
-        }
-
-        for (AbstractCheck check : checks) {
-            check.finishTree(rootAST);
+        for (AbstractCheck check : getChecks(astState)) {
+            if (recorder == null) {
+                check.finishTree(rootAST);
+            }
+            else {
+                recorder.start();
+                check.finishTree(rootAST);
+                recorder.stop(check, Event.FINISH_TREE);
+            }
         }
     }
 
@@ -354,12 +504,26 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      * @param astState state of AST.
      */
     private void notifyVisit(DetailAST ast, AstState astState) {
-        final Collection<AbstractCheck> visitors = getListOfChecks(ast, astState);
+        final AbstractCheck[] visitors = getListOfChecks(ast, astState);
 
-        if (visitors != null) {
-            for (AbstractCheck check : visitors) {
-                check.visitToken(ast);
-            }
+        for (AbstractCheck check : visitors) {
+            visitToken(check, ast);
+        }
+    }
+
+    /**
+     * Notify a check that visiting a node.
+     * @param check the check to notify.
+     * @param ast the node to notify for.
+     */
+    private void visitToken(AbstractCheck check, DetailAST ast) {
+        if (recorder == null) {
+            check.visitToken(ast);
+        }
+        else {
+            recorder.start();
+            check.visitToken(ast);
+            recorder.stop(check, Event.VISIT_TOKEN);
         }
     }
 
@@ -370,11 +534,16 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      * @param astState state of AST.
      */
     private void notifyLeave(DetailAST ast, AstState astState) {
-        final Collection<AbstractCheck> visitors = getListOfChecks(ast, astState);
+        final AbstractCheck[] visitors = getListOfChecks(ast, astState);
 
-        if (visitors != null) {
-            for (AbstractCheck check : visitors) {
+        for (AbstractCheck check : visitors) {
+            if (recorder == null) {
+                check.leaveToken(ast);
+            }
+            else {
+                recorder.start();
                 check.leaveToken(ast);
+                recorder.stop(check, Event.LEAVE_TOKEN);
             }
         }
     }
@@ -388,19 +557,14 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      *            state of AST.
      * @return list of visitors
      */
-    private Collection<AbstractCheck> getListOfChecks(DetailAST ast, AstState astState) {
-        Collection<AbstractCheck> visitors = null;
-        final String tokenType = TokenUtils.getTokenName(ast.getType());
+    private AbstractCheck[] getListOfChecks(DetailAST ast, AstState astState) {
+        final AbstractCheck[] visitors;
 
         if (astState == AstState.WITH_COMMENTS) {
-            if (tokenToCommentChecks.containsKey(tokenType)) {
-                visitors = tokenToCommentChecks.get(tokenType);
-            }
+            visitors = tokenToCommentChecks[ast.getType()];
         }
         else {
-            if (tokenToOrdinaryChecks.containsKey(tokenType)) {
-                visitors = tokenToOrdinaryChecks.get(tokenType);
-            }
+            visitors = tokenToOrdinaryChecks[ast.getType()];
         }
         return visitors;
     }
@@ -415,30 +579,11 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      *                 if lexing failed
      * @throws RecognitionException
      *                 if parsing failed
+     * @see JavaParser#parse(FileContents, boolean)
      */
     public static DetailAST parse(FileContents contents)
             throws RecognitionException, TokenStreamException {
-        final String fullText = contents.getText().getFullText().toString();
-        final Reader reader = new StringReader(fullText);
-        final GeneratedJavaLexer lexer = new GeneratedJavaLexer(reader);
-        lexer.setFilename(contents.getFileName());
-        lexer.setCommentListener(contents);
-        lexer.setTreatAssertAsKeyword(true);
-        lexer.setTreatEnumAsKeyword(true);
-        lexer.setTokenObjectClass("antlr.CommonHiddenStreamToken");
-
-        final TokenStreamHiddenTokenFilter filter =
-                new TokenStreamHiddenTokenFilter(lexer);
-        filter.hide(TokenTypes.SINGLE_LINE_COMMENT);
-        filter.hide(TokenTypes.BLOCK_COMMENT_BEGIN);
-
-        final GeneratedJavaRecognizer parser =
-            new GeneratedJavaRecognizer(filter);
-        parser.setFilename(contents.getFileName());
-        parser.setASTNodeClass(DetailAST.class.getName());
-        parser.compilationUnit();
-
-        return (DetailAST) parser.getAST();
+        return JavaParser.parse(contents, false);
     }
 
     /**
@@ -447,10 +592,18 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      * @return DetailAST tree
      * @throws RecognitionException if parser failed
      * @throws TokenStreamException if lexer failed
+     * @see JavaParser#parseWithComments(FileContents, boolean)
      */
     public static DetailAST parseWithComments(FileContents contents)
             throws RecognitionException, TokenStreamException {
-        return appendHiddenCommentNodes(parse(contents));
+        return JavaParser.parseWithComments(contents, false);
+    }
+
+    @Override
+    public void finishProcessing() {
+        if (recorder != null) {
+            recorder.flush();
+        }
     }
 
     @Override
@@ -508,207 +661,6 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         }
     }
 
-    /**
-     * Appends comment nodes to existing AST.
-     * It traverses each node in AST, looks for hidden comment tokens
-     * and appends found comment tokens as nodes in AST.
-     * @param root
-     *        root of AST.
-     * @return root of AST with comment nodes.
-     */
-    private static DetailAST appendHiddenCommentNodes(DetailAST root) {
-        DetailAST result = root;
-        DetailAST curNode = root;
-        DetailAST lastNode = root;
-
-        while (curNode != null) {
-            if (isPositionGreater(curNode, lastNode)) {
-                lastNode = curNode;
-            }
-
-            CommonHiddenStreamToken tokenBefore = curNode.getHiddenBefore();
-            DetailAST currentSibling = curNode;
-            while (tokenBefore != null) {
-                final DetailAST newCommentNode =
-                         createCommentAstFromToken(tokenBefore);
-
-                currentSibling.addPreviousSibling(newCommentNode);
-
-                if (currentSibling == result) {
-                    result = newCommentNode;
-                }
-
-                currentSibling = newCommentNode;
-                tokenBefore = tokenBefore.getHiddenBefore();
-            }
-
-            DetailAST toVisit = curNode.getFirstChild();
-            while (curNode != null && toVisit == null) {
-                toVisit = curNode.getNextSibling();
-                if (toVisit == null) {
-                    curNode = curNode.getParent();
-                }
-            }
-            curNode = toVisit;
-        }
-        if (lastNode != null) {
-            CommonHiddenStreamToken tokenAfter = lastNode.getHiddenAfter();
-            DetailAST currentSibling = lastNode;
-            while (tokenAfter != null) {
-                final DetailAST newCommentNode =
-                        createCommentAstFromToken(tokenAfter);
-
-                currentSibling.addNextSibling(newCommentNode);
-
-                currentSibling = newCommentNode;
-                tokenAfter = tokenAfter.getHiddenAfter();
-            }
-        }
-        return result;
-    }
-
-    /**
-     * Checks if position of first DetailAST is greater than position of
-     * second DetailAST. Position is line number and column number in source
-     * file.
-     * @param ast1
-     *        first DetailAST node.
-     * @param ast2
-     *        second DetailAST node.
-     * @return true if position of ast1 is greater than position of ast2.
-     */
-    private static boolean isPositionGreater(DetailAST ast1, DetailAST ast2) {
-        if (ast1.getLineNo() == ast2.getLineNo()) {
-            return ast1.getColumnNo() > ast2.getColumnNo();
-        }
-        else {
-            return ast1.getLineNo() > ast2.getLineNo();
-        }
-    }
-
-    /**
-     * Create comment AST from token. Depending on token type
-     * SINGLE_LINE_COMMENT or BLOCK_COMMENT_BEGIN is created.
-     * @param token
-     *        Token object.
-     * @return DetailAST of comment node.
-     */
-    private static DetailAST createCommentAstFromToken(Token token) {
-        if (token.getType() == TokenTypes.SINGLE_LINE_COMMENT) {
-            return createSlCommentNode(token);
-        }
-        else {
-            return createBlockCommentNode(token);
-        }
-    }
-
-    /**
-     * Create single-line comment from token.
-     * @param token
-     *        Token object.
-     * @return DetailAST with SINGLE_LINE_COMMENT type.
-     */
-    private static DetailAST createSlCommentNode(Token token) {
-        final DetailAST slComment = new DetailAST();
-        slComment.setType(TokenTypes.SINGLE_LINE_COMMENT);
-        slComment.setText("//");
-
-        // column counting begins from 0
-        slComment.setColumnNo(token.getColumn() - 1);
-        slComment.setLineNo(token.getLine());
-
-        final DetailAST slCommentContent = new DetailAST();
-        slCommentContent.initialize(token);
-        slCommentContent.setType(TokenTypes.COMMENT_CONTENT);
-
-        // column counting begins from 0
-        // plus length of '//'
-        slCommentContent.setColumnNo(token.getColumn() - 1 + 2);
-        slCommentContent.setLineNo(token.getLine());
-        slCommentContent.setText(token.getText());
-
-        slComment.addChild(slCommentContent);
-        return slComment;
-    }
-
-    /**
-     * Create block comment from token.
-     * @param token
-     *        Token object.
-     * @return DetailAST with BLOCK_COMMENT type.
-     */
-    private static DetailAST createBlockCommentNode(Token token) {
-        final DetailAST blockComment = new DetailAST();
-        blockComment.initialize(TokenTypes.BLOCK_COMMENT_BEGIN, "/*");
-
-        // column counting begins from 0
-        blockComment.setColumnNo(token.getColumn() - 1);
-        blockComment.setLineNo(token.getLine());
-
-        final DetailAST blockCommentContent = new DetailAST();
-        blockCommentContent.initialize(token);
-        blockCommentContent.setType(TokenTypes.COMMENT_CONTENT);
-
-        // column counting begins from 0
-        // plus length of '/*'
-        blockCommentContent.setColumnNo(token.getColumn() - 1 + 2);
-        blockCommentContent.setLineNo(token.getLine());
-        blockCommentContent.setText(token.getText());
-
-        final DetailAST blockCommentClose = new DetailAST();
-        blockCommentClose.initialize(TokenTypes.BLOCK_COMMENT_END, "*/");
-
-        final Entry<Integer, Integer> linesColumns = countLinesColumns(
-                token.getText(), token.getLine(), token.getColumn());
-        blockCommentClose.setLineNo(linesColumns.getKey());
-        blockCommentClose.setColumnNo(linesColumns.getValue());
-
-        blockComment.addChild(blockCommentContent);
-        blockComment.addChild(blockCommentClose);
-        return blockComment;
-    }
-
-    /**
-     * Count lines and columns (in last line) in text.
-     * @param text
-     *        String.
-     * @param initialLinesCnt
-     *        initial value of lines counter.
-     * @param initialColumnsCnt
-     *        initial value of columns counter.
-     * @return entry(pair), first element is lines counter, second - columns
-     *         counter.
-     */
-    private static Entry<Integer, Integer> countLinesColumns(
-            String text, int initialLinesCnt, int initialColumnsCnt) {
-        int lines = initialLinesCnt;
-        int columns = initialColumnsCnt;
-        boolean foundCr = false;
-        for (char c : text.toCharArray()) {
-            if (c == '\n') {
-                foundCr = false;
-                lines++;
-                columns = 0;
-            }
-            else {
-                if (foundCr) {
-                    foundCr = false;
-                    lines++;
-                    columns = 0;
-                }
-                if (c == '\r') {
-                    foundCr = true;
-                }
-                columns++;
-            }
-        }
-        if (foundCr) {
-            lines++;
-            columns = 0;
-        }
-        return new SimpleEntry<>(lines, columns);
-    }
-
     /**
      * State of AST.
      * Indicates whether tree contains certain nodes.
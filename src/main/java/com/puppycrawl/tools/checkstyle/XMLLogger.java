@@ -107,7 +107,9 @@ public class XMLLogger
 
     @Override
     public void fileStarted(AuditEvent event) {
-        writer.println("<file name=\"" + encode(event.getFileName()) + "\">");
+        writer.print("<file name=\"");
+        writer.print(encode(event.getFileName()));
+        writer.println("\">");
     }
 
     @Override
@@ -118,19 +120,21 @@ public class XMLLogger
     @Override
     public void addError(AuditEvent event) {
         if (event.getSeverityLevel() != SeverityLevel.IGNORE) {
-            writer.print("<error" + " line=\"" + event.getLine() + "\"");
+            writer.print("<error line=\"");
+            writer.print(event.getLine());
+            writer.print('"');
             if (event.getColumn() > 0) {
-                writer.print(" column=\"" + event.getColumn() + "\"");
+                writer.print(" column=\"");
+                writer.print(event.getColumn());
+                writer.print('"');
             }
-            writer.print(" severity=\""
-                + event.getSeverityLevel().getName()
-                + "\"");
-            writer.print(" message=\""
-                + encode(event.getMessage())
-                + "\"");
-            writer.println(" source=\""
-                + encode(event.getSourceName())
-                + "\"/>");
+            writer.print(" severity=\"");
+            writer.print(event.getSeverityLevel().getName());
+            writer.print("\" message=\"");
+            writer.print(encode(event.getMessage()));
+            writer.print("\" source=\"");
+            writer.print(encode(event.getSourceName()));
+            writer.println("\"/>");
         }
     }
 
@@ -153,8 +157,13 @@ public class XMLLogger
      * @return the escaped value if necessary.
      */
     public static String encode(String value) {
-        final StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < value.length(); i++) {
+        final int first = indexOfSpecialChar(value);
+        if (first < 0) {
+            return value;
+        }
+        final StringBuilder sb = new StringBuilder(value.length());
+        sb.append(value, 0, first);
+        for (int i = first; i < value.length(); i++) {
             final char chr = value.charAt(i);
             switch (chr) {
                 case '<':
@@ -180,6 +189,23 @@ public class XMLLogger
         return sb.toString();
     }
 
+    /**
+     * Finds the first character which may need to be escaped.
+     * @param value the value to search.
+     * @return index of the first special character, or -1 if there is none.
+     */
+    private static int indexOfSpecialChar(String value) {
+        int index = -1;
+        for (int i = 0; i < value.length(); i++) {
+            final char chr = value.charAt(i);
+            if (chr == '<' || chr == '>' || chr == '\'' || chr == '"' || chr == '&') {
+                index = i;
+                break;
+            }
+        }
+        return index;
+    }
+
     /**
      * @param ent the possible entity to look for.
      * @return whether the given argument a character or entity reference
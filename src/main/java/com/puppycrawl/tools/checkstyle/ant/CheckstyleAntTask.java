@@ -110,6 +110,12 @@ public class CheckstyleAntTask extends Task {
      */
     private boolean omitIgnoredModules = true;
 
+    /** The file to write the profile of the audit to. */
+    private File profileFile;
+
+    /** Whether the profile counts the bytes allocated by checks. */
+    private boolean profileAllocations;
+
     ////////////////////////////////////////////////////////////////////////////
     // Setters for ANT specific attributes
     ////////////////////////////////////////////////////////////////////////////
@@ -274,6 +280,23 @@ public class CheckstyleAntTask extends Task {
         properties = props;
     }
 
+    /**
+     * Sets the file to write the time spent by every check to, as JSON if
+     * the file name ends with {@code .json} and as plain text otherwise.
+     * @param file the file to write the profile to
+     */
+    public void setProfileFile(File file) {
+        profileFile = file;
+    }
+
+    /**
+     * Sets whether the profile counts the bytes allocated by every check.
+     * @param profileAllocations whether allocated bytes are counted
+     */
+    public void setProfileAllocations(boolean profileAllocations) {
+        this.profileAllocations = profileAllocations;
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // The doers
     ////////////////////////////////////////////////////////////////////////////
@@ -421,6 +444,10 @@ public class CheckstyleAntTask extends Task {
 
             checker = new Checker();
             checker.contextualize(context);
+            if (profileFile != null) {
+                checker.setProfileFile(profileFile.getAbsolutePath());
+                checker.setProfileAllocations(profileAllocations);
+            }
             checker.configure(config);
         }
         catch (final CheckstyleException ex) {
@@ -21,6 +21,7 @@ package com.puppycrawl.tools.checkstyle.api;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
@@ -42,6 +43,9 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
     /** The current file contents. */
     private FileContents fileContents;
 
+    /** The root of the current tree. */
+    private DetailAST treeRoot;
+
     /** The object for collecting messages. */
     private LocalizedMessages messages;
 
@@ -70,6 +74,17 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
         return false;
     }
 
+    /**
+     * Whether the check is visited through the token type index of the
+     * file instead of the walk of the tree. Such checks are visited for
+     * the nodes of their tokens in document order after the walk,
+     * {@link #leaveToken(DetailAST)} is not called for them.
+     * @return false as a default value.
+     */
+    public boolean isIndexDriven() {
+        return false;
+    }
+
     /**
      * The configurable token set.
      * Used to protect Checks against malicious users who specify an
@@ -168,7 +183,8 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
     }
 
     /**
-     * Returns the lines associated with the tree.
+     * Returns a copy of the lines associated with the tree. Use
+     * {@link #getLine(int)} to access single lines without copying all of them.
      * @return the file contents
      */
     public final String[] getLines() {
@@ -200,6 +216,33 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
         return fileContents;
     }
 
+    /**
+     * Set the root of the tree to be processed.
+     * @param rootAst the root of the tree, {@code null} for an empty file
+     */
+    public final void setTreeRoot(DetailAST rootAst) {
+        treeRoot = rootAst;
+    }
+
+    /**
+     * Returns the nodes of the current tree that have one of the given
+     * token types, in document order. The index of the tree is built when
+     * it is first used and shared by all checks of the tree.
+     * @param types the token types
+     * @return an unmodifiable list of the nodes
+     * @see TokenTypes
+     */
+    public final List<DetailAST> getNodesOfType(int... types) {
+        final List<DetailAST> nodes;
+        if (treeRoot == null) {
+            nodes = Collections.emptyList();
+        }
+        else {
+            nodes = treeRoot.getTreeIndex().getNodesOfTypes(types);
+        }
+        return nodes;
+    }
+
     /**
      * Set the class loader associated with the tree.
      * @param classLoader the class loader
@@ -250,7 +293,7 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
     public final void log(int lineNo, int colNo, String key,
             Object... args) {
         final int col = 1 + CommonUtils.lengthExpandedTabs(
-            getLines()[lineNo - 1], colNo, tabWidth);
+            getLine(lineNo - 1), colNo, tabWidth);
         messages.add(
             new LocalizedMessage(
                 lineNo,
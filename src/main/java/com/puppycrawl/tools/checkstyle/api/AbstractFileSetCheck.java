@@ -72,12 +72,20 @@ public abstract class AbstractFileSetCheck
     @Override
     public final SortedSet<LocalizedMessage> process(File file, List<String> lines)
             throws CheckstyleException {
+        final LocalizedMessages messages = new LocalizedMessages();
+        process(file, lines, messages);
+        return messages.getMessages();
+    }
+
+    @Override
+    public final void process(File file, List<String> lines, LocalizedMessages messages)
+            throws CheckstyleException {
         messageCollector.reset();
         // Process only what interested in
         if (CommonUtils.matchesFileExtension(file, fileExtensions)) {
             processFiltered(file, lines);
         }
-        return messageCollector.getMessages();
+        messageCollector.drainTo(messages);
     }
 
     @Override
@@ -31,7 +31,6 @@ import org.apache.commons.beanutils.BeanUtilsBean;
 import org.apache.commons.beanutils.ConversionException;
 import org.apache.commons.beanutils.ConvertUtilsBean;
 import org.apache.commons.beanutils.Converter;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.beanutils.PropertyUtilsBean;
 import org.apache.commons.beanutils.converters.ArrayConverter;
 import org.apache.commons.beanutils.converters.BooleanConverter;
@@ -149,7 +148,7 @@ public class AutomaticBean
     private void tryCopyProperty(String moduleName, String key, Object value, boolean recheck)
             throws CheckstyleException {
 
-        final BeanUtilsBean beanUtils = createBeanUtilsBean();
+        final BeanUtilsBean beanUtils = BeanUtilsHolder.BEAN_UTILS;
 
         try {
             if (recheck) {
@@ -157,7 +156,7 @@ public class AutomaticBean
                 // for key, so we have to go through great lengths here to
                 // figure out if the bean property really exists.
                 final PropertyDescriptor descriptor =
-                        PropertyUtils.getPropertyDescriptor(this, key);
+                        beanUtils.getPropertyUtils().getPropertyDescriptor(this, key);
                 if (descriptor == null) {
                     final String message = String.format(Locale.ROOT, "Property '%s' in module %s "
                             + "does not exist, please check the documentation", key, moduleName);
@@ -241,6 +240,19 @@ public class AutomaticBean
         }
     }
 
+    /**
+     * Holds bean utilities shared by all beans, so that converters and property
+     * descriptors are set up once instead of for every copied property.
+     */
+    private static final class BeanUtilsHolder {
+        /** The shared bean utilities. */
+        private static final BeanUtilsBean BEAN_UTILS = createBeanUtilsBean();
+
+        /** Prevent instantiation. */
+        private BeanUtilsHolder() {
+        }
+    }
+
     /**
      * A converter that does not care whether the array elements contain String
      * characters like '*' or '_'. The normal ArrayConverter class has problems
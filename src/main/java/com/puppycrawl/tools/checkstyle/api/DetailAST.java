@@ -19,8 +19,6 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
-import java.util.BitSet;
-
 import antlr.CommonASTWithHiddenTokens;
 import antlr.Token;
 import antlr.collections.AST;
@@ -52,11 +50,13 @@ public final class DetailAST extends CommonASTWithHiddenTokens {
     private DetailAST previousSibling;
 
     /**
-     * All token types in this branch.
-     * Token 'x' (where x is an int) is in this branch
-     * if branchTokenTypes.get(x) is true.
+     * The index of the tree that contains this node, used to find the token
+     * types in this branch. {@code null} if the tree has not been indexed.
      */
-    private BitSet branchTokenTypes;
+    private transient TreeIndex treeIndex;
+
+    /** The position of this node in the index of its tree. */
+    private int treeIndexPosition;
 
     @Override
     public void initialize(Token tok) {
@@ -78,9 +78,15 @@ public final class DetailAST extends CommonASTWithHiddenTokens {
         hiddenBefore = detailAst.getHiddenBefore();
     }
 
+    @Override
+    public void setType(int type) {
+        invalidateTreeIndex();
+        super.setType(type);
+    }
+
     @Override
     public void setFirstChild(AST ast) {
-        clearBranchTokenTypes();
+        invalidateTreeIndex();
         clearChildCountCache(this);
         super.setFirstChild(ast);
         if (ast != null) {
@@ -90,13 +96,14 @@ public final class DetailAST extends CommonASTWithHiddenTokens {
 
     @Override
     public void setNextSibling(AST ast) {
-        clearBranchTokenTypes();
+        invalidateTreeIndex();
         clearChildCountCache(parent);
         super.setNextSibling(ast);
         if (ast != null && parent != null) {
             ((DetailAST) ast).setParent(parent);
         }
         if (ast != null) {
+            ((DetailAST) ast).invalidateTreeIndex();
             ((DetailAST) ast).previousSibling = this;
         }
     }
@@ -107,7 +114,7 @@ public final class DetailAST extends CommonASTWithHiddenTokens {
      *        DetailAST object.
      */
     public void addPreviousSibling(DetailAST ast) {
-        clearBranchTokenTypes();
+        invalidateTreeIndex();
         clearChildCountCache(parent);
         if (ast != null) {
             ast.setParent(parent);
@@ -132,7 +139,7 @@ public final class DetailAST extends CommonASTWithHiddenTokens {
      *        DetailAST object.
      */
     public void addNextSibling(DetailAST ast) {
-        clearBranchTokenTypes();
+        invalidateTreeIndex();
         clearChildCountCache(parent);
         if (ast != null) {
             ast.setParent(parent);
@@ -150,7 +157,7 @@ public final class DetailAST extends CommonASTWithHiddenTokens {
 
     @Override
     public void addChild(AST ast) {
-        clearBranchTokenTypes();
+        invalidateTreeIndex();
         clearChildCountCache(this);
         super.addChild(ast);
         if (ast != null) {
@@ -198,7 +205,7 @@ public final class DetailAST extends CommonASTWithHiddenTokens {
      * @param parent the parent token
      */
     private void setParent(DetailAST parent) {
-        clearBranchTokenTypes();
+        invalidateTreeIndex();
         this.parent = parent;
         final DetailAST nextSibling = getNextSibling();
         if (nextSibling != null) {
@@ -334,25 +341,44 @@ public final class DetailAST extends CommonASTWithHiddenTokens {
     }
 
     /**
-     * @return the token types that occur in the branch as a sorted set.
+     * Gets the index of the tree that contains this node and builds it
+     * if the tree has not been indexed yet or has changed since.
+     * @return the index of the tree.
      */
-    private BitSet getBranchTokenTypes() {
-        // lazy init
-        if (branchTokenTypes == null) {
-
-            branchTokenTypes = new BitSet();
-            branchTokenTypes.set(getType());
-
-            // add union of all children
-            DetailAST child = getFirstChild();
-            while (child != null) {
-                final BitSet childTypes = child.getBranchTokenTypes();
-                branchTokenTypes.or(childTypes);
-
-                child = child.getNextSibling();
+    TreeIndex getTreeIndex() {
+        if (treeIndex == null || treeIndex.isStale()) {
+            DetailAST root = this;
+            while (root.parent != null) {
+                root = root.parent;
+            }
+            while (root.previousSibling != null) {
+                root = root.previousSibling;
+            }
+            TreeIndex.build(root);
+            if (treeIndex == null || treeIndex.isStale()) {
+                // the parent links do not lead to the root of the tree
+                TreeIndex.build(this);
             }
         }
-        return branchTokenTypes;
+        return treeIndex;
+    }
+
+    /**
+     * Sets the index of the tree that contains this node.
+     * @param index the index of the tree.
+     * @param position the position of this node in the index.
+     */
+    void setTreeIndex(TreeIndex index, int position) {
+        treeIndex = index;
+        treeIndexPosition = position;
+    }
+
+    /**
+     * Gets the position of this node in the index of its tree.
+     * @return the position of this node.
+     */
+    int getTreeIndexPosition() {
+        return treeIndexPosition;
     }
 
     /**
@@ -363,7 +389,7 @@ public final class DetailAST extends CommonASTWithHiddenTokens {
      *     contains a token of type {@code type}.
      */
     public boolean branchContains(int type) {
-        return getBranchTokenTypes().get(type);
+        return getTreeIndex().branchContains(treeIndexPosition, type);
     }
 
     /**
@@ -416,14 +442,11 @@ public final class DetailAST extends CommonASTWithHiddenTokens {
     }
 
     /**
-     * Clears branchTokenTypes cache for all parents of the current DetailAST instance, and the
-     * child count for the current DetailAST instance.
+     * Marks the index of the tree that contains this node as outdated.
      */
-    private void clearBranchTokenTypes() {
-        DetailAST prevParent = getParent();
-        while (prevParent != null) {
-            prevParent.branchTokenTypes = null;
-            prevParent = prevParent.getParent();
+    private void invalidateTreeIndex() {
+        if (treeIndex != null) {
+            treeIndex.invalidate();
         }
     }
 }
@@ -30,6 +30,7 @@ import java.util.regex.Pattern;
 
 import com.google.common.collect.ImmutableMap;
 import com.puppycrawl.tools.checkstyle.grammars.CommentListener;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
 /**
  * Represents the contents of a file.
@@ -46,6 +47,12 @@ public final class FileContents implements CommentListener {
     private static final Pattern MATCH_SINGLELINE_COMMENT = Pattern
             .compile(MATCH_SINGLELINE_COMMENT_PAT);
 
+    /** Number of positions kept for each comment reported by the lexer. */
+    private static final int POSITIONS_PER_COMMENT = 4;
+
+    /** Number of comments the positions are initially kept for. */
+    private static final int INITIAL_COMMENT_CAPACITY = 16;
+
     /** The file name. */
     private final String fileName;
 
@@ -65,6 +72,16 @@ public final class FileContents implements CommentListener {
      */
     private final Map<Integer, List<TextBlock>> clangComments = new HashMap<>();
 
+    /**
+     * Start line, start column, end line and end column of the comments
+     * reported by the lexer that are not in the maps yet. The end line of
+     * C++ style comments is 0.
+     */
+    private int[] reportedComments = CommonUtils.EMPTY_INT_ARRAY;
+
+    /** Number of positions used in {@link #reportedComments}. */
+    private int reportedPositions;
+
     /**
      * Creates a new {@code FileContents} instance.
      *
@@ -86,19 +103,78 @@ public final class FileContents implements CommentListener {
      */
     public FileContents(FileText text) {
         fileName = text.getFile().toString();
-        this.text = new FileText(text);
+        this.text = text;
     }
 
+    /**
+     * Remembers the position of a C++ style comment found by the lexer. The
+     * comment is added to the maps of comments when they are first used.
+     * @param type the type of comment
+     * @param startLineNo the starting line number
+     * @param startColNo the starting column number
+     */
     @Override
     public void reportSingleLineComment(String type, int startLineNo,
             int startColNo) {
-        reportCppComment(startLineNo, startColNo);
+        addReportedComment(startLineNo, startColNo, 0, 0);
     }
 
+    /**
+     * Remembers the position of a C-style comment found by the lexer. The
+     * comment is added to the maps of comments when they are first used.
+     * @param type the type of comment
+     * @param startLineNo the starting line number
+     * @param startColNo the starting column number
+     * @param endLineNo the ending line number
+     * @param endColNo the ending column number
+     */
     @Override
     public void reportBlockComment(String type, int startLineNo,
             int startColNo, int endLineNo, int endColNo) {
-        reportCComment(startLineNo, startColNo, endLineNo, endColNo);
+        addReportedComment(startLineNo, startColNo, endLineNo, endColNo);
+    }
+
+    /**
+     * Remembers the position of a comment found by the lexer.
+     * @param startLineNo the starting line number
+     * @param startColNo the starting column number
+     * @param endLineNo the ending line number, 0 for C++ style comments
+     * @param endColNo the ending column number
+     */
+    private void addReportedComment(int startLineNo, int startColNo,
+            int endLineNo, int endColNo) {
+        if (reportedPositions == reportedComments.length) {
+            reportedComments = Arrays.copyOf(reportedComments,
+                Math.max(INITIAL_COMMENT_CAPACITY * POSITIONS_PER_COMMENT,
+                    reportedComments.length * 2));
+        }
+        reportedComments[reportedPositions++] = startLineNo;
+        reportedComments[reportedPositions++] = startColNo;
+        reportedComments[reportedPositions++] = endLineNo;
+        reportedComments[reportedPositions++] = endColNo;
+    }
+
+    /**
+     * Adds the comments reported by the lexer to the maps of comments. The
+     * texts of the comments are only extracted when a check or filter uses
+     * them.
+     */
+    private void collectReportedComments() {
+        int position = 0;
+        while (position < reportedPositions) {
+            final int startLineNo = reportedComments[position++];
+            final int startColNo = reportedComments[position++];
+            final int endLineNo = reportedComments[position++];
+            final int endColNo = reportedComments[position++];
+            if (endLineNo == 0) {
+                reportCppComment(startLineNo, startColNo);
+            }
+            else {
+                reportCComment(startLineNo, startColNo, endLineNo, endColNo);
+            }
+        }
+        reportedComments = CommonUtils.EMPTY_INT_ARRAY;
+        reportedPositions = 0;
     }
 
     /**
@@ -120,6 +196,7 @@ public final class FileContents implements CommentListener {
      * @return the Map of comments
      */
     public ImmutableMap<Integer, TextBlock> getCppComments() {
+        collectReportedComments();
         return ImmutableMap.copyOf(cppComments);
     }
 
@@ -162,6 +239,7 @@ public final class FileContents implements CommentListener {
      * @return the map of comments
      */
     public ImmutableMap<Integer, List<TextBlock>> getCComments() {
+        collectReportedComments();
         return ImmutableMap.copyOf(clangComments);
     }
 
@@ -208,6 +286,7 @@ public final class FileContents implements CommentListener {
             lineNo--;
         }
 
+        collectReportedComments();
         return javadocComments.get(lineNo);
     }
 
@@ -224,15 +303,17 @@ public final class FileContents implements CommentListener {
     }
 
     /**
-     * Get the full text of the file.
+     * Get the full text of the file. The text is immutable, so it is not
+     * copied and can be used as a read-only list of the lines of the file.
      * @return an object containing the full text of the file
      */
     public FileText getText() {
-        return new FileText(text);
+        return text;
     }
 
     /**
-     * Gets the lines in the file.
+     * Gets a copy of the lines in the file. Use {@link #getLine(int)} or
+     * {@link #getText()} to access lines without copying all of them.
      * @return the lines in the file
      */
     public String[] getLines() {
@@ -296,6 +377,7 @@ public final class FileContents implements CommentListener {
      **/
     public boolean hasIntersectionWithComment(int startLineNo,
             int startColNo, int endLineNo, int endColNo) {
+        collectReportedComments();
         return hasIntersectionWithCComment(startLineNo, startColNo, endLineNo, endColNo)
                 || hasIntersectionWithCppComment(startLineNo, startColNo, endLineNo, endColNo);
     }
@@ -74,6 +74,28 @@ public interface FileSetCheck
      */
     SortedSet<LocalizedMessage> process(File file, List<String> lines) throws CheckstyleException;
 
+    /**
+     * Request to process a file, adding the messages to be logged to the
+     * given collection instead of returning them. This allows the messages
+     * of all FileSetChecks for a file to be collected without copying them
+     * into a sorted set for every FileSetCheck.
+     * <p>
+     * The default implementation adds the messages returned by
+     * {@link #process(File, List)}.
+     * </p>
+     *
+     * @param file the file to be processed
+     * @param lines an immutable list of the contents of the file.
+     * @param messages the collection to add the messages to be logged to.
+     * @throws CheckstyleException if error condition within Checkstyle occurs
+     */
+    default void process(File file, List<String> lines, LocalizedMessages messages)
+            throws CheckstyleException {
+        for (final LocalizedMessage message : process(file, lines)) {
+            messages.add(message);
+        }
+    }
+
     /**
      * Called when all the files have been processed. This is the time to
      * perform any checks that need to be done across a set of files. In this
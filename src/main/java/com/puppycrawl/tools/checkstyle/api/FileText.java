@@ -19,26 +19,20 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.StandardOpenOption;
 import java.util.AbstractList;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import com.google.common.io.Closeables;
+import java.util.zip.Checksum;
 
 /**
  * Represents the text contents of a file of arbitrary plain text type.
@@ -55,14 +49,9 @@ import com.google.common.io.Closeables;
 public final class FileText extends AbstractList<String> {
 
     /**
-     * The number of characters to read in one go.
-     */
-    private static final int READ_BUFFER_SIZE = 1024;
-
-    /**
-     * Regular expression pattern matching all line terminators.
+     * The initial capacity of the line start index.
      */
-    private static final Pattern LINE_TERMINATOR = Pattern.compile("\\n|\\r\\n?");
+    private static final int INITIAL_LINE_CAPACITY = 64;
 
     // For now, we always keep both full text and lines array.
     // In the long run, however, the one passed at initialization might be
@@ -92,9 +81,10 @@ public final class FileText extends AbstractList<String> {
     private final String[] lines;
 
     /**
-     * The first position of each line within the full text.
+     * The first position of each line within the full text, followed by
+     * the length of the full text.
      */
-    private int[] lineBreaks;
+    private final int[] lineBreaks;
 
     /**
      * Creates a new file text representation.
@@ -109,6 +99,27 @@ public final class FileText extends AbstractList<String> {
      * @throws IOException if the file could not be read
      */
     public FileText(File file, String charsetName) throws IOException {
+        this(file, charsetName, null);
+    }
+
+    /**
+     * Creates a new file text representation and computes a checksum of
+     * the file content while reading it.
+     *
+     * <p>The file will be read using the specified encoding, replacing
+     * malformed input and unmappable characters with the default
+     * replacement character. All bytes read from the file are passed to
+     * the checksum, so the file does not have to be read a second time
+     * to find out whether its content has changed.
+     *
+     * @param file the name of the file
+     * @param charsetName the encoding to use when reading the file
+     * @param checksum the checksum to update with the file content,
+     *     or {@code null} if no checksum is needed
+     * @throws NullPointerException if the text is null
+     * @throws IOException if the file could not be read
+     */
+    public FileText(File file, String charsetName, Checksum checksum) throws IOException {
         this.file = file;
 
         // We use our own decoder, to be sure we have complete control
@@ -125,22 +136,9 @@ public final class FileText extends AbstractList<String> {
             throw new IllegalStateException(message, ex);
         }
 
-        fullText = readFile(file, decoder);
-
-        // Use the BufferedReader to break down the lines as this
-        // is about 30% faster than using the
-        // LINE_TERMINATOR.split(fullText, -1) method
-        final ArrayList<String> textLines = new ArrayList<>();
-        final BufferedReader reader =
-            new BufferedReader(new StringReader(fullText));
-        while (true) {
-            final String line = reader.readLine();
-            if (line == null) {
-                break;
-            }
-            textLines.add(line);
-        }
-        lines = textLines.toArray(new String[textLines.size()]);
+        fullText = readFile(file, decoder, checksum);
+        lineBreaks = findLineBreaks(fullText);
+        lines = splitLines(fullText, lineBreaks);
     }
 
     /**
@@ -152,12 +150,7 @@ public final class FileText extends AbstractList<String> {
         charset = fileText.charset;
         fullText = fileText.fullText;
         lines = fileText.lines.clone();
-        if (fileText.lineBreaks == null) {
-            lineBreaks = null;
-        }
-        else {
-            lineBreaks = fileText.lineBreaks.clone();
-        }
+        lineBreaks = fileText.lineBreaks;
     }
 
     /**
@@ -182,37 +175,91 @@ public final class FileText extends AbstractList<String> {
         charset = null;
         fullText = buf.toString();
         this.lines = lines.toArray(new String[lines.size()]);
+        lineBreaks = new int[this.lines.length + 1];
+        for (int i = 0; i < this.lines.length; i++) {
+            lineBreaks[i + 1] = lineBreaks[i] + this.lines[i].length() + 1;
+        }
     }
 
     /**
      * Reads file using specific decoder and returns all its content as a String.
+     * The file is read into a single buffer, which is then decoded at once.
      * @param inputFile File to read
      * @param decoder Charset decoder
+     * @param checksum Checksum to update with the bytes read, or {@code null}
      * @return File's text
      * @throws IOException Unable to open or read the file
      */
-    private static String readFile(final File inputFile, final CharsetDecoder decoder)
-            throws IOException {
+    private static String readFile(final File inputFile, final CharsetDecoder decoder,
+            final Checksum checksum) throws IOException {
         if (!inputFile.exists()) {
             throw new FileNotFoundException(inputFile.getPath() + " (No such file or directory)");
         }
-        final StringBuilder buf = new StringBuilder();
-        final FileInputStream stream = new FileInputStream(inputFile);
-        final Reader reader = new InputStreamReader(stream, decoder);
-        try {
-            final char[] chars = new char[READ_BUFFER_SIZE];
-            while (true) {
-                final int len = reader.read(chars);
-                if (len < 0) {
-                    break;
+        final ByteBuffer bytes;
+        try (FileChannel channel = FileChannel.open(inputFile.toPath(),
+                StandardOpenOption.READ)) {
+            bytes = ByteBuffer.allocate((int) channel.size());
+            int read = 0;
+            while (read >= 0 && bytes.hasRemaining()) {
+                read = channel.read(bytes);
+            }
+        }
+        bytes.flip();
+        if (checksum != null) {
+            checksum.update(bytes.array(), 0, bytes.limit());
+        }
+        return decoder.decode(bytes).toString();
+    }
+
+    /**
+     * Finds the first position of each line in the text. Lines are
+     * terminated by a line feed, a carriage return or a carriage return
+     * followed by a line feed, like in {@link java.io.BufferedReader#readLine()}.
+     * @param text the text to scan
+     * @return the first positions of all lines, followed by the length of the text
+     */
+    private static int[] findLineBreaks(String text) {
+        int[] lineStarts = new int[INITIAL_LINE_CAPACITY];
+        int count = 1;
+        final int length = text.length();
+        int pos = 0;
+        while (pos < length) {
+            final char chr = text.charAt(pos);
+            pos++;
+            if (chr == '\r' && pos < length && text.charAt(pos) == '\n') {
+                pos++;
+            }
+            if (chr == '\n' || chr == '\r' || pos == length) {
+                if (count == lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, count * 2);
                 }
-                buf.append(chars, 0, len);
+                lineStarts[count] = pos;
+                count++;
             }
         }
-        finally {
-            Closeables.closeQuietly(reader);
+        return Arrays.copyOf(lineStarts, count);
+    }
+
+    /**
+     * Splits the text into lines at the given positions.
+     * @param text the text to split
+     * @param lineStarts the first positions of all lines, followed by the
+     *     length of the text
+     * @return the lines of the text, without terminators
+     */
+    private static String[] splitLines(String text, int[] lineStarts) {
+        final String[] textLines = new String[lineStarts.length - 1];
+        for (int i = 0; i < textLines.length; i++) {
+            int end = lineStarts[i + 1];
+            if (end > lineStarts[i] && text.charAt(end - 1) == '\n') {
+                end--;
+            }
+            if (end > lineStarts[i] && text.charAt(end - 1) == '\r') {
+                end--;
+            }
+            textLines[i] = text.substring(lineStarts[i], end);
         }
-        return buf.toString();
+        return textLines;
     }
 
     /**
@@ -272,42 +319,19 @@ public final class FileText extends AbstractList<String> {
         return lines.clone();
     }
 
-    /**
-     * Find positions of line breaks in the full text.
-     * @return an array giving the first positions of each line.
-     */
-    private int[] findLineBreaks() {
-        if (lineBreaks == null) {
-            final int[] lineBreakPositions = new int[size() + 1];
-            lineBreakPositions[0] = 0;
-            int lineNo = 1;
-            final Matcher matcher = LINE_TERMINATOR.matcher(fullText);
-            while (matcher.find()) {
-                lineBreakPositions[lineNo] = matcher.end();
-                lineNo++;
-            }
-            if (lineNo < lineBreakPositions.length) {
-                lineBreakPositions[lineNo] = fullText.length();
-            }
-            lineBreaks = lineBreakPositions;
-        }
-        return lineBreaks;
-    }
-
     /**
      * Determine line and column numbers in full text.
      * @param pos the character position in the full text
      * @return the line and column numbers of this character
      */
     public LineColumn lineColumn(int pos) {
-        final int[] lineBreakPositions = findLineBreaks();
-        int lineNo = Arrays.binarySearch(lineBreakPositions, pos);
+        int lineNo = Arrays.binarySearch(lineBreaks, pos);
         if (lineNo < 0) {
             // we have: lineNo = -(insertion point) - 1
             // we want: lineNo =  (insertion point) - 1
             lineNo = -lineNo - 2;
         }
-        final int startOfLine = lineBreakPositions[lineNo];
+        final int startOfLine = lineBreaks[lineNo];
         final int columnNo = pos - startOfLine;
         // now we have lineNo and columnNo, both starting at zero.
         return new LineColumn(lineNo + 1, columnNo);
@@ -28,8 +28,6 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.text.MessageFormat;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.MissingResourceException;
@@ -37,6 +35,10 @@ import java.util.Objects;
 import java.util.PropertyResourceBundle;
 import java.util.ResourceBundle;
 import java.util.ResourceBundle.Control;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 /**
  * Represents a message that can be localised. The translations come from
@@ -54,8 +56,21 @@ public final class LocalizedMessage
      * A cache that maps bundle names to ResourceBundles.
      * Avoids repetitive calls to ResourceBundle.getBundle().
      */
-    private static final Map<String, ResourceBundle> BUNDLE_CACHE =
-        Collections.synchronizedMap(new HashMap<>());
+    private static final Map<String, ResourceBundle> BUNDLE_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum number of cached formats, messages that are logged
+     * directly by checks can create any number of patterns.
+     */
+    private static final int MAX_CACHED_FORMATS = 1024;
+
+    /**
+     * A cache that maps message patterns to parsed formats, dropping the
+     * least recently used formats when it is full. Lookups take no lock.
+     * Avoids parsing the same pattern for every message.
+     */
+    private static final Cache<String, MessageFormat> FORMAT_CACHE =
+        CacheBuilder.newBuilder().maximumSize(MAX_CACHED_FORMATS).build();
 
     /** The default severity level if one is not specified. */
     private static final SeverityLevel DEFAULT_SEVERITY = SeverityLevel.ERROR;
@@ -89,6 +104,9 @@ public final class LocalizedMessage
     /** A custom message overriding the default message from the bundle. */
     private final String customMessage;
 
+    /** The translated message, formatted on first use for its locale. */
+    private transient TranslatedMessage message;
+
     /**
      * Creates a new {@code LocalizedMessage} instance.
      *
@@ -239,38 +257,51 @@ public final class LocalizedMessage
 
     /** Clears the cache. */
     public static void clearCache() {
-        synchronized (BUNDLE_CACHE) {
-            BUNDLE_CACHE.clear();
-        }
+        BUNDLE_CACHE.clear();
+        FORMAT_CACHE.invalidateAll();
     }
 
     /**
-     * Gets the translated message.
+     * Gets the translated message. The message is formatted once and
+     * reused for later calls until the locale is changed.
      * @return the translated message
      */
     public String getMessage() {
-        String message = getCustomMessage();
+        final Locale locale = sLocale;
+        TranslatedMessage result = message;
+        if (result == null || result.locale != locale) {
+            result = new TranslatedMessage(locale, formatMessage());
+            message = result;
+        }
+        return result.text;
+    }
 
-        if (message == null) {
+    /**
+     * Formats the translated message.
+     * @return the translated message
+     */
+    private String formatMessage() {
+        String result = formatCustomMessage();
+
+        if (result == null) {
+            String pattern;
             try {
                 // Important to use the default class loader, and not the one in
                 // the GlobalProperties object. This is because the class loader in
                 // the GlobalProperties is specified by the user for resolving
                 // custom classes.
                 final ResourceBundle resourceBundle = getBundle(bundle);
-                final String pattern = resourceBundle.getString(key);
-                final MessageFormat formatter = new MessageFormat(pattern, Locale.ROOT);
-                message = formatter.format(args);
+                pattern = resourceBundle.getString(key);
             }
             catch (final MissingResourceException ignored) {
                 // If the Check author didn't provide i18n resource bundles
                 // and logs error messages directly, this will return
                 // the author's original message
-                final MessageFormat formatter = new MessageFormat(key, Locale.ROOT);
-                message = formatter.format(args);
+                pattern = key;
             }
+            result = format(pattern, args);
         }
-        return message;
+        return result;
     }
 
     /**
@@ -278,13 +309,28 @@ public final class LocalizedMessage
      * @return the formatted custom message or {@code null}
      *          if there is no custom message
      */
-    private String getCustomMessage() {
+    private String formatCustomMessage() {
 
         if (customMessage == null) {
             return null;
         }
-        final MessageFormat formatter = new MessageFormat(customMessage, Locale.ROOT);
-        return formatter.format(args);
+        return format(customMessage, args);
+    }
+
+    /**
+     * Formats arguments with a pattern. Parsed patterns are cached,
+     * each call formats with a copy because formats are not thread safe.
+     * @param pattern the pattern for MessageFormat
+     * @param arguments the arguments to format
+     * @return the formatted message
+     */
+    private static String format(String pattern, Object... arguments) {
+        MessageFormat formatter = FORMAT_CACHE.getIfPresent(pattern);
+        if (formatter == null) {
+            formatter = new MessageFormat(pattern, Locale.ROOT);
+            FORMAT_CACHE.put(pattern, formatter);
+        }
+        return ((MessageFormat) formatter.clone()).format(arguments);
     }
 
     /**
@@ -295,16 +341,13 @@ public final class LocalizedMessage
      * @return a ResourceBundle
      */
     private ResourceBundle getBundle(String bundleName) {
-        synchronized (BUNDLE_CACHE) {
-            ResourceBundle resourceBundle = BUNDLE_CACHE
-                    .get(bundleName);
-            if (resourceBundle == null) {
-                resourceBundle = ResourceBundle.getBundle(bundleName, sLocale,
-                        sourceClass.getClassLoader(), new Utf8Control());
-                BUNDLE_CACHE.put(bundleName, resourceBundle);
-            }
-            return resourceBundle;
+        ResourceBundle resourceBundle = BUNDLE_CACHE.get(bundleName);
+        if (resourceBundle == null) {
+            resourceBundle = ResourceBundle.getBundle(bundleName, sLocale,
+                    sourceClass.getClassLoader(), new Utf8Control());
+            BUNDLE_CACHE.put(bundleName, resourceBundle);
         }
+        return resourceBundle;
     }
 
     /**
@@ -348,6 +391,34 @@ public final class LocalizedMessage
         return key;
     }
 
+    /**
+     * Gets the name of the resource bundle to get the message from.
+     * @return the bundle name
+     */
+    public String getBundleName() {
+        return bundle;
+    }
+
+    /**
+     * Gets the arguments for the translation.
+     * @return a copy of the arguments, or {@code null} if there are none
+     */
+    public Object[] getArgs() {
+        Object[] result = null;
+        if (args != null) {
+            result = Arrays.copyOf(args, args.length);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the custom message overriding the default message from the bundle.
+     * @return the custom message pattern, or {@code null} if there is none
+     */
+    public String getCustomMessage() {
+        return customMessage;
+    }
+
     /**
      * Gets the name of the source for this LocalizedMessage.
      * @return the name of the source for this LocalizedMessage
@@ -357,16 +428,22 @@ public final class LocalizedMessage
     }
 
     /**
-     * Sets a locale to use for localization.
+     * Sets a locale to use for localization. Bundles loaded for another
+     * locale are dropped, and messages are translated again when requested.
      * @param locale the locale to use for localization
      */
     public static void setLocale(Locale locale) {
+        final Locale newLocale;
         if (Locale.ENGLISH.getLanguage().equals(locale.getLanguage())) {
-            sLocale = Locale.ROOT;
+            newLocale = Locale.ROOT;
         }
         else {
-            sLocale = locale;
+            newLocale = locale;
+        }
+        if (!newLocale.equals(sLocale)) {
+            BUNDLE_CACHE.clear();
         }
+        sLocale = newLocale;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -388,6 +465,27 @@ public final class LocalizedMessage
         return result;
     }
 
+    /**
+     * A message translated to a locale.
+     */
+    private static final class TranslatedMessage {
+        /** The locale the message was translated to. */
+        private final Locale locale;
+
+        /** The translated message. */
+        private final String text;
+
+        /**
+         * Creates a new instance.
+         * @param locale the locale the message was translated to
+         * @param text the translated message
+         */
+        TranslatedMessage(Locale locale, String text) {
+            this.locale = locale;
+            this.text = text;
+        }
+    }
+
     /**
      * <p>
      * Custom ResourceBundle.Control implementation which allows explicitly read
@@ -19,29 +19,42 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import com.google.common.collect.ImmutableSortedSet;
+
 /**
- * Collection of messages.
+ * Collection of messages. Messages are appended as they are logged and only
+ * sorted, with duplicates removed, when they are requested, so that
+ * messages of several checks can be collected cheaply in one instance.
  * @author Oliver Burn
  */
 public final class LocalizedMessages {
     /** Contains the messages logged. **/
-    private final Set<LocalizedMessage> messages = new TreeSet<>();
+    private final List<LocalizedMessage> messages = new ArrayList<>();
+
+    /** Whether the messages are sorted and contain no duplicates. */
+    private boolean normalized = true;
 
     /**
-     * Gets the logged messages.
+     * Gets the logged messages. The returned set is a copy that may be
+     * changed by the caller. As the messages are already sorted, the tree
+     * of the set is built in linear time without comparing them again.
      * @return the logged messages
      */
     public SortedSet<LocalizedMessage> getMessages() {
-        return new TreeSet<>(messages);
+        normalize();
+        return new TreeSet<>(ImmutableSortedSet.copyOf(messages));
     }
 
     /** Reset the object. **/
     public void reset() {
         messages.clear();
+        normalized = true;
     }
 
     /**
@@ -49,14 +62,53 @@ public final class LocalizedMessages {
      * @param message the message to log
      **/
     public void add(LocalizedMessage message) {
+        if (normalized && !messages.isEmpty()
+                && messages.get(messages.size() - 1).compareTo(message) >= 0) {
+            normalized = false;
+        }
         messages.add(message);
     }
 
+    /**
+     * Moves all messages of this collection to another one, which is
+     * cheaper than getting and adding them one by one.
+     * @param target the collection to add the messages to
+     */
+    public void drainTo(LocalizedMessages target) {
+        if (!messages.isEmpty()) {
+            target.normalized = target.messages.isEmpty() && normalized;
+            target.messages.addAll(messages);
+            reset();
+        }
+    }
+
     /**
      * Gets the number of messages.
      * @return the number of messages
      */
     public int size() {
+        normalize();
         return messages.size();
     }
+
+    /**
+     * Sorts the messages and removes duplicates, keeping the message which
+     * was logged first. The sort is stable and messages of a single check
+     * are usually logged in order, so this mostly merges sorted runs.
+     */
+    private void normalize() {
+        if (!normalized) {
+            Collections.sort(messages);
+            int last = 0;
+            for (int i = 1; i < messages.size(); i++) {
+                final LocalizedMessage message = messages.get(i);
+                if (messages.get(last).compareTo(message) != 0) {
+                    last++;
+                    messages.set(last, message);
+                }
+            }
+            messages.subList(last + 1, messages.size()).clear();
+            normalized = true;
+        }
+    }
 }
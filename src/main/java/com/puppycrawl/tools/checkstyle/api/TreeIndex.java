@@ -0,0 +1,266 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.api;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Index of the nodes of a tree in document order. The nodes of each branch
+ * have consecutive positions, starting with the root of the branch, so a
+ * branch contains a token type if the index has a node of that type
+ * between the first and the last position of the branch. The index is
+ * built in one pass over the tree and has to be built again after the
+ * tree has changed.
+ *
+ * @author the original author or authors.
+ */
+final class TreeIndex {
+
+    /** Positions of token types without nodes. */
+    private static final int[] EMPTY_POSITIONS = new int[0];
+
+    /** The nodes of the tree in document order. */
+    private final DetailAST[] nodes;
+
+    /** The last position of the branch of the node at each position. */
+    private final int[] branchEnds;
+
+    /**
+     * The positions of the nodes of each token type in ascending order,
+     * indexed by the token type. {@code null} for types without nodes.
+     */
+    private final int[][] positionsByType;
+
+    /** Whether the tree has changed since the index was built. */
+    private boolean stale;
+
+    /**
+     * Creates an index of the given nodes.
+     * @param nodes the nodes of the tree in document order.
+     * @param typeCount one more than the largest token type in the tree.
+     */
+    private TreeIndex(DetailAST[] nodes, int typeCount) {
+        this.nodes = nodes;
+        branchEnds = new int[nodes.length];
+        positionsByType = new int[typeCount][];
+    }
+
+    /**
+     * Builds the index of the tree that starts with the given node and
+     * assigns it to all nodes of the tree. The tree consists of the node,
+     * its following siblings and all their descendants.
+     * @param root the first node of the tree.
+     */
+    public static void build(DetailAST root) {
+        final List<DetailAST> nodeList = collectNodes(root);
+        int maxType = 0;
+        for (DetailAST node : nodeList) {
+            maxType = Math.max(maxType, node.getType());
+        }
+        final TreeIndex index = new TreeIndex(
+            nodeList.toArray(new DetailAST[nodeList.size()]), maxType + 1);
+        final int[] typeCounts = new int[maxType + 1];
+        for (int position = 0; position < index.nodes.length; position++) {
+            final DetailAST node = index.nodes[position];
+            node.setTreeIndex(index, position);
+            typeCounts[node.getType()]++;
+        }
+        for (int position = index.nodes.length - 1; position >= 0; position--) {
+            final DetailAST lastChild = index.nodes[position].getLastChild();
+            if (lastChild == null) {
+                index.branchEnds[position] = position;
+            }
+            else {
+                index.branchEnds[position] = index.branchEnds[lastChild.getTreeIndexPosition()];
+            }
+        }
+        index.fillPositionsByType(typeCounts);
+    }
+
+    /**
+     * Collects the nodes of a tree in document order.
+     * @param root the first node of the tree.
+     * @return the nodes of the tree.
+     */
+    private static List<DetailAST> collectNodes(DetailAST root) {
+        final List<DetailAST> nodeList = new ArrayList<>();
+        final Deque<DetailAST> followingSiblings = new ArrayDeque<>();
+        DetailAST node = root;
+        while (node != null) {
+            nodeList.add(node);
+            DetailAST next = node.getFirstChild();
+            if (next == null) {
+                next = node.getNextSibling();
+            }
+            else if (node.getNextSibling() != null) {
+                followingSiblings.push(node.getNextSibling());
+            }
+            if (next == null) {
+                next = followingSiblings.poll();
+            }
+            node = next;
+        }
+        return nodeList;
+    }
+
+    /**
+     * Fills the positions of the nodes of each token type.
+     * @param typeCounts the number of nodes of each token type.
+     */
+    private void fillPositionsByType(int[] typeCounts) {
+        for (int type = 0; type < typeCounts.length; type++) {
+            if (typeCounts[type] > 0) {
+                positionsByType[type] = new int[typeCounts[type]];
+            }
+        }
+        final int[] filled = new int[typeCounts.length];
+        for (int position = 0; position < nodes.length; position++) {
+            final int type = nodes[position].getType();
+            positionsByType[type][filled[type]] = position;
+            filled[type]++;
+        }
+    }
+
+    /**
+     * Checks whether the branch of the node at a position contains a node
+     * of the given token type.
+     * @param position the position of the root of the branch.
+     * @param type the token type.
+     * @return true if the branch contains a node of the type.
+     */
+    public boolean branchContains(int position, int type) {
+        final int[] positions = getPositions(type);
+        int next = Arrays.binarySearch(positions, position);
+        if (next < 0) {
+            next = -next - 1;
+        }
+        return next < positions.length && positions[next] <= branchEnds[position];
+    }
+
+    /**
+     * Returns the nodes of the given token types in document order.
+     * @param types the token types.
+     * @return an unmodifiable list of the nodes.
+     */
+    public List<DetailAST> getNodesOfTypes(int... types) {
+        final List<DetailAST> result;
+        if (types.length == 1) {
+            result = getNodes(getPositions(types[0]));
+        }
+        else {
+            int count = 0;
+            for (int type : types) {
+                count += getPositions(type).length;
+            }
+            final int[] positions = new int[count];
+            int filled = 0;
+            for (int type : types) {
+                final int[] typePositions = getPositions(type);
+                System.arraycopy(typePositions, 0, positions, filled, typePositions.length);
+                filled += typePositions.length;
+            }
+            Arrays.sort(positions);
+            result = getNodes(positions);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the positions of the nodes of a token type.
+     * @param type the token type.
+     * @return the positions in ascending order, empty for unknown types.
+     */
+    private int[] getPositions(int type) {
+        int[] positions = EMPTY_POSITIONS;
+        if (type >= 0 && type < positionsByType.length && positionsByType[type] != null) {
+            positions = positionsByType[type];
+        }
+        return positions;
+    }
+
+    /**
+     * Returns a view of the nodes at the given positions.
+     * @param positions the positions of the nodes.
+     * @return an unmodifiable list of the nodes.
+     */
+    private List<DetailAST> getNodes(int... positions) {
+        final List<DetailAST> result;
+        if (positions.length == 0) {
+            result = Collections.emptyList();
+        }
+        else {
+            result = new NodeList(nodes, positions);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the tree has changed since the index was built.
+     * @return true if the index has to be built again.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /** Marks the index as outdated after the tree has changed. */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Unmodifiable list of the nodes at some positions of the index.
+     */
+    private static final class NodeList extends AbstractList<DetailAST>
+            implements RandomAccess {
+
+        /** The nodes of the tree in document order. */
+        private final DetailAST[] nodes;
+
+        /** The positions of the nodes of the list. */
+        private final int[] positions;
+
+        /**
+         * Creates a list of the nodes at the given positions.
+         * @param nodes the nodes of the tree in document order.
+         * @param positions the positions of the nodes of the list.
+         */
+        NodeList(DetailAST[] nodes, int... positions) {
+            this.nodes = nodes;
+            this.positions = positions;
+        }
+
+        @Override
+        public DetailAST get(int index) {
+            return nodes[positions[index]];
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
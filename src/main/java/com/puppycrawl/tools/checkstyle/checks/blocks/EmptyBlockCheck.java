@@ -25,6 +25,7 @@ import org.apache.commons.beanutils.ConversionException;
 
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
@@ -193,11 +194,11 @@ public class EmptyBlockCheck
         final int slistColNo = slistAST.getColumnNo();
         final int rcurlyLineNo = rcurlyAST.getLineNo();
         final int rcurlyColNo = rcurlyAST.getColumnNo();
-        final String[] lines = getLines();
+        final FileText lines = getFileContents().getText();
         boolean returnValue = false;
         if (slistLineNo == rcurlyLineNo) {
             // Handle braces on the same line
-            final String txt = lines[slistLineNo - 1]
+            final String txt = lines.get(slistLineNo - 1)
                     .substring(slistColNo + 1, rcurlyColNo);
             if (!CommonUtils.isBlank(txt)) {
                 returnValue = true;
@@ -205,8 +206,8 @@ public class EmptyBlockCheck
         }
         else {
             // check only whitespace of first & last lines
-            if (lines[slistLineNo - 1].substring(slistColNo + 1).trim().isEmpty()
-                    && lines[rcurlyLineNo - 1].substring(0, rcurlyColNo).trim().isEmpty()) {
+            if (lines.get(slistLineNo - 1).substring(slistColNo + 1).trim().isEmpty()
+                    && lines.get(rcurlyLineNo - 1).substring(0, rcurlyColNo).trim().isEmpty()) {
                 // check if all lines are also only whitespace
                 returnValue = !checkIsAllLinesAreWhitespace(lines, slistLineNo, rcurlyLineNo);
             }
@@ -221,17 +222,17 @@ public class EmptyBlockCheck
      * Checks is all lines in array contain whitespaces only.
      *
      * @param lines
-     *            array of lines
+     *            the lines of the file
      * @param lineFrom
      *            check from this line number
      * @param lineTo
      *            check to this line numbers
      * @return true if lines contain only whitespaces
      */
-    private static boolean checkIsAllLinesAreWhitespace(String[] lines, int lineFrom, int lineTo) {
+    private static boolean checkIsAllLinesAreWhitespace(FileText lines, int lineFrom, int lineTo) {
         boolean result = true;
         for (int i = lineFrom; i < lineTo - 1; i++) {
-            if (!lines[i].trim().isEmpty()) {
+            if (!lines.get(i).trim().isEmpty()) {
                 result = false;
                 break;
             }
@@ -24,6 +24,7 @@ import java.util.regex.Pattern;
 
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 
 /**
@@ -327,7 +328,7 @@ public class FallThroughCheck extends AbstractCheck {
         // Remember: The lines number returned from the AST is 1-based, but
         // the lines number in this array are 0-based. So you will often
         // see a "lineNo-1" etc.
-        final String[] lines = getLines();
+        final FileText lines = getFileContents().getText();
 
         // Handle:
         //    case 1:
@@ -338,7 +339,7 @@ public class FallThroughCheck extends AbstractCheck {
         //    default:
         //    /+ FALLTHRU +/}
         //
-        final String linePart = lines[endLineNo - 1].substring(0, endColNo);
+        final String linePart = lines.get(endLineNo - 1).substring(0, endColNo);
         if (matchesComment(regExp, linePart, endLineNo)) {
             allThroughComment = true;
         }
@@ -356,8 +357,8 @@ public class FallThroughCheck extends AbstractCheck {
             //    }
             final int startLineNo = currentCase.getLineNo();
             for (int i = endLineNo - 2; i > startLineNo - 1; i--) {
-                if (!lines[i].trim().isEmpty()) {
-                    allThroughComment = matchesComment(regExp, lines[i], i + 1);
+                if (!lines.get(i).trim().isEmpty()) {
+                    allThroughComment = matchesComment(regExp, lines.get(i), i + 1);
                     break;
                 }
             }
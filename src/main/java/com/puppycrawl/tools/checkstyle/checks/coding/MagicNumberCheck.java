@@ -205,6 +205,11 @@ public class MagicNumberCheck extends AbstractCheck {
         return CommonUtils.EMPTY_INT_ARRAY;
     }
 
+    @Override
+    public boolean isIndexDriven() {
+        return true;
+    }
+
     @Override
     public void visitToken(DetailAST ast) {
         if ((!ignoreAnnotation || !isChildOf(ast, TokenTypes.ANNOTATION))
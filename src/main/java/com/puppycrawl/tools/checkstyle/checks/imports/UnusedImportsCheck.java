@@ -25,6 +25,7 @@ import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.puppycrawl.tools.checkstyle.JavadocTreeStore;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FileContents;
@@ -32,6 +33,7 @@ import com.puppycrawl.tools.checkstyle.api.FullIdent;
 import com.puppycrawl.tools.checkstyle.api.TextBlock;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocTag;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocTags;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
 
@@ -80,6 +82,8 @@ public class UnusedImportsCheck extends AbstractCheck {
     private boolean collect;
     /** Flag whether to process Javadoc comments. */
     private boolean processJavadoc = true;
+    /** Parsed Javadoc comments shared by the checks of a TreeWalker, if set. */
+    private JavadocTreeStore javadocTreeStore;
 
     /**
      * Sets whether to process JavaDoc or not.
@@ -90,6 +94,15 @@ public class UnusedImportsCheck extends AbstractCheck {
         processJavadoc = value;
     }
 
+    /**
+     * Sets the store of parsed Javadoc comments that is shared by the checks
+     * of a TreeWalker.
+     * @param javadocTreeStore the store of parsed Javadoc comments
+     */
+    public void setJavadocTreeStore(JavadocTreeStore javadocTreeStore) {
+        this.javadocTreeStore = javadocTreeStore;
+    }
+
     @Override
     public void beginTree(DetailAST rootAST) {
         collect = false;
@@ -231,7 +244,7 @@ public class UnusedImportsCheck extends AbstractCheck {
      * @param textBlock The javadoc block to parse
      * @return a set of classes referenced in the javadoc block
      */
-    private static Set<String> collectReferencesFromJavadoc(TextBlock textBlock) {
+    private Set<String> collectReferencesFromJavadoc(TextBlock textBlock) {
         final Set<String> references = new HashSet<>();
         // process all the @link type tags
         // INLINE tags inside BLOCKs get hidden when using ALL
@@ -251,9 +264,16 @@ public class UnusedImportsCheck extends AbstractCheck {
      * @param tagType The type of tags we're interested in
      * @return the list of tags
      */
-    private static List<JavadocTag> getValidTags(TextBlock cmt,
+    private List<JavadocTag> getValidTags(TextBlock cmt,
             JavadocUtils.JavadocTagType tagType) {
-        return JavadocUtils.getJavadocTags(cmt, tagType).getValidTags();
+        final JavadocTags tags;
+        if (javadocTreeStore == null) {
+            tags = JavadocUtils.getJavadocTags(cmt, tagType);
+        }
+        else {
+            tags = javadocTreeStore.getJavadocTags(cmt, tagType);
+        }
+        return tags.getValidTags();
     }
 
     /**
@@ -25,6 +25,7 @@ import java.util.Locale;
 
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
@@ -748,10 +749,10 @@ public class CommentsIndentationCheck extends AbstractCheck {
      */
     private int countEmptyLines(DetailAST startStatement, DetailAST endStatement) {
         int emptyLinesNumber = 0;
-        final String[] lines = getLines();
+        final FileText lines = getFileContents().getText();
         final int endLineNo = endStatement.getLineNo();
         for (int lineNo = startStatement.getLineNo(); lineNo < endLineNo; lineNo++) {
-            if (CommonUtils.isBlank(lines[lineNo])) {
+            if (CommonUtils.isBlank(lines.get(lineNo))) {
                 emptyLinesNumber++;
             }
         }
@@ -899,7 +900,7 @@ public class CommentsIndentationCheck extends AbstractCheck {
      * @return the column number where a code starts.
      */
     private int getLineStart(int lineNo) {
-        final char[] line = getLines()[lineNo - 1].toCharArray();
+        final char[] line = getLine(lineNo - 1).toCharArray();
         int lineStart = 0;
         while (Character.isWhitespace(line[lineStart])) {
             lineStart++;
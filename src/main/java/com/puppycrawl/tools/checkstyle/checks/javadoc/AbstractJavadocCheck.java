@@ -20,15 +20,14 @@
 package com.puppycrawl.tools.checkstyle.checks.javadoc;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
 
 import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser;
 import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseErrorMessage;
 import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseStatus;
+import com.puppycrawl.tools.checkstyle.JavadocTreeStore;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.DetailNode;
@@ -77,21 +76,16 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
             JavadocDetailNodeParser.MSG_KEY_UNRECOGNIZED_ANTLR_ERROR;
 
     /**
-     * Key is "line:column". Value is {@link DetailNode} tree. Map is stored in {@link ThreadLocal}
-     * to guarantee basic thread safety and avoid shared, mutable state when not necessary.
+     * Parsed Javadoc comments of the current file, shared by all checks of
+     * the TreeWalker.
      */
-    private static final ThreadLocal<Map<String, ParseStatus>> TREE_CACHE =
-        new ThreadLocal<Map<String, ParseStatus>>() {
-            @Override
-            protected Map<String, ParseStatus> initialValue() {
-                return new HashMap<>();
-            }
-        };
+    private JavadocTreeStore javadocTreeStore;
 
     /**
-     * Parses content of Javadoc comment as DetailNode tree.
+     * Whether the store of parsed comments is owned by this check, because
+     * it is not run by a TreeWalker, and has to be cleared for every tree.
      */
-    private final JavadocDetailNodeParser parser = new JavadocDetailNodeParser();
+    private boolean ownJavadocTreeStore;
 
     /** The javadoc tokens the check is interested in. */
     private final Set<Integer> javadocTokens = new HashSet<>();
@@ -140,6 +134,15 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
         return CommonUtils.EMPTY_INT_ARRAY;
     }
 
+    /**
+     * Sets the store of parsed Javadoc comments that is shared by the checks
+     * of a TreeWalker.
+     * @param javadocTreeStore the store of parsed Javadoc comments
+     */
+    public final void setJavadocTreeStore(JavadocTreeStore javadocTreeStore) {
+        this.javadocTreeStore = javadocTreeStore;
+    }
+
     /**
      * Adds a set of tokens the check is interested in.
      * @param strRep the string representation of the tokens interested in
@@ -241,12 +244,20 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
 
     @Override
     public final void beginTree(DetailAST rootAST) {
-        TREE_CACHE.get().clear();
+        if (javadocTreeStore == null) {
+            javadocTreeStore = new JavadocTreeStore();
+            ownJavadocTreeStore = true;
+        }
+        if (ownJavadocTreeStore) {
+            javadocTreeStore.clear();
+        }
     }
 
     @Override
     public final void finishTree(DetailAST rootAST) {
-        TREE_CACHE.get().clear();
+        if (ownJavadocTreeStore) {
+            javadocTreeStore.clear();
+        }
     }
 
     @Override
@@ -256,18 +267,7 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
             // store as field, to share with child Checks
             blockCommentAst = blockCommentNode;
 
-            final String treeCacheKey = blockCommentNode.getLineNo() + ":"
-                    + blockCommentNode.getColumnNo();
-
-            final ParseStatus result;
-
-            if (TREE_CACHE.get().containsKey(treeCacheKey)) {
-                result = TREE_CACHE.get().get(treeCacheKey);
-            }
-            else {
-                result = parser.parseJavadocAsDetailNode(blockCommentNode);
-                TREE_CACHE.get().put(treeCacheKey, result);
-            }
+            final ParseStatus result = javadocTreeStore.getParseStatus(blockCommentNode);
 
             if (result.getParseErrorMessage() == null) {
                 processTree(result.getTree());
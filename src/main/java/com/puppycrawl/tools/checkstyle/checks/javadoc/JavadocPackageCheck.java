@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import com.puppycrawl.tools.checkstyle.GlobalStatefulCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
 
 /**
@@ -31,6 +32,7 @@ import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
  * for more information.
  * @author Oliver Burn
  */
+@GlobalStatefulCheck
 public class JavadocPackageCheck extends AbstractFileSetCheck {
 
     /**
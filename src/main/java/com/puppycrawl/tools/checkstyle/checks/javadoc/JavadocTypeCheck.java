@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.puppycrawl.tools.checkstyle.JavadocTreeStore;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FileContents;
@@ -116,6 +117,9 @@ public class JavadocTypeCheck
     /** Controls whether to flag errors for unknown tags. Defaults to false. */
     private boolean allowUnknownTags;
 
+    /** Parsed Javadoc comments shared by the checks of a TreeWalker, if set. */
+    private JavadocTreeStore javadocTreeStore;
+
     /**
      * Sets the scope to check.
      * @param from string to set scope from
@@ -168,6 +172,15 @@ public class JavadocTypeCheck
         allowUnknownTags = flag;
     }
 
+    /**
+     * Sets the store of parsed Javadoc comments that is shared by the checks
+     * of a TreeWalker.
+     * @param javadocTreeStore the store of parsed Javadoc comments
+     */
+    public void setJavadocTreeStore(JavadocTreeStore javadocTreeStore) {
+        this.javadocTreeStore = javadocTreeStore;
+    }
+
     @Override
     public int[] getDefaultTokens() {
         return getAcceptableTokens();
@@ -255,8 +268,13 @@ public class JavadocTypeCheck
      * @return all standalone tags from the given javadoc.
      */
     private List<JavadocTag> getJavadocTags(TextBlock textBlock) {
-        final JavadocTags tags = JavadocUtils.getJavadocTags(textBlock,
-            JavadocUtils.JavadocTagType.BLOCK);
+        final JavadocTags tags;
+        if (javadocTreeStore == null) {
+            tags = JavadocUtils.getJavadocTags(textBlock, JavadocUtils.JavadocTagType.BLOCK);
+        }
+        else {
+            tags = javadocTreeStore.getJavadocTags(textBlock, JavadocUtils.JavadocTagType.BLOCK);
+        }
         if (!allowUnknownTags) {
             for (final InvalidJavadocTag tag : tags.getInvalidTags()) {
                 log(tag.getLine(), tag.getCol(), MSG_UNKNOWN_TAG,
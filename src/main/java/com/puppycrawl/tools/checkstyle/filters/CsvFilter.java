@@ -19,8 +19,12 @@
 
 package com.puppycrawl.tools.checkstyle.filters;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.StringTokenizer;
@@ -37,6 +41,12 @@ class CsvFilter implements IntFilter {
     /** Filter set. */
     private final Set<IntFilter> filters = new HashSet<>();
 
+    /**
+     * Sorted disjoint intervals of the filters as pairs of lower and
+     * upper bounds, null if filters were added after construction.
+     */
+    private int[] intervals;
+
     /**
      * Constructs a {@code CsvFilter} from a CSV, Comma-Separated Values,
      * string. Each value is an integer, or a range of integers. A range of
@@ -47,6 +57,7 @@ class CsvFilter implements IntFilter {
      *     contain a parsable integer.
      */
     CsvFilter(String pattern) {
+        final List<int[]> ranges = new ArrayList<>();
         final StringTokenizer tokenizer = new StringTokenizer(pattern, ",");
         while (tokenizer.hasMoreTokens()) {
             final String token = tokenizer.nextToken().trim();
@@ -54,6 +65,7 @@ class CsvFilter implements IntFilter {
             if (index == -1) {
                 final int matchValue = Integer.parseInt(token);
                 addFilter(new IntMatchFilter(matchValue));
+                ranges.add(new int[] {matchValue, matchValue});
             }
             else {
                 final int lowerBound =
@@ -61,8 +73,33 @@ class CsvFilter implements IntFilter {
                 final int upperBound =
                     Integer.parseInt(token.substring(index + 1));
                 addFilter(new IntRangeFilter(lowerBound, upperBound));
+                ranges.add(new int[] {lowerBound, upperBound});
             }
         }
+        createIntervals(ranges);
+    }
+
+    /**
+     * Merges ranges into sorted disjoint intervals.
+     * @param ranges lower and upper bounds of the ranges.
+     */
+    private void createIntervals(List<int[]> ranges) {
+        ranges.sort(Comparator.comparingInt(range -> range[0]));
+        final int[] bounds = new int[ranges.size() * 2];
+        int count = 0;
+        for (int[] range : ranges) {
+            if (range[0] <= range[1]) {
+                if (count > 0 && range[0] <= bounds[count - 1]) {
+                    bounds[count - 1] = Math.max(bounds[count - 1], range[1]);
+                }
+                else {
+                    bounds[count] = range[0];
+                    bounds[count + 1] = range[1];
+                    count += 2;
+                }
+            }
+        }
+        intervals = Arrays.copyOf(bounds, count);
     }
 
     /**
@@ -71,6 +108,7 @@ class CsvFilter implements IntFilter {
      */
     public final void addFilter(IntFilter filter) {
         filters.add(filter);
+        intervals = null;
     }
 
     /**
@@ -88,12 +126,31 @@ class CsvFilter implements IntFilter {
      */
     @Override
     public boolean accept(int intValue) {
-        for (IntFilter filter : getFilters()) {
-            if (filter.accept(intValue)) {
-                return true;
+        boolean result = false;
+        if (intervals == null) {
+            for (IntFilter filter : getFilters()) {
+                if (filter.accept(intValue)) {
+                    result = true;
+                    break;
+                }
+            }
+        }
+        else {
+            // index of the last lower bound that is not greater than the value
+            int low = 0;
+            int high = intervals.length / 2 - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                if (intervals[middle * 2] <= intValue) {
+                    result = intValue <= intervals[middle * 2 + 1];
+                    low = middle + 1;
+                }
+                else {
+                    high = middle - 1;
+                }
             }
         }
-        return false;
+        return result;
     }
 
     @Override
@@ -126,6 +126,30 @@ public class SuppressElement
         }
     }
 
+    /**
+     * Getter for the pattern for file names.
+     * @return the pattern for file names.
+     */
+    final String getFilePattern() {
+        return filePattern;
+    }
+
+    /**
+     * Getter for the pattern for check class names.
+     * @return the pattern for check class names or null.
+     */
+    final String getCheckPattern() {
+        return checkPattern;
+    }
+
+    /**
+     * Getter for the regexp to match check names against.
+     * @return the regexp to match check names against or null.
+     */
+    final Pattern getCheckRegexp() {
+        return checkRegexp;
+    }
+
     @Override
     public boolean accept(AuditEvent event) {
         // reject if file or check module mismatch?
@@ -133,10 +157,21 @@ public class SuppressElement
             return true;
         }
 
-        // reject if no line/column matching
-        return (lineFilter != null || columnFilter != null)
-                && (lineFilter == null || !lineFilter.accept(event.getLine()))
-                && (columnFilter == null || !columnFilter.accept(event.getColumn()));
+        return !isSuppressing(event);
+    }
+
+    /**
+     * Determines whether the event is rejected by module id, line and
+     * column of the event. File name and check name are not matched.
+     * @param event event with a file name and a message.
+     * @return true if the event is rejected.
+     */
+    final boolean isSuppressing(AuditEvent event) {
+        // reject if no line/column filter or any of them matches
+        return (moduleId == null || moduleId.equals(event.getModuleId()))
+                && (lineFilter == null && columnFilter == null
+                    || lineFilter != null && lineFilter.accept(event.getLine())
+                    || columnFilter != null && columnFilter.accept(event.getColumn()));
     }
 
     /**
@@ -148,7 +183,6 @@ public class SuppressElement
         return event.getFileName() == null
                 || !fileRegexp.matcher(event.getFileName()).find()
                 || event.getLocalizedMessage() == null
-                || moduleId != null && !moduleId.equals(event.getModuleId())
                 || checkRegexp != null && !checkRegexp.matcher(event.getSourceName()).find();
     }
 
@@ -23,7 +23,9 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -90,6 +92,12 @@ public class SuppressWithNearbyCommentFilter
     /** Tagged comments. */
     private final List<Tag> tags = new ArrayList<>();
 
+    /**
+     * Tags of the current file that can match events of a check,
+     * by check name and module id.
+     */
+    private final Map<String, Map<String, TagList>> tagLists = new HashMap<>();
+
     /** Whether to look for trigger in C-style comments. */
     private boolean checkC = true;
 
@@ -224,12 +232,17 @@ public class SuppressWithNearbyCommentFilter
      * @return true if event matches any tag from {@link #tags}, false otherwise.
      */
     private boolean matchesTag(AuditEvent event) {
-        for (final Tag tag : tags) {
-            if (tag.isMatch(event)) {
-                return true;
-            }
+        Map<String, TagList> moduleTagLists = tagLists.get(event.getSourceName());
+        if (moduleTagLists == null) {
+            moduleTagLists = new HashMap<>();
+            tagLists.put(event.getSourceName(), moduleTagLists);
+        }
+        TagList tagList = moduleTagLists.get(event.getModuleId());
+        if (tagList == null) {
+            tagList = new TagList(tags, event.getSourceName(), event.getModuleId());
+            moduleTagLists.put(event.getModuleId(), tagList);
         }
-        return false;
+        return tagList.matches(event);
     }
 
     /**
@@ -238,6 +251,7 @@ public class SuppressWithNearbyCommentFilter
      */
     private void tagSuppressions() {
         tags.clear();
+        tagLists.clear();
         final FileContents contents = getFileContents();
         if (checkCPP) {
             tagSuppressions(contents.getCppComments().values());
@@ -410,31 +424,158 @@ public class SuppressWithNearbyCommentFilter
         public boolean isMatch(AuditEvent event) {
             final int line = event.getLine();
             boolean match = false;
-
             if (line >= firstLine && line <= lastLine) {
-                final Matcher tagMatcher = tagCheckRegexp.matcher(event.getSourceName());
-
-                if (tagMatcher.find()) {
+                if (isCheckMatch(event.getSourceName())) {
                     match = true;
                 }
                 else if (tagMessageRegexp == null) {
                     if (event.getModuleId() != null) {
-                        final Matcher idMatcher = tagCheckRegexp.matcher(event.getModuleId());
-                        match = idMatcher.find();
+                        match = isCheckMatch(event.getModuleId());
                     }
                 }
                 else {
-                    final Matcher messageMatcher = tagMessageRegexp.matcher(event.getMessage());
-                    match = messageMatcher.find();
+                    match = isMessageMatch(event.getMessage());
                 }
             }
             return match;
         }
 
+        /**
+         * Gets the first line that the tag suppresses.
+         * @return the first line.
+         */
+        final int getFirstLine() {
+            return firstLine;
+        }
+
+        /**
+         * Gets the last line that the tag suppresses.
+         * @return the last line.
+         */
+        final int getLastLine() {
+            return lastLine;
+        }
+
+        /**
+         * Determines whether a check name or module id matches the text
+         * of this tag.
+         * @param name the check name or module id.
+         * @return true if the name matches the text of this tag.
+         */
+        final boolean isCheckMatch(String name) {
+            return tagCheckRegexp.matcher(name).find();
+        }
+
+        /**
+         * Determines whether a violation message matches the text of this tag.
+         * @param message the violation message.
+         * @return true if the tag has a message regexp and the message matches.
+         */
+        final boolean isMessageMatch(String message) {
+            return tagMessageRegexp != null && tagMessageRegexp.matcher(message).find();
+        }
+
+        /**
+         * Determines whether the tag matches events of other checks by
+         * their message.
+         * @return true if the tag has a message regexp.
+         */
+        final boolean hasMessageRegexp() {
+            return tagMessageRegexp != null;
+        }
+
         @Override
         public final String toString() {
             return "Tag[lines=[" + firstLine + " to " + lastLine
                 + "]; text='" + text + "']";
         }
     }
+
+    /**
+     * Tags of a file in order of their first line that can match events
+     * of one check.
+     */
+    private static final class TagList {
+
+        /** Tags that can match the events. */
+        private final Tag[] tags;
+
+        /** Whether the tag at the same index matches only events with matching message. */
+        private final boolean[] messageChecked;
+
+        /** The greatest last line of the tags up to the same index. */
+        private final int[] maxLastLines;
+
+        /**
+         * Selects the tags that match check name or module id.
+         * @param allTags tags of the file in order of their first line.
+         * @param sourceName the name of the check.
+         * @param moduleId the module id of the check or null.
+         */
+        TagList(List<Tag> allTags, String sourceName, String moduleId) {
+            final List<Tag> matchingTags = new ArrayList<>();
+            final List<Boolean> messageMatches = new ArrayList<>();
+            for (Tag tag : allTags) {
+                if (tag.isCheckMatch(sourceName)) {
+                    matchingTags.add(tag);
+                    messageMatches.add(Boolean.FALSE);
+                }
+                else if (tag.hasMessageRegexp()) {
+                    matchingTags.add(tag);
+                    messageMatches.add(Boolean.TRUE);
+                }
+                else if (moduleId != null && tag.isCheckMatch(moduleId)) {
+                    matchingTags.add(tag);
+                    messageMatches.add(Boolean.FALSE);
+                }
+            }
+            tags = matchingTags.toArray(new Tag[matchingTags.size()]);
+            messageChecked = new boolean[tags.length];
+            maxLastLines = new int[tags.length];
+            int maxLastLine = Integer.MIN_VALUE;
+            for (int i = 0; i < tags.length; i++) {
+                messageChecked[i] = messageMatches.get(i);
+                maxLastLine = Math.max(maxLastLine, tags[i].getLastLine());
+                maxLastLines[i] = maxLastLine;
+            }
+        }
+
+        /**
+         * Determines whether any tag suppresses the line of the event.
+         * @param event the {@code AuditEvent} to match.
+         * @return true if the event is suppressed.
+         */
+        boolean matches(AuditEvent event) {
+            final int line = event.getLine();
+            // index after the last tag that starts not after the line
+            int low = 0;
+            int high = tags.length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (tags[middle].getFirstLine() > line) {
+                    high = middle;
+                }
+                else {
+                    low = middle + 1;
+                }
+            }
+            // the message is formatted only if a tag needs it
+            String message = null;
+            boolean result = false;
+            for (int i = low - 1; !result && i >= 0 && maxLastLines[i] >= line; i--) {
+                if (tags[i].getLastLine() >= line) {
+                    if (messageChecked[i]) {
+                        if (message == null) {
+                            message = event.getMessage();
+                        }
+                        result = tags[i].isMessageMatch(message);
+                    }
+                    else {
+                        result = true;
+                    }
+                }
+            }
+            return result;
+        }
+    }
 }
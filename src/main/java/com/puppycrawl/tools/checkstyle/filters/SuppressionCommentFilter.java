@@ -23,7 +23,9 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -78,6 +80,12 @@ public class SuppressionCommentFilter
     /** Tagged comments. */
     private final List<Tag> tags = new ArrayList<>();
 
+    /**
+     * Tags of the current file that can match events of a check,
+     * by check name and module id.
+     */
+    private final Map<String, Map<String, TagList>> tagLists = new HashMap<>();
+
     /** Whether to look in comments of the C type. */
     private boolean checkC = true;
 
@@ -213,18 +221,17 @@ public class SuppressionCommentFilter
      * @return The {@code Tag} nearest event.
      */
     private Tag findNearestMatch(AuditEvent event) {
-        Tag result = null;
-        for (Tag tag : tags) {
-            if (tag.getLine() > event.getLine()
-                || tag.getLine() == event.getLine()
-                    && tag.getColumn() > event.getColumn()) {
-                break;
-            }
-            if (tag.isMatch(event)) {
-                result = tag;
-            }
+        Map<String, TagList> moduleTagLists = tagLists.get(event.getSourceName());
+        if (moduleTagLists == null) {
+            moduleTagLists = new HashMap<>();
+            tagLists.put(event.getSourceName(), moduleTagLists);
+        }
+        TagList tagList = moduleTagLists.get(event.getModuleId());
+        if (tagList == null) {
+            tagList = new TagList(tags, event.getSourceName(), event.getModuleId());
+            moduleTagLists.put(event.getModuleId(), tagList);
         }
-        return result;
+        return tagList.findNearestMatch(event);
     }
 
     /**
@@ -233,6 +240,7 @@ public class SuppressionCommentFilter
      */
     private void tagSuppressions() {
         tags.clear();
+        tagLists.clear();
         final FileContents contents = getFileContents();
         if (checkCPP) {
             tagSuppressions(contents.getCppComments().values());
@@ -445,27 +453,125 @@ public class SuppressionCommentFilter
          */
         public boolean isMatch(AuditEvent event) {
             boolean match = false;
-            final Matcher tagMatcher = tagCheckRegexp.matcher(event.getSourceName());
-            if (tagMatcher.find()) {
-                if (tagMessageRegexp == null) {
-                    match = true;
-                }
-                else {
-                    final Matcher messageMatcher = tagMessageRegexp.matcher(event.getMessage());
-                    match = messageMatcher.find();
-                }
+            if (isCheckMatch(event.getSourceName())) {
+                match = tagMessageRegexp == null || isMessageMatch(event.getMessage());
             }
             else if (event.getModuleId() != null) {
-                final Matcher idMatcher = tagCheckRegexp.matcher(event.getModuleId());
-                match = idMatcher.find();
+                match = isCheckMatch(event.getModuleId());
             }
             return match;
         }
 
+        /**
+         * Determines whether a check name or module id matches the text
+         * of this tag.
+         * @param name the check name or module id.
+         * @return true if the name matches the text of this tag.
+         */
+        final boolean isCheckMatch(String name) {
+            return tagCheckRegexp.matcher(name).find();
+        }
+
+        /**
+         * Determines whether a violation message matches the text of this tag.
+         * @param message the violation message.
+         * @return true if the tag has no message regexp or the message matches.
+         */
+        final boolean isMessageMatch(String message) {
+            return tagMessageRegexp == null || tagMessageRegexp.matcher(message).find();
+        }
+
+        /**
+         * Determines whether the tag matches events only by their message.
+         * @return true if the tag has a message regexp.
+         */
+        final boolean hasMessageRegexp() {
+            return tagMessageRegexp != null;
+        }
+
         @Override
         public final String toString() {
             return "Tag[line=" + line + "; col=" + column
                 + "; on=" + reportingOn + "; text='" + text + "']";
         }
     }
+
+    /**
+     * Tags of a file in position order that can match events of one check.
+     */
+    private static final class TagList {
+
+        /** Tags that can match the events. */
+        private final Tag[] tags;
+
+        /** Whether the tag at the same index matches only events with matching message. */
+        private final boolean[] messageChecked;
+
+        /**
+         * Selects the tags that match check name or module id.
+         * @param allTags tags of the file in position order.
+         * @param sourceName the name of the check.
+         * @param moduleId the module id of the check or null.
+         */
+        TagList(List<Tag> allTags, String sourceName, String moduleId) {
+            final List<Tag> matchingTags = new ArrayList<>();
+            final List<Boolean> messageMatches = new ArrayList<>();
+            for (Tag tag : allTags) {
+                if (tag.isCheckMatch(sourceName)) {
+                    matchingTags.add(tag);
+                    messageMatches.add(tag.hasMessageRegexp());
+                }
+                else if (moduleId != null && tag.isCheckMatch(moduleId)) {
+                    matchingTags.add(tag);
+                    messageMatches.add(Boolean.FALSE);
+                }
+            }
+            tags = matchingTags.toArray(new Tag[matchingTags.size()]);
+            messageChecked = new boolean[tags.length];
+            for (int i = 0; i < tags.length; i++) {
+                messageChecked[i] = messageMatches.get(i);
+            }
+        }
+
+        /**
+         * Finds the nearest tag before the line and column of the event
+         * that matches the event.
+         * @param event the {@code AuditEvent} to match.
+         * @return The {@code Tag} nearest event or null.
+         */
+        Tag findNearestMatch(AuditEvent event) {
+            // index after the last tag that is not after the event
+            int low = 0;
+            int high = tags.length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                final Tag tag = tags[middle];
+                if (tag.getLine() > event.getLine()
+                    || tag.getLine() == event.getLine()
+                        && tag.getColumn() > event.getColumn()) {
+                    high = middle;
+                }
+                else {
+                    low = middle + 1;
+                }
+            }
+            // the message is formatted only if a tag needs it
+            String message = null;
+            Tag result = null;
+            for (int i = low - 1; result == null && i >= 0; i--) {
+                if (messageChecked[i]) {
+                    if (message == null) {
+                        message = event.getMessage();
+                    }
+                    if (tags[i].isMessageMatch(message)) {
+                        result = tags[i];
+                    }
+                }
+                else {
+                    result = tags[i];
+                }
+            }
+            return result;
+        }
+    }
 }
@@ -51,6 +51,8 @@ public class SuppressionFilter extends AutomaticBean implements Filter, External
     private boolean optional;
     /** Set of individual suppresses. */
     private FilterSet filters = new FilterSet();
+    /** Index of the suppresses, created on first use. */
+    private SuppressionIndex index;
 
     /**
      * Sets name of the supression file.
@@ -70,7 +72,10 @@ public class SuppressionFilter extends AutomaticBean implements Filter, External
 
     @Override
     public boolean accept(AuditEvent event) {
-        return filters.accept(event);
+        if (index == null) {
+            index = new SuppressionIndex(filters);
+        }
+        return index.accept(event);
     }
 
     @Override
@@ -104,6 +109,7 @@ public class SuppressionFilter extends AutomaticBean implements Filter, External
             else {
                 filters = SuppressionsLoader.loadSuppressions(file);
             }
+            index = null;
         }
     }
 
@@ -0,0 +1,262 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+import com.puppycrawl.tools.checkstyle.api.FilterSet;
+
+/**
+ * Index of the suppressions of a {@link FilterSet} that avoids matching
+ * every suppression against every event. Suppressions are grouped by
+ * their file and check patterns, so each distinct pattern is matched
+ * once per file and once per check of the file. Events of a file arrive
+ * together, so only the suppressions of the current file are kept.
+ * @author the original author or authors.
+ */
+final class SuppressionIndex {
+
+    /** Characters that have a special meaning in a regular expression. */
+    private static final String REGEXP_META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    /** Groups of suppressions that have the same file pattern. */
+    private final List<FileGroup> fileGroups = new ArrayList<>();
+
+    /** Filters of the set that are not suppressions. */
+    private final List<Filter> otherFilters = new ArrayList<>();
+
+    /** Name of the file that suppressions were collected for. */
+    private String currentFileName;
+
+    /** Groups of suppressions that match the current file. */
+    private List<CheckGroup> currentCheckGroups;
+
+    /** Suppressions that match the current file by check name. */
+    private final Map<String, List<SuppressElement>> currentSuppressions = new HashMap<>();
+
+    /**
+     * Creates the index of filters of the set.
+     * @param filterSet the filters to index.
+     */
+    SuppressionIndex(FilterSet filterSet) {
+        final Map<String, List<SuppressElement>> elementsByFile = new LinkedHashMap<>();
+        for (Filter filter : filterSet.getFilters()) {
+            if (filter instanceof SuppressElement) {
+                final SuppressElement element = (SuppressElement) filter;
+                elementsByFile.computeIfAbsent(element.getFilePattern(),
+                    pattern -> new ArrayList<>()).add(element);
+            }
+            else {
+                otherFilters.add(filter);
+            }
+        }
+        for (Map.Entry<String, List<SuppressElement>> entry : elementsByFile.entrySet()) {
+            fileGroups.add(new FileGroup(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * Determines whether the event is accepted by all filters of the set.
+     * @param event the event to filter.
+     * @return true if the event is accepted.
+     */
+    public boolean accept(AuditEvent event) {
+        boolean result = true;
+        if (event.getFileName() != null && event.getLocalizedMessage() != null) {
+            for (SuppressElement element : getSuppressions(event)) {
+                if (element.isSuppressing(event)) {
+                    result = false;
+                    break;
+                }
+            }
+        }
+        if (result) {
+            for (Filter filter : otherFilters) {
+                if (!filter.accept(event)) {
+                    result = false;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets suppressions that match the file and check of the event.
+     * @param event the event to filter.
+     * @return suppressions that may suppress the event.
+     */
+    private List<SuppressElement> getSuppressions(AuditEvent event) {
+        final String fileName = event.getFileName();
+        if (!fileName.equals(currentFileName)) {
+            currentFileName = fileName;
+            currentCheckGroups = getCheckGroups(fileName);
+            currentSuppressions.clear();
+        }
+        final String sourceName = event.getSourceName();
+        List<SuppressElement> suppressions = currentSuppressions.get(sourceName);
+        if (suppressions == null) {
+            suppressions = new ArrayList<>();
+            for (CheckGroup group : currentCheckGroups) {
+                if (group.matches(sourceName)) {
+                    suppressions.addAll(group.elements);
+                }
+            }
+            currentSuppressions.put(sourceName, suppressions);
+        }
+        return suppressions;
+    }
+
+    /**
+     * Collects groups of suppressions that match the file by check pattern.
+     * @param fileName the name of the file.
+     * @return groups of suppressions of the file.
+     */
+    private List<CheckGroup> getCheckGroups(String fileName) {
+        final Map<String, CheckGroup> groups = new LinkedHashMap<>();
+        for (FileGroup fileGroup : fileGroups) {
+            if (fileGroup.matches(fileName)) {
+                for (SuppressElement element : fileGroup.elements) {
+                    groups.computeIfAbsent(element.getCheckPattern(),
+                        pattern -> new CheckGroup(element.getCheckRegexp()))
+                        .elements.add(element);
+                }
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Gets the text that a regular expression matches if it matches only
+     * this text.
+     * @param regexp the regular expression.
+     * @return the matched text or null if the expression is not literal.
+     */
+    static String getLiteral(String regexp) {
+        final StringBuilder literal = new StringBuilder(regexp.length());
+        boolean escaped = false;
+        boolean isLiteral = true;
+        for (int i = 0; isLiteral && i < regexp.length(); i++) {
+            final char character = regexp.charAt(i);
+            if (escaped) {
+                // escaped letters and digits are character classes or quotes
+                isLiteral = !Character.isLetterOrDigit(character);
+                literal.append(character);
+                escaped = false;
+            }
+            else if (character == '\\') {
+                escaped = true;
+            }
+            else {
+                isLiteral = REGEXP_META_CHARACTERS.indexOf(character) == -1;
+                literal.append(character);
+            }
+        }
+        String result = null;
+        if (isLiteral && !escaped) {
+            result = literal.toString();
+        }
+        return result;
+    }
+
+    /**
+     * Suppressions with the same file pattern.
+     */
+    private static final class FileGroup {
+
+        /** The text that file names must contain, if the pattern is literal. */
+        private final String literal;
+
+        /** The regexp to match file names against, if the pattern is not literal. */
+        private final Pattern regexp;
+
+        /** The suppressions of the group. */
+        private final List<SuppressElement> elements;
+
+        /**
+         * Creates the group.
+         * @param filePattern the pattern for file names.
+         * @param elements the suppressions of the group.
+         */
+        FileGroup(String filePattern, List<SuppressElement> elements) {
+            literal = getLiteral(filePattern);
+            if (literal == null) {
+                regexp = Pattern.compile(filePattern);
+            }
+            else {
+                regexp = null;
+            }
+            this.elements = Collections.unmodifiableList(elements);
+        }
+
+        /**
+         * Determines whether the group matches a file.
+         * @param fileName the name of the file.
+         * @return true if the file is matched.
+         */
+        boolean matches(String fileName) {
+            final boolean result;
+            if (regexp == null) {
+                result = fileName.contains(literal);
+            }
+            else {
+                result = regexp.matcher(fileName).find();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Suppressions of the current file with the same check pattern.
+     */
+    private static final class CheckGroup {
+
+        /** The regexp to match check names against, null matches all checks. */
+        private final Pattern regexp;
+
+        /** The suppressions of the group. */
+        private final List<SuppressElement> elements = new ArrayList<>();
+
+        /**
+         * Creates the group.
+         * @param regexp the regexp to match check names against or null.
+         */
+        CheckGroup(Pattern regexp) {
+            this.regexp = regexp;
+        }
+
+        /**
+         * Determines whether the group matches a check.
+         * @param sourceName the name of the check.
+         * @return true if the check is matched.
+         */
+        boolean matches(String sourceName) {
+            return regexp == null || regexp.matcher(sourceName).find();
+        }
+    }
+}
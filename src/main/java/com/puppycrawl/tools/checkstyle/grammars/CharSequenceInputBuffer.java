@@ -0,0 +1,91 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.grammars;
+
+import antlr.CharScanner;
+import antlr.InputBuffer;
+
+/**
+ * Input buffer that reads the characters of a lexer directly from a
+ * character sequence. Unlike {@link antlr.CharBuffer}, it does not read
+ * the characters one by one from a {@link java.io.Reader} and does not
+ * copy them into a queue of lookahead characters. The lookahead is not
+ * buffered, so {@link #getLAChars()} and {@link #getMarkedChars()}
+ * always return empty strings.
+ *
+ * @author the original author or authors.
+ */
+public final class CharSequenceInputBuffer extends InputBuffer {
+
+    /** The characters to read. */
+    private final CharSequence text;
+
+    /** The position of the next character to read. */
+    private int position;
+
+    /**
+     * Creates a buffer reading the given characters.
+     * @param text the characters to read.
+     */
+    public CharSequenceInputBuffer(CharSequence text) {
+        this.text = text;
+    }
+
+    @Override
+    public void fill(int amount) {
+        // all characters are available without reading them
+    }
+
+    @Override
+    public char LA(int offset) {
+        final int index = position + offset - 1;
+        final char result;
+        if (index < text.length()) {
+            result = text.charAt(index);
+        }
+        else {
+            result = CharScanner.EOF_CHAR;
+        }
+        return result;
+    }
+
+    @Override
+    public void consume() {
+        position++;
+    }
+
+    @Override
+    public int mark() {
+        nMarkers++;
+        return position;
+    }
+
+    @Override
+    public void rewind(int mark) {
+        position = mark;
+        nMarkers--;
+    }
+
+    @Override
+    public void reset() {
+        position = 0;
+        nMarkers = 0;
+    }
+}
@@ -0,0 +1,84 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.grammars;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import antlr.ASTFactory;
+import antlr.Token;
+import antlr.collections.AST;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+
+/**
+ * Factory that creates the nodes of a syntax tree as {@link DetailAST}
+ * without reflection and without looking up the node class of each token
+ * type.
+ *
+ * <p>Nodes with equal texts share a single instance of the text. Most
+ * nodes are keywords, operators, separators or repeated identifiers, so a
+ * tree has only a few distinct texts, while the lexer creates a new String
+ * for each token. A factory should be used for one file only, as it keeps
+ * all texts of the created nodes.
+ *
+ * @author the original author or authors.
+ */
+public class DetailAstFactory extends ASTFactory {
+
+    /** The shared instances of the texts of the created nodes. */
+    private final Map<String, String> texts = new HashMap<>();
+
+    /** Creates a factory of {@link DetailAST} nodes. */
+    public DetailAstFactory() {
+        setASTNodeClass(DetailAST.class);
+    }
+
+    @Override
+    public AST create(int type) {
+        final AST node = new DetailAST();
+        node.initialize(type, "");
+        return node;
+    }
+
+    @Override
+    public AST create(Token token) {
+        final AST node = create(token.getType());
+        node.initialize(token);
+        node.setText(getSharedText(token.getText()));
+        return node;
+    }
+
+    /**
+     * Gets the shared instance of a text.
+     * @param text the text.
+     * @return the first instance of an equal text used by this factory.
+     */
+    private String getSharedText(String text) {
+        final String sharedText = texts.putIfAbsent(text, text);
+        final String result;
+        if (sharedText == null) {
+            result = text;
+        }
+        else {
+            result = sharedText;
+        }
+        return result;
+    }
+}
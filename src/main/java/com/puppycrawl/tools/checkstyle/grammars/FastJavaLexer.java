@@ -0,0 +1,51 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.grammars;
+
+import antlr.CommonHiddenStreamToken;
+import antlr.Token;
+
+/**
+ * Java lexer that reads the source from a character sequence and creates
+ * its tokens without reflection. It recognizes the same tokens as
+ * {@link GeneratedJavaLexer}, which always creates
+ * {@link CommonHiddenStreamToken} tokens.
+ *
+ * @author the original author or authors.
+ */
+public class FastJavaLexer extends GeneratedJavaLexer {
+
+    /**
+     * Creates a lexer for the given source.
+     * @param text the source to read.
+     */
+    public FastJavaLexer(CharSequence text) {
+        super(new CharSequenceInputBuffer(text));
+    }
+
+    @Override
+    protected Token makeToken(int type) {
+        final Token token = new CommonHiddenStreamToken();
+        token.setType(type);
+        token.setColumn(inputState.getTokenStartColumn());
+        token.setLine(inputState.getTokenStartLine());
+        return token;
+    }
+}
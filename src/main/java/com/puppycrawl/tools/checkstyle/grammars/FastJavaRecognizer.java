@@ -0,0 +1,58 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.grammars;
+
+import antlr.MismatchedTokenException;
+import antlr.TokenStream;
+import antlr.TokenStreamException;
+
+/**
+ * Java parser that builds the same syntax tree as
+ * {@link GeneratedJavaRecognizer} with less overhead. Its nodes are created
+ * by a {@link DetailAstFactory}. While it guesses which alternative of a
+ * syntactic predicate applies, it reports mismatched tokens with a single
+ * reused exception. The exceptions thrown while guessing are always
+ * caught by the predicate and discarded, so filling in their stack
+ * traces is wasted time that dominates the parsing of expressions.
+ *
+ * @author the original author or authors.
+ */
+public class FastJavaRecognizer extends GeneratedJavaRecognizer {
+
+    /** The exception thrown when a token does not match while guessing. */
+    private final MismatchedTokenException guessFailure = new MismatchedTokenException();
+
+    /**
+     * Creates a parser reading the given tokens.
+     * @param lexer the source of the tokens.
+     */
+    public FastJavaRecognizer(TokenStream lexer) {
+        super(lexer);
+        setASTFactory(new DetailAstFactory());
+    }
+
+    @Override
+    public void match(int type) throws MismatchedTokenException, TokenStreamException {
+        if (inputState.guessing > 0 && LA(1) != type) {
+            throw guessFailure;
+        }
+        super.match(type);
+    }
+}
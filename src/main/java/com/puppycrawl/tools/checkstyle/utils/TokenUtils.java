@@ -112,6 +112,15 @@ public final class TokenUtils {
         return safeCopy;
     }
 
+    /**
+     * Returns the number of token IDs, i.e. the greatest token ID plus one.
+     * Can be used as the size of an array indexed by token ID.
+     * @return the number of token IDs
+     */
+    public static int getTokenCount() {
+        return TOKEN_VALUE_TO_NAME.length;
+    }
+
     /**
      * Returns the name of a token for a given ID.
      * @param id the ID of the token name to get
@@ -0,0 +1,197 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+
+public class AsyncAuditListenerTest {
+
+    @Test
+    public void testEventsAreDeliveredInOrder() {
+        final RecordingListener recorder = new RecordingListener();
+        final AsyncAuditListener listener = new AsyncAuditListener(recorder, 2);
+        final List<String> expected = new ArrayList<>();
+
+        listener.auditStarted(new AuditEvent(this));
+        expected.add("auditStarted");
+        for (int i = 0; i < 100; i++) {
+            final String fileName = "file" + i;
+            listener.fileStarted(new AuditEvent(this, fileName));
+            listener.addError(new AuditEvent(this, fileName));
+            listener.addException(new AuditEvent(this, fileName), new IllegalStateException());
+            listener.fileFinished(new AuditEvent(this, fileName));
+            expected.add("fileStarted " + fileName);
+            expected.add("addError " + fileName);
+            expected.add("addException " + fileName);
+            expected.add("fileFinished " + fileName);
+        }
+        listener.auditFinished(new AuditEvent(this));
+        expected.add("auditFinished");
+
+        assertEquals(expected, recorder.events);
+        assertEquals(1, recorder.threads.size());
+        assertNotEquals("events should be delivered on the writer thread",
+            Thread.currentThread(), recorder.threads.get(0));
+    }
+
+    @Test
+    public void testEventsAreDeliveredDirectlyIfNotStarted() {
+        final RecordingListener recorder = new RecordingListener();
+        final AsyncAuditListener listener = new AsyncAuditListener(recorder);
+
+        listener.fileStarted(new AuditEvent(this, "file"));
+        listener.close();
+
+        assertEquals(Collections.singletonList("fileStarted file"), recorder.events);
+        assertSame(Thread.currentThread(), recorder.threads.get(0));
+    }
+
+    @Test
+    public void testListenerCanBeReused() {
+        final RecordingListener recorder = new RecordingListener();
+        final AsyncAuditListener listener = new AsyncAuditListener(recorder);
+
+        listener.auditStarted(new AuditEvent(this));
+        listener.auditFinished(new AuditEvent(this));
+        listener.auditStarted(new AuditEvent(this));
+        listener.auditFinished(new AuditEvent(this));
+
+        assertEquals(4, recorder.events.size());
+        assertEquals(2, recorder.threads.size());
+    }
+
+    @Test
+    public void testCloseDeliversPendingEvents() {
+        final RecordingListener recorder = new RecordingListener();
+        final AsyncAuditListener listener = new AsyncAuditListener(recorder);
+
+        listener.auditStarted(new AuditEvent(this));
+        listener.fileStarted(new AuditEvent(this, "file"));
+        listener.close();
+        listener.close();
+
+        assertEquals(2, recorder.events.size());
+    }
+
+    @Test
+    public void testFailureIsRethrown() {
+        final RecordingListener recorder = new RecordingListener() {
+            @Override
+            public void addError(AuditEvent event) {
+                throw new IllegalArgumentException("broken");
+            }
+        };
+        final AsyncAuditListener listener = new AsyncAuditListener(recorder, 1);
+        listener.auditStarted(new AuditEvent(this));
+        for (int i = 0; i < 10; i++) {
+            listener.addError(new AuditEvent(this, "file"));
+        }
+        try {
+            listener.auditFinished(new AuditEvent(this));
+            fail("exception expected");
+        }
+        catch (IllegalStateException ex) {
+            assertEquals("Unable to notify audit listener", ex.getMessage());
+            assertEquals("broken", ex.getCause().getMessage());
+        }
+        assertEquals(Collections.singletonList("auditStarted"), recorder.events);
+    }
+
+    @Test
+    public void testErrorIsRethrown() {
+        final RecordingListener recorder = new RecordingListener() {
+            @Override
+            public void fileStarted(AuditEvent event) {
+                throw new AssertionError("broken");
+            }
+        };
+        final AsyncAuditListener listener = new AsyncAuditListener(recorder);
+        listener.auditStarted(new AuditEvent(this));
+        listener.fileStarted(new AuditEvent(this, "file"));
+        try {
+            listener.close();
+            fail("exception expected");
+        }
+        catch (Error ex) {
+            assertEquals("Unable to notify audit listener", ex.getMessage());
+            assertEquals("broken", ex.getCause().getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new AsyncAuditListener(new RecordingListener(), 0);
+    }
+
+    private static class RecordingListener implements AuditListener {
+        private final List<String> events = new ArrayList<>();
+        private final List<Thread> threads = new ArrayList<>();
+
+        private void record(String event) {
+            events.add(event);
+            final Thread thread = Thread.currentThread();
+            if (!threads.contains(thread)) {
+                threads.add(thread);
+            }
+        }
+
+        @Override
+        public void auditStarted(AuditEvent event) {
+            record("auditStarted");
+        }
+
+        @Override
+        public void auditFinished(AuditEvent event) {
+            record("auditFinished");
+        }
+
+        @Override
+        public void fileStarted(AuditEvent event) {
+            record("fileStarted " + event.getFileName());
+        }
+
+        @Override
+        public void fileFinished(AuditEvent event) {
+            record("fileFinished " + event.getFileName());
+        }
+
+        @Override
+        public void addError(AuditEvent event) {
+            record("addError " + event.getFileName());
+        }
+
+        @Override
+        public void addException(AuditEvent event, Throwable throwable) {
+            record("addException " + event.getFileName());
+        }
+    }
+}
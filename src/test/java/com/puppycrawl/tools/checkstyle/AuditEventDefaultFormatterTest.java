@@ -22,6 +22,9 @@ package com.puppycrawl.tools.checkstyle;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.when;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.powermock.api.mockito.PowerMockito;
@@ -98,4 +101,26 @@ public class AuditEventDefaultFormatterTest {
 
         assertEquals(expected, formatter.format(mock));
     }
+
+    @Test
+    public void testFormatToWriter() {
+        final AuditEvent mock = PowerMockito.mock(AuditEvent.class);
+        when(mock.getSourceName()).thenReturn("com.test.package.TestModuleCheck");
+        when(mock.getSeverityLevel()).thenReturn(SeverityLevel.ERROR);
+        when(mock.getLine()).thenReturn(1);
+        when(mock.getColumn()).thenReturn(0);
+        when(mock.getMessage()).thenReturn("Mocked message.");
+        when(mock.getFileName()).thenReturn("InputMockFile.java");
+        final AuditEventDefaultFormatter formatter = new AuditEventDefaultFormatter();
+        final StringWriter output = new StringWriter();
+        final PrintWriter writer = new PrintWriter(output);
+
+        formatter.format(mock, writer);
+        writer.flush();
+
+        final String expected = "[ERROR] InputMockFile.java:1: Mocked message. [TestModule]";
+
+        assertEquals(expected, output.toString());
+        assertEquals(expected, formatter.format(mock));
+    }
 }
@@ -0,0 +1,200 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.powermock.reflect.Whitebox;
+
+import com.puppycrawl.tools.checkstyle.AuditProfile.Event;
+import com.puppycrawl.tools.checkstyle.AuditProfile.Recorder;
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.ConstantNameCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.TypeNameCheck;
+
+public class AuditProfileTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testAllocationBeanClassMayBeMissing() throws Exception {
+        final Object bean = new Object();
+        assertFalse("Missing class should not match", Whitebox.<Boolean>invokeMethod(
+            AuditProfile.class, "isInstance", "com.example.MissingThreadMXBean", bean));
+        assertTrue(Whitebox.<Boolean>invokeMethod(
+            AuditProfile.class, "isInstance", Object.class.getName(), bean));
+    }
+
+    @Test
+    public void testRecordersAreMerged() {
+        final AuditProfile profile = AuditProfile.create("profile.txt", false);
+        final AbstractCheck first = new TypeNameCheck();
+        final AbstractCheck second = new TypeNameCheck();
+        final Recorder firstRecorder = profile.createRecorder();
+        firstRecorder.register(first, "TypeName");
+        final Recorder secondRecorder = profile.createRecorder();
+        secondRecorder.register(second, "TypeName");
+
+        firstRecorder.start();
+        firstRecorder.stop(first, Event.VISIT_TOKEN);
+        firstRecorder.start();
+        firstRecorder.stopParsing("A.java");
+        secondRecorder.start();
+        secondRecorder.stop(second, Event.VISIT_TOKEN);
+        secondRecorder.start();
+        secondRecorder.stop(second, Event.FINISH_TREE);
+        assertNull(profile.getStatistics("TypeName"));
+
+        firstRecorder.flush();
+        secondRecorder.flush();
+        firstRecorder.flush();
+        final AuditProfile.Statistics statistics = profile.getStatistics("TypeName");
+        assertEquals(2, statistics.getCalls(Event.VISIT_TOKEN));
+        assertEquals(1, statistics.getCalls(Event.FINISH_TREE));
+        assertEquals(0, statistics.getCalls(Event.BEGIN_TREE));
+        assertTrue(profile.getParseTime("A.java") >= 0);
+        assertNull(profile.getParseTime("B.java"));
+        assertNull(profile.getCommentTime("A.java"));
+    }
+
+    @Test
+    public void testTextReport() throws IOException {
+        final File file = temporaryFolder.newFile("profile.txt");
+        final AuditProfile profile = createProfile(file.getPath(), false);
+        profile.auditStarted(null);
+        profile.auditFinished(null);
+
+        final String report = new String(Files.readAllBytes(file.toPath()),
+            StandardCharsets.UTF_8);
+        final String[] lines = report.split("\\r?\\n");
+        assertTrue(lines[0].startsWith("Parsed 2 files in "));
+        assertTrue(lines[1].endsWith("ms  A\"1.java"));
+        assertTrue(lines[2].endsWith("ms  B.java"));
+        assertTrue(lines[3].startsWith("Appended comment nodes to 1 of 2 files in "));
+        assertTrue(lines[5].startsWith("Check "));
+        assertTrue(lines[6].startsWith("TypeName "));
+        assertTrue(lines[6].endsWith(" -"));
+        assertTrue(lines[7].startsWith("ConstantName "));
+    }
+
+    @Test
+    public void testJsonReport() throws IOException {
+        final File file = temporaryFolder.newFile("profile.JSON");
+        final AuditProfile profile = createProfile(file.getPath(), false);
+        profile.auditFinished(null);
+
+        final String report = new String(Files.readAllBytes(file.toPath()),
+            StandardCharsets.UTF_8);
+        assertTrue(report.startsWith("{"));
+        assertTrue(report.contains("{\"file\": \"A\\\"1.java\", \"parseTime\": "));
+        assertTrue(report.contains(", \"commentTime\": "));
+        assertTrue("files without comment nodes should have no comment time",
+            report.matches("(?s).*\\{\"file\": \"B.java\", \"parseTime\": \\d+\\}.*"));
+        assertTrue(report.contains("{\"name\": \"TypeName\", \"time\": "));
+        assertTrue(report.contains("\"visitToken\": {\"calls\": 2, \"time\": "));
+        assertTrue(report.contains("\"beginTree\": {\"calls\": 0, \"time\": 0}"));
+        assertFalse(report.contains("allocatedBytes"));
+        assertTrue(report.indexOf("TypeName") < report.indexOf("ConstantName"));
+    }
+
+    @Test
+    public void testJsonReportWithAllocations() {
+        final AuditProfile profile = createProfile("profile.json", true);
+        final StringWriter report = new StringWriter();
+        profile.writeJson(new PrintWriter(report));
+
+        assertTrue(report.toString().contains(", \"allocatedBytes\": "));
+    }
+
+    @Test
+    public void testEscapingOfControlCharacters() {
+        final AuditProfile profile = AuditProfile.create("profile.txt", false);
+        final Recorder recorder = profile.createRecorder();
+        recorder.start();
+        recorder.stopParsing("A\\\t.java");
+        recorder.flush();
+        final StringWriter report = new StringWriter();
+        profile.writeJson(new PrintWriter(report));
+
+        assertTrue(report.toString().contains("\"A\\\\\\u0009.java\""));
+    }
+
+    @Test
+    public void testReportCannotBeWritten() throws IOException {
+        final File folder = temporaryFolder.newFolder();
+        final AuditProfile profile = AuditProfile.create(folder.getPath(), false);
+        profile.fileStarted(null);
+        profile.addError(null);
+        profile.addException(null, null);
+        profile.fileFinished(null);
+        try {
+            profile.auditFinished(null);
+            fail("Exception is expected");
+        }
+        catch (IllegalStateException ex) {
+            assertEquals("Unable to write profile to " + folder.getPath(), ex.getMessage());
+        }
+    }
+
+    private static AuditProfile createProfile(String reportFile, boolean countAllocations) {
+        final AuditProfile profile = AuditProfile.create(reportFile, countAllocations);
+        final AbstractCheck typeName = new TypeNameCheck();
+        final AbstractCheck constantName = new ConstantNameCheck();
+        final Recorder recorder = profile.createRecorder();
+        recorder.register(typeName, "TypeName");
+        recorder.register(constantName, "ConstantName");
+        recorder.start();
+        waitForTimerToAdvance();
+        recorder.stopParsing("A\"1.java");
+        recorder.start();
+        recorder.stopParsing("B.java");
+        recorder.start();
+        recorder.stopAppendingComments("A\"1.java");
+        recorder.start();
+        recorder.stop(typeName, Event.VISIT_TOKEN);
+        recorder.start();
+        waitForTimerToAdvance();
+        recorder.stop(typeName, Event.VISIT_TOKEN);
+        recorder.flush();
+        return profile;
+    }
+
+    private static void waitForTimerToAdvance() {
+        final long start = System.nanoTime();
+        while (System.nanoTime() - start < 1_000_000) {
+            Thread.yield();
+        }
+    }
+}
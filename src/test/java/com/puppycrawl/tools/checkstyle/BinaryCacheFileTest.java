@@ -0,0 +1,362 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.internal.util.reflection.Whitebox;
+
+public class BinaryCacheFileTest {
+
+    private static final int RECORD_SIZE = 40;
+
+    private static final int MAGIC = 0x43534348;
+
+    private static final int VERSION = 3;
+
+    private static final int MESSAGES_HEADER_SIZE = 12;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testLoadMissingFile() throws IOException {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("cache.bin");
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        final Properties properties = new Properties();
+
+        assertFalse(cache.load(properties));
+        assertTrue(properties.isEmpty());
+    }
+
+    @Test
+    public void testLoadPropertyFile() throws IOException {
+        final Path file = temporaryFolder.newFile("cache.bin").toPath();
+        Files.write(file, "key=value".getBytes(StandardCharsets.ISO_8859_1));
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        final Properties properties = new Properties();
+
+        assertFalse(cache.load(properties));
+        assertTrue(properties.isEmpty());
+    }
+
+    @Test
+    public void testPersistAndLoad() throws IOException {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("sub/cache.bin");
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        final Properties properties = new Properties();
+        properties.setProperty("key", "value");
+        cache.put("a.java", 1, 2, 3);
+        cache.put("b.java", 4, -1, -1);
+        cache.persist(properties);
+
+        final BinaryCacheFile loaded = new BinaryCacheFile(file);
+        final Properties loadedProperties = new Properties();
+        assertTrue(loaded.load(loadedProperties));
+        assertEquals(properties, loadedProperties);
+        assertTrue(loaded.isInCache("a.java", 1));
+        assertTrue(loaded.isInCache("a.java", 1, 2));
+        assertFalse(loaded.isInCache("a.java", 1, 5));
+        assertFalse(loaded.isInCache("a.java", 5));
+        assertTrue(loaded.isContentInCache("a.java", 2, 3));
+        assertFalse(loaded.isContentInCache("a.java", 2, 4));
+        assertTrue(loaded.isInCache("b.java", 4));
+        assertFalse("unknown content hash should not match",
+            loaded.isContentInCache("b.java", -1, -1));
+        assertFalse(loaded.isInCache("c.java", 1));
+    }
+
+    @Test
+    public void testNewRecordsAreAppended() throws IOException {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("cache.bin");
+        final Properties properties = new Properties();
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        cache.put("a.java", 1, 2, 3);
+        cache.persist(properties);
+        final long initialSize = Files.size(file);
+
+        final BinaryCacheFile second = new BinaryCacheFile(file);
+        second.load(new Properties());
+        second.put("a.java", 10, 2, 3);
+        second.put("b.java", 4, 5, 6);
+        second.persist(properties);
+        assertEquals(initialSize + 2 * RECORD_SIZE, Files.size(file));
+        second.persist(properties);
+        assertEquals("records should be appended only once",
+            initialSize + 2 * RECORD_SIZE, Files.size(file));
+
+        final BinaryCacheFile loaded = new BinaryCacheFile(file);
+        loaded.load(new Properties());
+        assertTrue(loaded.isInCache("a.java", 10));
+        assertTrue(loaded.isInCache("b.java", 4, 5));
+    }
+
+    @Test
+    public void testPartialRecordIsIgnored() throws IOException {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("cache.bin");
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        cache.put("a.java", 1, 2, 3);
+        cache.persist(new Properties());
+        Files.write(file, new byte[RECORD_SIZE - 1], StandardOpenOption.APPEND);
+
+        final BinaryCacheFile loaded = new BinaryCacheFile(file);
+        assertTrue(loaded.load(new Properties()));
+        assertTrue(loaded.isInCache("a.java", 1));
+        assertEquals(0, ((Map<?, ?>) Whitebox.getInternalState(loaded, "appendedEntries"))
+            .size());
+    }
+
+    @Test
+    public void testAppendedRecordsAreCompacted() throws IOException {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("cache.bin");
+        final Properties properties = new Properties();
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        cache.put("first.java", 1, 2, 3);
+        cache.persist(properties);
+
+        final BinaryCacheFile second = new BinaryCacheFile(file);
+        second.load(new Properties());
+        for (int i = 0; i < 1100; i++) {
+            second.put(i + ".java", i, i, i);
+        }
+        second.persist(properties);
+
+        final BinaryCacheFile loaded = new BinaryCacheFile(file);
+        loaded.load(new Properties());
+        assertEquals(0, ((Map<?, ?>) Whitebox.getInternalState(loaded, "appendedEntries"))
+            .size());
+        assertTrue(loaded.isInCache("first.java", 1, 2));
+        for (int i = 0; i < 1100; i++) {
+            assertTrue(loaded.isContentInCache(i + ".java", i, i));
+        }
+    }
+
+    @Test
+    public void testChangedPropertiesRewriteFile() throws IOException {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("cache.bin");
+        final Properties properties = new Properties();
+        properties.setProperty("key", "value");
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        cache.put("a.java", 1, 2, 3);
+        cache.persist(properties);
+
+        properties.setProperty("key", "other value");
+        cache.put("b.java", 4, 5, 6);
+        cache.persist(properties);
+
+        final BinaryCacheFile loaded = new BinaryCacheFile(file);
+        final Properties loadedProperties = new Properties();
+        loaded.load(loadedProperties);
+        assertEquals("other value", loadedProperties.getProperty("key"));
+        assertEquals(0, ((Map<?, ?>) Whitebox.getInternalState(loaded, "appendedEntries"))
+            .size());
+        assertTrue(loaded.isInCache("a.java", 1));
+        assertTrue(loaded.isInCache("b.java", 4));
+    }
+
+    @Test
+    public void testClear() throws IOException {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("cache.bin");
+        final Properties properties = new Properties();
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        cache.put("a.java", 1, 2, 3);
+        cache.persist(properties);
+
+        cache.clear();
+        assertFalse(cache.isInCache("a.java", 1));
+        cache.put("b.java", 4, 5, 6);
+        cache.persist(properties);
+
+        final BinaryCacheFile loaded = new BinaryCacheFile(file);
+        loaded.load(new Properties());
+        assertFalse(loaded.isInCache("a.java", 1));
+        assertTrue(loaded.isInCache("b.java", 4));
+    }
+
+    @Test
+    public void testLoadTruncatedHeader() throws IOException {
+        verifyCorruptFileIsEmptyCache(ByteBuffer.allocate(12).putInt(MAGIC).putInt(VERSION)
+            .putInt(1).array());
+    }
+
+    @Test
+    public void testLoadNegativePropertyCount() throws IOException {
+        verifyCorruptFileIsEmptyCache(ByteBuffer.allocate(16).putInt(MAGIC).putInt(VERSION)
+            .putInt(-1).putInt(0).array());
+    }
+
+    @Test
+    public void testLoadCorruptStringLength() throws IOException {
+        verifyCorruptFileIsEmptyCache(ByteBuffer.allocate(24).putInt(MAGIC).putInt(VERSION)
+            .putInt(1).putInt(Integer.MAX_VALUE).putInt(0).putInt(0).array());
+    }
+
+    @Test
+    public void testLoadCorruptRecordCount() throws IOException {
+        verifyCorruptFileIsEmptyCache(ByteBuffer.allocate(16).putInt(MAGIC).putInt(VERSION)
+            .putInt(0).putInt(Integer.MAX_VALUE).array());
+    }
+
+    @Test
+    public void testLoadNegativeRecordCount() throws IOException {
+        verifyCorruptFileIsEmptyCache(ByteBuffer.allocate(16).putInt(MAGIC).putInt(VERSION)
+            .putInt(0).putInt(-1).array());
+    }
+
+    @Test
+    public void testRewriteLoadedFile() throws IOException {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("cache.bin");
+        final Properties properties = new Properties();
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        cache.put("a.java", 1, 2, 3);
+        cache.persist(properties);
+
+        final BinaryCacheFile loaded = new BinaryCacheFile(file);
+        loaded.load(new Properties());
+        properties.setProperty("key", "value");
+        loaded.put("b.java", 4, 5, 6);
+        loaded.persist(properties);
+        assertTrue(loaded.isInCache("a.java", 1));
+        assertTrue(loaded.isInCache("b.java", 4));
+    }
+
+    private void verifyCorruptFileIsEmptyCache(byte... content) throws IOException {
+        final Path file = temporaryFolder.newFile("cache.bin").toPath();
+        Files.write(file, content);
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        final Properties properties = new Properties();
+
+        assertTrue("corrupt binary file should be recognized", cache.load(properties));
+        assertTrue("corrupt binary file should have no properties", properties.isEmpty());
+        assertFalse(cache.isInCache("a.java", 1));
+
+        cache.put("a.java", 1, 2, 3);
+        cache.persist(properties);
+        final BinaryCacheFile loaded = new BinaryCacheFile(file);
+        assertTrue(loaded.load(new Properties()));
+        assertTrue("corrupt file should be rewritten", loaded.isInCache("a.java", 1));
+    }
+
+    @Test
+    public void testMessagesAreStoredInSideFile() throws IOException {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("cache.bin");
+        final Path messagesFile = temporaryFolder.getRoot().toPath().resolve("cache.bin.messages");
+        final Properties properties = new Properties();
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        cache.put("a.java", 1, 2, 3, new byte[] {1, 2});
+        cache.put("b.java", 4, 5, 6);
+        assertArrayEquals(new byte[] {1, 2}, cache.getMessages("a.java"));
+        cache.persist(properties);
+        final long headerSize = Files.size(file) - 2 * RECORD_SIZE;
+
+        final BinaryCacheFile second = new BinaryCacheFile(file);
+        second.load(new Properties());
+        assertArrayEquals(new byte[] {1, 2}, second.getMessages("a.java"));
+        assertNull(second.getMessages("b.java"));
+        assertNull(second.getMessages("c.java"));
+        second.put("b.java", 7, 5, 6, new byte[] {3});
+        second.put("a.java", 8, 2, 3);
+        second.persist(properties);
+        assertEquals("records should be appended",
+            headerSize + 4 * RECORD_SIZE, Files.size(file));
+
+        final BinaryCacheFile loaded = new BinaryCacheFile(file);
+        loaded.load(new Properties());
+        assertNull(loaded.getMessages("a.java"));
+        assertArrayEquals(new byte[] {3}, loaded.getMessages("b.java"));
+        assertEquals(2 * MESSAGES_HEADER_SIZE + 3, Files.size(messagesFile));
+    }
+
+    @Test
+    public void testSideFileIsCompacted() throws IOException {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("cache.bin");
+        final Path messagesFile = temporaryFolder.getRoot().toPath().resolve("cache.bin.messages");
+        final Properties properties = new Properties();
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        cache.put("a.java", 1, 2, 3, new byte[] {1, 2});
+        cache.put("b.java", 4, 5, 6);
+        cache.persist(properties);
+
+        final BinaryCacheFile loaded = new BinaryCacheFile(file);
+        loaded.load(new Properties());
+        loaded.put("b.java", 7, 5, 6, new byte[] {3});
+        loaded.put("a.java", 8, 2, 3);
+        properties.setProperty("key", "value");
+        loaded.persist(properties);
+        assertEquals("unused violations should be removed on rewrite",
+            MESSAGES_HEADER_SIZE + 1, Files.size(messagesFile));
+        assertArrayEquals(new byte[] {3}, loaded.getMessages("b.java"));
+        loaded.put("b.java", 9, 5, 6);
+        properties.setProperty("key", "other value");
+        loaded.persist(properties);
+        assertFalse("empty side file should be removed", Files.exists(messagesFile));
+    }
+
+    @Test
+    public void testBrokenSideFile() throws IOException {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("cache.bin");
+        final Path messagesFile = temporaryFolder.getRoot().toPath().resolve("cache.bin.messages");
+        final Properties properties = new Properties();
+        final BinaryCacheFile cache = new BinaryCacheFile(file);
+        cache.put("a.java", 1, 2, 3, new byte[] {1, 2});
+        cache.put("b.java", 4, 5, 6, new byte[] {3});
+        cache.persist(properties);
+        Files.write(messagesFile, ByteBuffer.allocate(MESSAGES_HEADER_SIZE).putLong(0)
+            .putInt(1).array());
+
+        final BinaryCacheFile loaded = new BinaryCacheFile(file);
+        loaded.load(new Properties());
+        verifyMessagesCannotBeRead(loaded, "a.java");
+        verifyMessagesCannotBeRead(loaded, "b.java");
+
+        properties.setProperty("key", "value");
+        loaded.persist(properties);
+        assertFalse("file with lost violations should be removed", loaded.isInCache("a.java", 1));
+    }
+
+    private static void verifyMessagesCannotBeRead(BinaryCacheFile cache, String fileName) {
+        try {
+            cache.getMessages(fileName);
+            fail("Exception is expected");
+        }
+        catch (IOException ex) {
+            assertTrue("Invalid exception message",
+                ex.getMessage().startsWith("No violations at offset")
+                || ex.getMessage().startsWith("Invalid violations at offset"));
+        }
+    }
+}
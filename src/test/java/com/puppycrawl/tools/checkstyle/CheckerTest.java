@@ -27,18 +27,27 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOError;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.tools.ToolProvider;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -55,8 +64,13 @@ import com.puppycrawl.tools.checkstyle.api.ExternalResourceHolder;
 import com.puppycrawl.tools.checkstyle.api.Filter;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.checks.FileContentsHolder;
 import com.puppycrawl.tools.checkstyle.checks.TranslationCheck;
 import com.puppycrawl.tools.checkstyle.checks.coding.HiddenFieldCheck;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocPackageCheck;
+import com.puppycrawl.tools.checkstyle.checks.regexp.RegexpSinglelineCheck;
+import com.puppycrawl.tools.checkstyle.checks.sizes.FileLengthCheck;
+import com.puppycrawl.tools.checkstyle.filters.SuppressionCommentFilter;
 import com.puppycrawl.tools.checkstyle.filters.SuppressionFilter;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
@@ -65,14 +79,6 @@ public class CheckerTest extends BaseCheckTestSupport {
     @Rule
     public final TemporaryFolder temporaryFolder = new TemporaryFolder();
 
-    private static Method getAcceptFileStarted() throws NoSuchMethodException {
-        final Class<Checker> checkerClass = Checker.class;
-        final Method acceptFileStarted = checkerClass.getDeclaredMethod("acceptFileStarted",
-                String.class);
-        acceptFileStarted.setAccessible(true);
-        return acceptFileStarted;
-    }
-
     private static Method getFireAuditFinished() throws NoSuchMethodException {
         final Class<Checker> checkerClass = Checker.class;
         final Method fireAuditFinished = checkerClass.getDeclaredMethod("fireAuditFinished");
@@ -194,8 +200,8 @@ public class CheckerTest extends BaseCheckTestSupport {
         checker.addBeforeExecutionFileFilter(filter);
 
         filter.resetFilter();
-        getAcceptFileStarted().invoke(checker, "Test.java");
-        assertTrue("Checker.acceptFileStarted() doesn't call filter", filter.wasCalled());
+        checker.acceptFile(new File("Test.java"));
+        assertTrue("Checker.acceptFile() doesn't call filter", filter.wasCalled());
     }
 
     @Test
@@ -208,9 +214,9 @@ public class CheckerTest extends BaseCheckTestSupport {
         checker.removeBeforeExecutionFileFilter(filter);
 
         f2.resetFilter();
-        getAcceptFileStarted().invoke(checker, "Test.java");
-        assertTrue("Checker.acceptFileStarted() doesn't call filter", f2.wasCalled());
-        assertFalse("Checker.acceptFileStarted() does call removed filter", filter.wasCalled());
+        checker.acceptFile(new File("Test.java"));
+        assertTrue("Checker.acceptFile() doesn't call filter", f2.wasCalled());
+        assertFalse("Checker.acceptFile() does call removed filter", filter.wasCalled());
     }
 
     @Test
@@ -740,6 +746,418 @@ public class CheckerTest extends BaseCheckTestSupport {
         verify(checker, filePath, filePath, expected);
     }
 
+    @Test
+    public void testParallelProcessingProducesSameEvents() throws Exception {
+        final List<File> files = new ArrayList<>();
+        for (String name : new String[] {"InputHiddenField.java", "InputHiddenFieldLambdas.java",
+            "InputHiddenFieldReceiver.java", "InputHiddenFieldReorder.java",
+            "InputHiddenFieldStaticVisibility.java", }) {
+            files.add(new File(getPath("checks" + File.separator + "coding"
+                + File.separator + name)));
+        }
+
+        final String sequential = runAudit(files, 1);
+        final String parallel = runAudit(files, 3);
+
+        assertTrue("Audit should find violations", sequential.contains("InputHiddenField.java"));
+        assertEquals("Parallel audit should report the same events in the same order",
+            sequential, parallel);
+    }
+
+    @Test
+    public void testSetThreadsWithWrongValue() {
+        final Checker checker = new Checker();
+        try {
+            checker.setThreads(0);
+            fail("Exception is expected");
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid exception message",
+                "Number of threads must be positive, found 0", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testParallelProcessingExceptionHasFileName() throws Exception {
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyleConfig");
+        checkerConfig.addAttribute("threads", "2");
+        checkerConfig.addChild(createCheckConfig(ExceptionalFileSetCheck.class));
+
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+
+        final File file = temporaryFolder.newFile("file.java");
+        final List<File> files = new ArrayList<>();
+        files.add(file);
+        try {
+            checker.process(files);
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertEquals("Invalid exception message",
+                "Exception was thrown while processing " + file.getPath(), ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testParallelProcessingAuditingThreadExceptionHasFileName() throws Exception {
+        final Checker checker = new Checker();
+        checker.setThreads(2);
+        checker.addFileSetCheck(new ExceptionalFileSetCheck());
+
+        final File file = temporaryFolder.newFile("file.java");
+        final List<File> files = new ArrayList<>();
+        files.add(file);
+        try {
+            checker.process(files);
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertEquals("Invalid exception message",
+                "Exception was thrown while processing " + file.getPath(), ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testParallelProcessingDestroysWorkerModulesIfWorkerFails() throws Exception {
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyleConfig");
+        checkerConfig.addAttribute("threads", "2");
+        checkerConfig.addChild(createCheckConfig(DestroyCountingFileSetCheck.class));
+        checkerConfig.addChild(createCheckConfig(ExceptionalFileSetCheck.class));
+
+        verifyWorkerModulesAreDestroyed(checkerConfig, false);
+    }
+
+    @Test
+    public void testParallelProcessingDestroysWorkerModulesIfAuditingThreadFails()
+            throws Exception {
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyleConfig");
+        checkerConfig.addAttribute("threads", "2");
+        checkerConfig.addChild(createCheckConfig(DestroyCountingFileSetCheck.class));
+
+        verifyWorkerModulesAreDestroyed(checkerConfig, true);
+    }
+
+    private void verifyWorkerModulesAreDestroyed(Configuration checkerConfig,
+            boolean failOnAuditingThread) throws Exception {
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        if (failOnAuditingThread) {
+            // added without configuration, so it has no copies on the workers
+            checker.addFileSetCheck(new ExceptionalFileSetCheck());
+        }
+
+        DestroyCountingFileSetCheck.destroyed.set(0);
+        try {
+            checker.process(Collections.singletonList(temporaryFolder.newFile("file.java")));
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertEquals("Both worker copies should be destroyed",
+                2, DestroyCountingFileSetCheck.destroyed.get());
+        }
+    }
+
+    @Test
+    public void testCacheUsesContentOfFileWithChangedTimestamp() throws Exception {
+        verifyCacheUsesContentOfFileWithChangedTimestamp(1);
+    }
+
+    @Test
+    public void testCacheUsesContentOfFileWithChangedTimestampInParallel() throws Exception {
+        verifyCacheUsesContentOfFileWithChangedTimestamp(2);
+    }
+
+    private void verifyCacheUsesContentOfFileWithChangedTimestamp(int threads)
+            throws Exception {
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyleConfig");
+        checkerConfig.addAttribute("charset", "UTF-8");
+        checkerConfig.addAttribute("threads", String.valueOf(threads));
+        checkerConfig.addAttribute("cacheFile", temporaryFolder.newFile().getPath());
+        checkerConfig.addChild(createCheckConfig(FileLengthCheck.class));
+
+        final File file = temporaryFolder.newFile("file.java");
+        Files.write(file.toPath(), "class A {}\n".getBytes(StandardCharsets.UTF_8));
+        final List<File> files = Collections.singletonList(file);
+        final long timestamp = file.lastModified();
+
+        final DebugAuditAdapter auditAdapter = new DebugAuditAdapter();
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        checker.addListener(auditAdapter);
+        checker.process(files);
+        assertEquals("File should be audited", 1, auditAdapter.getNumFilesStarted());
+
+        assertTrue(file.setLastModified(timestamp - 10_000));
+        checker.process(files);
+        assertEquals("File with same content should not be audited again",
+            1, auditAdapter.getNumFilesStarted());
+
+        Files.write(file.toPath(), "class B {}\n".getBytes(StandardCharsets.UTF_8));
+        assertTrue(file.setLastModified(timestamp - 20_000));
+        checker.process(files);
+        assertEquals("File with changed content should be audited",
+            2, auditAdapter.getNumFilesStarted());
+        checker.destroy();
+    }
+
+    @Test
+    public void testCacheTellsApartContentsWithSameCrc32() throws Exception {
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyleConfig");
+        checkerConfig.addAttribute("charset", "UTF-8");
+        checkerConfig.addAttribute("cacheFile", temporaryFolder.newFile().getPath());
+        checkerConfig.addChild(createCheckConfig(FileLengthCheck.class));
+
+        // "plumless" and "buckeroo" have the same size and CRC32
+        final File file = temporaryFolder.newFile("file.java");
+        Files.write(file.toPath(), "plumless".getBytes(StandardCharsets.UTF_8));
+        final List<File> files = Collections.singletonList(file);
+        final long timestamp = file.lastModified();
+
+        final DebugAuditAdapter auditAdapter = new DebugAuditAdapter();
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        checker.addListener(auditAdapter);
+        checker.process(files);
+
+        Files.write(file.toPath(), "buckeroo".getBytes(StandardCharsets.UTF_8));
+        assertTrue(file.setLastModified(timestamp - 10_000));
+        checker.process(files);
+        assertEquals("File with changed content should be audited",
+            2, auditAdapter.getNumFilesStarted());
+        checker.destroy();
+    }
+
+    @Test
+    public void testCachedViolationsAreReplayed() throws Exception {
+        verifyCachedViolationsAreReplayed(1);
+    }
+
+    @Test
+    public void testCachedViolationsAreReplayedInParallel() throws Exception {
+        verifyCachedViolationsAreReplayed(2);
+    }
+
+    private void verifyCachedViolationsAreReplayed(int threads) throws Exception {
+        final DefaultConfiguration checkConfig = createCheckConfig(RegexpSinglelineCheck.class);
+        checkConfig.addAttribute("format", "class A");
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyleConfig");
+        checkerConfig.addAttribute("charset", "UTF-8");
+        checkerConfig.addAttribute("threads", String.valueOf(threads));
+        checkerConfig.addAttribute("cacheFile", temporaryFolder.newFile().getPath());
+        checkerConfig.addChild(checkConfig);
+
+        final File file = temporaryFolder.newFile("file.java");
+        Files.write(file.toPath(), "class A {}\n".getBytes(StandardCharsets.UTF_8));
+        final List<File> files = Collections.singletonList(file);
+        final long timestamp = file.lastModified();
+
+        final DebugAuditAdapter auditAdapter = new DebugAuditAdapter();
+        final Checker checker = createChecker(checkerConfig, auditAdapter);
+        assertEquals("Violation expected", 1, checker.process(files));
+
+        // same size and timestamp, so the file is taken as unchanged without reading it
+        Files.write(file.toPath(), "class B {}\n".getBytes(StandardCharsets.UTF_8));
+        assertTrue(file.setLastModified(timestamp));
+        assertEquals("Cached violation should be reported", 1, checker.process(files));
+        assertEquals("Cached file should be reported", 2, auditAdapter.getNumFilesStarted());
+
+        assertTrue(file.setLastModified(timestamp - 10_000));
+        assertEquals("Changed file should be audited", 0, checker.process(files));
+        assertEquals("Changed file should be reported", 3, auditAdapter.getNumFilesStarted());
+
+        Files.write(file.toPath(), "class A {}\n".getBytes(StandardCharsets.UTF_8));
+        assertTrue(file.setLastModified(timestamp - 20_000));
+        assertEquals("Violation expected", 1, checker.process(files));
+        assertTrue(file.setLastModified(timestamp - 30_000));
+        assertEquals("Cached violation should be reported", 1, checker.process(files));
+        assertEquals("Cached file should be reported", 5, auditAdapter.getNumFilesStarted());
+        checker.destroy();
+    }
+
+    @Test
+    public void testCachedFilesAreProcessedByGlobalStatefulChecks() throws Exception {
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyleConfig");
+        checkerConfig.addAttribute("charset", "UTF-8");
+        checkerConfig.addAttribute("cacheFile", temporaryFolder.newFile().getPath());
+        checkerConfig.addChild(createCheckConfig(JavadocPackageCheck.class));
+
+        final File directory = temporaryFolder.newFolder();
+        final File first = new File(directory, "A.java");
+        final File second = new File(directory, "B.java");
+        Files.write(first.toPath(), "class A {}\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(second.toPath(), "class B {}\n".getBytes(StandardCharsets.UTF_8));
+        final List<File> files = new ArrayList<>();
+        files.add(first);
+        files.add(second);
+
+        final Checker checker = createChecker(checkerConfig, new DebugAuditAdapter());
+        assertEquals("Missing package documentation expected", 1, checker.process(files));
+        checker.destroy();
+
+        Files.write(second.toPath(), "class BB {}\n".getBytes(StandardCharsets.UTF_8));
+        final Checker secondChecker = createChecker(checkerConfig, new DebugAuditAdapter());
+        assertEquals("Missing package documentation should be reported once",
+            1, secondChecker.process(files));
+        secondChecker.destroy();
+
+        final Checker thirdChecker = createChecker(checkerConfig, new DebugAuditAdapter());
+        assertEquals("Missing package documentation should be reported for cached files",
+            1, thirdChecker.process(files));
+        thirdChecker.destroy();
+    }
+
+    @Test
+    public void testCachedFilesAreSeenByTranslationCheck() throws Exception {
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyleConfig");
+        checkerConfig.addAttribute("charset", "UTF-8");
+        checkerConfig.addAttribute("cacheFile", temporaryFolder.newFile().getPath());
+        checkerConfig.addChild(createCheckConfig(TranslationCheck.class));
+
+        final File directory = temporaryFolder.newFolder();
+        final File messages = new File(directory, "messages.properties");
+        final File germanMessages = new File(directory, "messages_de.properties");
+        Files.write(messages.toPath(), "a=a\nb=b\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(germanMessages.toPath(), "a=a\n".getBytes(StandardCharsets.UTF_8));
+        final List<File> files = new ArrayList<>();
+        files.add(messages);
+        files.add(germanMessages);
+
+        final Checker checker = createChecker(checkerConfig, new DebugAuditAdapter());
+        assertEquals("Missing translation expected", 1, checker.process(files));
+        checker.destroy();
+
+        final Checker secondChecker = createChecker(checkerConfig, new DebugAuditAdapter());
+        assertEquals("Missing translation should be reported for cached files",
+            1, secondChecker.process(files));
+        secondChecker.destroy();
+    }
+
+    @Test
+    public void testCachedViolationsOfChecksFromModuleClassLoaderAreReplayed()
+            throws Exception {
+        final File classes = temporaryFolder.newFolder();
+        compileExternalCheck(classes);
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyleConfig");
+        checkerConfig.addAttribute("charset", "UTF-8");
+        checkerConfig.addAttribute("cacheFile", temporaryFolder.newFile().getPath());
+        checkerConfig.addChild(new DefaultConfiguration("ExternalCheck"));
+
+        final File file = temporaryFolder.newFile("file.java");
+        Files.write(file.toPath(), "class A {}\n".getBytes(StandardCharsets.UTF_8));
+        final List<File> files = Collections.singletonList(file);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classes.toURI().toURL()},
+                getClass().getClassLoader())) {
+            for (int i = 0; i < 2; i++) {
+                final Checker checker = new Checker();
+                checker.setModuleClassLoader(loader);
+                checker.configure(checkerConfig);
+                assertEquals("Violation expected", 1, checker.process(files));
+                checker.destroy();
+            }
+            assertEquals("Violation of the second run should be replayed from the cache",
+                1, loader.loadClass("ExternalCheck").getField("processed").getInt(null));
+        }
+    }
+
+    @Test
+    public void testBinaryCacheFile() throws Exception {
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyleConfig");
+        checkerConfig.addAttribute("charset", "UTF-8");
+        checkerConfig.addAttribute("cacheFile",
+            new File(temporaryFolder.getRoot(), "cache.bin").getPath());
+        checkerConfig.addChild(createCheckConfig(FileLengthCheck.class));
+
+        final File file = temporaryFolder.newFile("file.java");
+        Files.write(file.toPath(), "class A {}\n".getBytes(StandardCharsets.UTF_8));
+        final List<File> files = Collections.singletonList(file);
+
+        final DebugAuditAdapter auditAdapter = new DebugAuditAdapter();
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        checker.addListener(auditAdapter);
+        checker.process(files);
+        checker.destroy();
+        assertEquals("File should be audited", 1, auditAdapter.getNumFilesStarted());
+
+        final DebugAuditAdapter secondAuditAdapter = new DebugAuditAdapter();
+        final Checker secondChecker = new Checker();
+        secondChecker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        secondChecker.configure(checkerConfig);
+        secondChecker.addListener(secondAuditAdapter);
+        secondChecker.process(files);
+        secondChecker.destroy();
+        assertEquals("File should be skipped using the binary cache",
+            0, secondAuditAdapter.getNumFilesStarted());
+    }
+
+    /**
+     * Compiles a check which is only visible to a class loader reading the
+     * given directory, like a custom check loaded by the module class loader.
+     * @param classes the directory to compile the check to.
+     * @throws IOException if the source cannot be written.
+     */
+    private static void compileExternalCheck(File classes) throws IOException {
+        final File source = new File(classes, "ExternalCheck.java");
+        Files.write(source.toPath(), ("public class ExternalCheck extends "
+            + AbstractFileSetCheck.class.getName() + " {\n"
+            + "    public static int processed;\n"
+            + "    @Override\n"
+            + "    protected void processFiltered(java.io.File file,\n"
+            + "            java.util.List<String> lines) {\n"
+            + "        processed++;\n"
+            + "        log(1, \"external violation\");\n"
+            + "    }\n"
+            + "}\n").getBytes(StandardCharsets.UTF_8));
+        final String classPath = new File(AbstractFileSetCheck.class.getProtectionDomain()
+            .getCodeSource().getLocation().getPath()).getPath();
+        assertEquals("Check should compile", 0, ToolProvider.getSystemJavaCompiler().run(
+            null, null, null, "-classpath", classPath, "-d", classes.getPath(),
+            source.getPath()));
+    }
+
+    private static Checker createChecker(Configuration checkerConfig,
+            DebugAuditAdapter auditAdapter) throws CheckstyleException {
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        checker.addListener(auditAdapter);
+        return checker;
+    }
+
+    private String runAudit(List<File> files, int threads) throws Exception {
+        final DefaultConfiguration treeWalkerConfig = createCheckConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(createCheckConfig(HiddenFieldCheck.class));
+        treeWalkerConfig.addChild(createCheckConfig(FileContentsHolder.class));
+
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyleConfig");
+        checkerConfig.addAttribute("charset", "UTF-8");
+        checkerConfig.addAttribute("threads", String.valueOf(threads));
+        checkerConfig.addChild(treeWalkerConfig);
+        checkerConfig.addChild(createCheckConfig(JavadocPackageCheck.class));
+        checkerConfig.addChild(createCheckConfig(FileLengthCheck.class));
+        checkerConfig.addChild(createCheckConfig(SuppressionCommentFilter.class));
+
+        final Checker checker = new Checker();
+        final Locale locale = Locale.ROOT;
+        checker.setLocaleCountry(locale.getCountry());
+        checker.setLocaleLanguage(locale.getLanguage());
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        checker.addListener(new DefaultLogger(out, true));
+
+        checker.process(files);
+        checker.destroy();
+        return out.toString("UTF-8");
+    }
+
     private Checker createMockCheckerWithCacheForModule(
         Class<? extends ExternalResourceHolder> mockClass) throws IOException, CheckstyleException {
 
@@ -756,6 +1174,27 @@ public class CheckerTest extends BaseCheckTestSupport {
         return checker;
     }
 
+    public static class ExceptionalFileSetCheck extends AbstractFileSetCheck {
+        @Override
+        protected void processFiltered(File file, List<String> lines) {
+            throw new IllegalStateException("upsss");
+        }
+    }
+
+    public static class DestroyCountingFileSetCheck extends AbstractFileSetCheck {
+        private static final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        protected void processFiltered(File file, List<String> lines) {
+            // no code
+        }
+
+        @Override
+        public void destroy() {
+            destroyed.incrementAndGet();
+        }
+    }
+
     private static class DummyFilter implements Filter {
 
         @Override
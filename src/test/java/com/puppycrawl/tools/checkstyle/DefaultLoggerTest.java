@@ -19,12 +19,17 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import static org.junit.Assert.assertEquals;
+
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.Test;
 
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 
 public class DefaultLoggerTest {
 
@@ -44,4 +49,42 @@ public class DefaultLoggerTest {
         dl.addException(new AuditEvent(5000, "myfile"), new IllegalStateException("upsss"));
         dl.auditFinished(new AuditEvent(6000, "myfile"));
     }
+
+    @Test
+    public void testAddErrorWithDefaultFormatter() throws Exception {
+        final ByteArrayOutputStream infoStream = new ByteArrayOutputStream();
+        final ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
+        final DefaultLogger dl = new DefaultLogger(infoStream, true, errorStream, true);
+        dl.addError(createErrorEvent(3, 4));
+        dl.addError(createErrorEvent(5, 0));
+        dl.auditFinished(new AuditEvent(6000, "myfile"));
+        final String ls = System.lineSeparator();
+        assertEquals("[WARN] myfile:3:4: Got an exception - arg [DefaultLoggerTest]" + ls
+            + "[WARN] myfile:5: Got an exception - arg [DefaultLoggerTest]" + ls,
+            new String(errorStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testAddErrorWithCustomFormatter() throws Exception {
+        final ByteArrayOutputStream infoStream = new ByteArrayOutputStream();
+        final DefaultLogger dl = new DefaultLogger(infoStream, true, infoStream, false,
+            new AuditEventDefaultFormatter() {
+                @Override
+                public String format(AuditEvent event) {
+                    return "custom " + event.getLine();
+                }
+            });
+        dl.addError(createErrorEvent(3, 4));
+        dl.auditFinished(new AuditEvent(6000, "myfile"));
+        final String ls = System.lineSeparator();
+        assertEquals("custom 3" + ls + "Audit done." + ls,
+            new String(infoStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static AuditEvent createErrorEvent(int line, int column) {
+        final LocalizedMessage message = new LocalizedMessage(line, column,
+            Definitions.CHECKSTYLE_BUNDLE, "general.exception", new String[] {"arg"},
+            SeverityLevel.WARNING, null, DefaultLoggerTest.class, null);
+        return new AuditEvent(5000, "myfile", message);
+    }
 }
@@ -0,0 +1,100 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static com.puppycrawl.tools.checkstyle.internal.TestUtils.assertUtilsClassHasPrivateConstructor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+
+public class JavaParserTest {
+
+    @Test
+    public void testIsProperUtilsClass() throws ReflectiveOperationException {
+        assertUtilsClassHasPrivateConstructor(JavaParser.class);
+    }
+
+    @Test
+    public void testFastParserWithComments() throws Exception {
+        final FileContents contents = new FileContents(FileText.fromLines(
+            new File("Input.java"), Arrays.asList("/* header */", "class A { }")));
+        final DetailAST root = JavaParser.parseWithComments(contents, true);
+
+        assertEquals(TokenTypes.CLASS_DEF, root.getType());
+        assertTrue(root.branchContains(TokenTypes.BLOCK_COMMENT_BEGIN));
+        assertEquals(JavaParser.parseWithComments(contents, false).toStringList(),
+            root.toStringList());
+    }
+
+    @Test
+    public void testFastParserSharesTexts() throws Exception {
+        verifySharedTexts(true);
+    }
+
+    @Test
+    public void testParserSharesTexts() throws Exception {
+        verifySharedTexts(false);
+    }
+
+    @Test
+    public void testCommentsAreNotKept() throws Exception {
+        final FileContents contents = new FileContents(FileText.fromLines(
+            new File("Input.java"), Arrays.asList("/* header */", "class A { // comment", "}")));
+        final DetailAST root = JavaParser.appendHiddenCommentNodes(
+            JavaParser.parse(contents, true, false));
+
+        assertEquals(TokenTypes.CLASS_DEF, root.getType());
+        assertFalse(root.branchContains(TokenTypes.BLOCK_COMMENT_BEGIN));
+        assertFalse(root.branchContains(TokenTypes.SINGLE_LINE_COMMENT));
+        assertEquals(JavaParser.parse(contents, false).toStringList(), root.toStringList());
+        assertEquals("comments should still be reported to the contents",
+            1, contents.getCComments().size());
+        assertEquals(1, contents.getCppComments().size());
+    }
+
+    private static void verifySharedTexts(boolean fast) throws Exception {
+        final FileContents contents = new FileContents(FileText.fromLines(
+            new File("Input.java"), Arrays.asList("class A { A a; A b; }")));
+        final DetailAST root = JavaParser.parse(contents, fast);
+        final DetailAST className = root.findFirstToken(TokenTypes.IDENT);
+        final DetailAST firstField = root.findFirstToken(TokenTypes.OBJBLOCK)
+            .findFirstToken(TokenTypes.VARIABLE_DEF);
+        final DetailAST firstType = firstField.findFirstToken(TokenTypes.TYPE).getFirstChild();
+        final DetailAST secondType = firstField.getNextSibling()
+            .findFirstToken(TokenTypes.TYPE).getFirstChild();
+
+        assertEquals("A", className.getText());
+        assertSame(className.getText(), firstType.getText());
+        assertSame(className.getText(), secondType.getText());
+        assertSame(firstField.findFirstToken(TokenTypes.SEMI).getText(),
+            firstField.getNextSibling().findFirstToken(TokenTypes.SEMI).getText());
+    }
+}
@@ -0,0 +1,141 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import antlr.ANTLRException;
+
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseErrorMessage;
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseStatus;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
+
+public class JavadocDetailNodeParserTest {
+
+    private static void collectJavadocComments(DetailAST root, List<DetailAST> comments) {
+        for (DetailAST node = root; node != null; node = node.getNextSibling()) {
+            if (node.getType() == TokenTypes.BLOCK_COMMENT_BEGIN
+                    && JavadocUtils.isJavadocComment(node)) {
+                comments.add(node);
+            }
+            collectJavadocComments(node.getFirstChild(), comments);
+        }
+    }
+
+    private static List<DetailAST> getJavadocComments(File file) throws Exception {
+        final List<DetailAST> comments = new ArrayList<>();
+        final FileText text = new FileText(file.getAbsoluteFile(), "UTF-8");
+        try {
+            collectJavadocComments(
+                JavaParser.parseWithComments(new FileContents(text), false), comments);
+        }
+        catch (ANTLRException ignored) {
+            // some inputs are not compilable on purpose
+        }
+        return comments;
+    }
+
+    private static void assertSameStatus(String message, ParseStatus expected,
+            ParseStatus actual) {
+        final ParseErrorMessage expectedError = expected.getParseErrorMessage();
+        final ParseErrorMessage actualError = actual.getParseErrorMessage();
+        if (expectedError == null) {
+            assertNull(message, actualError);
+            assertEquals(message,
+                DetailNodeTreeStringPrinter.printTree(expected.getTree(), "", ""),
+                DetailNodeTreeStringPrinter.printTree(actual.getTree(), "", ""));
+        }
+        else {
+            assertNotNull(message, actualError);
+            assertNull(message, actual.getTree());
+            assertEquals(message, expectedError.getLineNumber(), actualError.getLineNumber());
+            assertEquals(message, expectedError.getMessageKey(), actualError.getMessageKey());
+            assertArrayEquals(message, expectedError.getMessageArguments(),
+                actualError.getMessageArguments());
+        }
+    }
+
+    @Test
+    public void testSllFirstParsingConformsToLlParsing() throws Exception {
+        final File[] inputs = new File(
+            "src/test/resources/com/puppycrawl/tools/checkstyle/checks/javadoc")
+            .listFiles((dir, name) -> name.endsWith(".java"));
+        Arrays.sort(inputs);
+        final JavadocDetailNodeParser reusedParser = new JavadocDetailNodeParser();
+        int comments = 0;
+        int errors = 0;
+        for (final File input : inputs) {
+            for (final DetailAST comment : getJavadocComments(input)) {
+                final ParseStatus expected =
+                    new JavadocDetailNodeParser(false).parseJavadocAsDetailNode(comment);
+                final ParseStatus actual = reusedParser.parseJavadocAsDetailNode(comment);
+                assertSameStatus(input.getName() + ":" + comment.getLineNo(),
+                    expected, actual);
+                comments++;
+                if (expected.getParseErrorMessage() != null) {
+                    errors++;
+                }
+            }
+        }
+        assertTrue("inputs should have many Javadoc comments", comments > 100);
+        assertTrue("inputs should have invalid Javadoc comments", errors > 0);
+    }
+
+    @Test
+    public void testParserIsReusedAfterError() throws Exception {
+        final FileContents contents = new FileContents(FileText.fromLines(
+            new File("Input.java"), Arrays.asList(
+                "/** Unclosed <b> tag.",
+                " * @see Object */",
+                "class A {",
+                "    /** <pre>{@code int}</pre> */",
+                "    int field;",
+                "}")));
+        final List<DetailAST> comments = new ArrayList<>();
+        collectJavadocComments(JavaParser.parseWithComments(contents, false), comments);
+        final JavadocDetailNodeParser parser = new JavadocDetailNodeParser();
+
+        final ParseStatus invalid = parser.parseJavadocAsDetailNode(comments.get(0));
+        assertEquals(JavadocDetailNodeParser.MSG_JAVADOC_MISSED_HTML_CLOSE,
+            invalid.getParseErrorMessage().getMessageKey());
+        assertEquals(1, invalid.getParseErrorMessage().getLineNumber());
+        final ParseStatus valid = parser.parseJavadocAsDetailNode(comments.get(1));
+        assertSameStatus("parser state should be reset", new JavadocDetailNodeParser(false)
+            .parseJavadocAsDetailNode(comments.get(1)), valid);
+        assertEquals(4, valid.getTree().getLineNumber());
+        assertEquals(-1, valid.getTree().getIndex());
+        assertNull(valid.getTree().getParent());
+    }
+}
@@ -0,0 +1,103 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseStatus;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.TextBlock;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocTags;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtils.JavadocTagType;
+
+public class JavadocTreeStoreTest {
+
+    private static FileContents createContents() {
+        return new FileContents(FileText.fromLines(new File("Input.java"), Arrays.asList(
+            "/** First {@link Object}. */",
+            "class A {",
+            "    /**",
+            "     * Second.",
+            "     * @see Object",
+            "     */",
+            "    int field;",
+            "}")));
+    }
+
+    @Test
+    public void testParseStatusIsShared() throws Exception {
+        final DetailAST root = JavaParser.parseWithComments(createContents(), false);
+        final List<DetailAST> comments = new ArrayList<>();
+        collectBlockComments(root, comments);
+        assertEquals(2, comments.size());
+        final DetailAST first = comments.get(0);
+        final DetailAST second = comments.get(1);
+        final JavadocTreeStore store = new JavadocTreeStore();
+
+        final ParseStatus status = store.getParseStatus(first);
+        assertNull(status.getParseErrorMessage());
+        assertSame(status, store.getParseStatus(first));
+        assertNotSame(status, store.getParseStatus(second));
+        store.clear();
+        assertNotSame("comments should be parsed again after clearing",
+            status, store.getParseStatus(first));
+    }
+
+    @Test
+    public void testJavadocTagsAreShared() throws Exception {
+        final FileContents contents = createContents();
+        JavaParser.parse(contents, false);
+        final TextBlock javadoc = contents.getJavadocBefore(7);
+        final JavadocTreeStore store = new JavadocTreeStore();
+
+        final JavadocTags blockTags = store.getJavadocTags(javadoc, JavadocTagType.BLOCK);
+        assertEquals(1, blockTags.getValidTags().size());
+        assertEquals("see", blockTags.getValidTags().get(0).getTagName());
+        assertSame(blockTags, store.getJavadocTags(javadoc, JavadocTagType.BLOCK));
+        assertNotSame(blockTags, store.getJavadocTags(javadoc, JavadocTagType.ALL));
+        final TextBlock classJavadoc = contents.getJavadocBefore(2);
+        assertEquals(1, store.getJavadocTags(classJavadoc, JavadocTagType.INLINE)
+            .getValidTags().size());
+        assertEquals(0, store.getJavadocTags(classJavadoc, JavadocTagType.BLOCK)
+            .getValidTags().size());
+    }
+
+    private static void collectBlockComments(DetailAST node, List<DetailAST> comments) {
+        for (DetailAST child = node; child != null; child = child.getNextSibling()) {
+            if (child.getType() == TokenTypes.BLOCK_COMMENT_BEGIN) {
+                comments.add(child);
+            }
+            collectBlockComments(child.getFirstChild(), comments);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+public class LocalizedMessageCodecTest {
+
+    @Test
+    public void testEncodeAndDecode() {
+        final SortedSet<LocalizedMessage> messages = new TreeSet<>();
+        final Object[] args = {null, "text", 1, 2L, 3.5, true, 'c'};
+        messages.add(new LocalizedMessage(1, 2, "bundle", "key", args,
+            SeverityLevel.WARNING, "id", getClass(), null));
+        messages.add(new LocalizedMessage(3, 0, null, "other key", null,
+            SeverityLevel.INFO, null, Checker.class, "custom {0}"));
+
+        final SortedSet<LocalizedMessage> decoded =
+            decode(LocalizedMessageCodec.encode(messages));
+        assertEquals(messages, decoded);
+        assertArrayEquals(args, decoded.first().getArgs());
+        assertEquals(SeverityLevel.WARNING, decoded.first().getSeverityLevel());
+        assertEquals("id", decoded.first().getModuleId());
+        assertEquals(getClass().getName(), decoded.first().getSourceName());
+        assertNull(decoded.last().getArgs());
+        assertNull(decoded.last().getBundleName());
+        assertEquals("custom {0}", decoded.last().getCustomMessage());
+    }
+
+    @Test
+    public void testUnsupportedArgument() {
+        final SortedSet<LocalizedMessage> messages = new TreeSet<>();
+        messages.add(new LocalizedMessage(1, 2, "bundle", "key", new Object[] {new Object()},
+            SeverityLevel.WARNING, "id", getClass(), null));
+        assertNull(LocalizedMessageCodec.encode(messages));
+    }
+
+    @Test
+    public void testDecodeTruncatedRecord() {
+        final SortedSet<LocalizedMessage> messages = new TreeSet<>();
+        messages.add(new LocalizedMessage(1, 2, "bundle", "key", new Object[] {"arg"},
+            SeverityLevel.WARNING, "id", getClass(), null));
+        final byte[] record = LocalizedMessageCodec.encode(messages);
+        assertNull(decode(Arrays.copyOf(record, record.length - 1)));
+        assertNull(decode(Arrays.copyOf(record, record.length + 1)));
+    }
+
+    @Test
+    public void testDecodeInvalidCount() throws IOException {
+        assertNull(decode(createRecord(Integer.MAX_VALUE)));
+        assertNull(decode(createRecord(-1)));
+    }
+
+    @Test
+    public void testDecodeUnknownClass() throws IOException {
+        assertNull(decode(
+            createRecord(1, 1, 0, "error", null, "key", "bundle", "no.such.Class", null)));
+    }
+
+    @Test
+    public void testDecodeUnknownSeverity() throws IOException {
+        assertNull(decode(
+            createRecord(1, 1, 0, "fatal", null, "key", "bundle", getClass().getName(), null)));
+    }
+
+    @Test
+    public void testDecodeMissingSourceClass() throws IOException {
+        assertNull(decode(
+            createRecord(1, 1, 0, "error", null, "key", "bundle", null, null)));
+    }
+
+    @Test
+    public void testDecodeUnknownArgumentType() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(createRecord(1, 1, 0, "error", null, "key", "bundle",
+                getClass().getName(), null, 1));
+            out.writeByte(99);
+        }
+        assertNull(decode(bytes.toByteArray()));
+    }
+
+    /**
+     * Creates a record from integers and strings, a {@code null} is written
+     * as a string of length -1.
+     * @param fields the fields of the record.
+     * @return the record.
+     * @throws IOException if the record cannot be written.
+     */
+    private static byte[] createRecord(Object... fields) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (final Object field : fields) {
+                if (field instanceof Integer) {
+                    out.writeInt((Integer) field);
+                }
+                else if (field == null) {
+                    out.writeInt(-1);
+                }
+                else {
+                    final byte[] value = ((String) field).getBytes("UTF-8");
+                    out.writeInt(value.length);
+                    out.write(value);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static SortedSet<LocalizedMessage> decode(byte... record) {
+        return LocalizedMessageCodec.decode(LocalizedMessageCodecTest.class.getClassLoader(),
+            record);
+    }
+}
@@ -71,9 +71,15 @@ public class MainTest {
         + " -J,--treeWithJavadoc        Print full Abstract Syntax Tree of the file%n"
         + " -o <arg>                    Sets the output file. Defaults to stdout%n"
         + " -p <arg>                    Loads the properties file%n"
+        + "    --profile <arg>          Writes a profile of the checks to the file, as JSON"
+        + " for *.json files%n"
+        + "    --profile-allocations    Adds the bytes allocated by every check to the"
+        + " profile%n"
         + " -t,--tree                   Print Abstract Syntax Tree(AST) of the file%n"
         + " -T,--treeWithComments       Print Abstract Syntax Tree(AST) of the file"
         + " including comments%n"
+        + "    --threads <arg>          Number of threads used to process files. Defaults"
+        + " to 1%n"
         + " -v                          Print product version and exit%n"
         + " -x,--exclude-regexp <arg>   Regular expression of directory to exclude from"
         + " CheckStyle%n");
@@ -217,6 +223,74 @@ public class MainTest {
                 getPath("InputMain.java"));
     }
 
+    @Test
+    public void testWrongNumberOfThreads() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals(String.format(Locale.ROOT, "Invalid number of threads. "
+                    + "Found '0' but expected a positive number.%n"), systemOut.getLog());
+            assertEquals("", systemErr.getLog());
+        });
+        Main.main("-c", "/google_checks.xml", "--threads", "0",
+                getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testNonNumericNumberOfThreads() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals(String.format(Locale.ROOT, "Invalid number of threads. "
+                    + "Found 'many' but expected a positive number.%n"), systemOut.getLog());
+            assertEquals("", systemErr.getLog());
+        });
+        Main.main("-c", "/google_checks.xml", "--threads", "many",
+                getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testExistingDirectoryWithViolationsInParallel() throws Exception {
+        exit.checkAssertionAfterwards(() -> {
+            final String expectedPath = getFilePath("checks/metrics") + File.separator;
+            final String localizedMessage = new LocalizedMessage(0,
+                    "com.puppycrawl.tools.checkstyle.checks.sizes.messages", "maxLen.file",
+                    new Integer[] {172, 170}, null, getClass(), null).getMessage();
+            assertEquals(String.format(Locale.ROOT, "Starting audit...%n"
+                    + "[WARN] %sInputComplexityOverflow.java:1: %s [FileLength]%n"
+                    + "Audit done.%n", expectedPath, localizedMessage), systemOut.getLog());
+            assertEquals("", systemErr.getLog());
+        });
+        Main.main("-c", getPath("config-filelength.xml"), "--threads", "4",
+                getPath("checks/metrics"));
+    }
+
+    @Test
+    public void testProfile() throws Exception {
+        final File profile = new File(temporaryFolder.getRoot(), "profile.txt");
+        exit.checkAssertionAfterwards(() -> {
+            final String report = new String(Files.readAllBytes(profile.toPath()),
+                    StandardCharsets.UTF_8);
+            assertTrue(report.startsWith("Parsed 1 files in "));
+            assertTrue(report.contains("InputMain.java"));
+            assertTrue(report.contains(String.format(Locale.ROOT, "%nTypeName ")));
+        });
+        Main.main("-c", getPath("config-classname.xml"), "--profile", profile.getPath(),
+                getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testProfileInJsonWithAllocations() throws Exception {
+        final File profile = new File(temporaryFolder.getRoot(), "profile.json");
+        exit.checkAssertionAfterwards(() -> {
+            final String report = new String(Files.readAllBytes(profile.toPath()),
+                    StandardCharsets.UTF_8);
+            assertTrue(report.contains("\"name\": \"TypeName\""));
+            assertTrue(report.contains("\"allocatedBytes\": "));
+        });
+        Main.main("-c", getPath("config-classname.xml"), "--threads", "2",
+                "--profile", profile.getPath(), "--profile-allocations",
+                getPath("InputMain.java"));
+    }
+
     @Test
     public void testNonExistingClass() throws Exception {
         exit.expectSystemExitWithStatus(-2);
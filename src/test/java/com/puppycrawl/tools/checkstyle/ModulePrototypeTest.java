@@ -0,0 +1,101 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.checks.sizes.FileLengthCheck;
+
+public class ModulePrototypeTest {
+
+    private final PackageObjectFactory factory = new PackageObjectFactory(
+        Collections.singleton("com.puppycrawl.tools.checkstyle.checks.sizes."),
+        Thread.currentThread().getContextClassLoader());
+
+    @Test
+    public void testCreateModuleReturnsConfiguredInstances() throws Exception {
+        final DefaultConfiguration config = new DefaultConfiguration("FileLength");
+        config.addAttribute("max", "5");
+        final ModulePrototype prototype =
+            new ModulePrototype(config, factory, new DefaultContext());
+
+        final FileLengthCheck first = (FileLengthCheck) prototype.createModule();
+        final FileLengthCheck second = (FileLengthCheck) prototype.createModule();
+
+        assertNotSame(first, second);
+        assertEquals(5, Whitebox.getInternalState(first, "max"));
+        assertEquals(5, Whitebox.getInternalState(second, "max"));
+    }
+
+    @Test
+    public void testConfigurationIsCopied() throws Exception {
+        final DefaultConfiguration config = new DefaultConfiguration("FileLength");
+        config.addAttribute("max", "5");
+        config.addMessage("maxLen.file", "custom message");
+        config.addChild(new DefaultConfiguration("Child"));
+        final ModulePrototype prototype =
+            new ModulePrototype(config, factory, new DefaultContext());
+        config.addAttribute("max", "7");
+        config.addMessage("other", "other message");
+
+        final Configuration copy = prototype.getConfiguration();
+        assertNotSame(config, copy);
+        assertEquals("FileLength", copy.getName());
+        assertEquals("5", copy.getAttribute("max"));
+        assertEquals(Collections.singletonMap("maxLen.file", "custom message"),
+            copy.getMessages());
+        assertEquals(1, copy.getChildren().length);
+        assertEquals("Child", copy.getChildren()[0].getName());
+    }
+
+    @Test
+    public void testCreateModuleWithInvalidProperty() throws Exception {
+        final DefaultConfiguration config = new DefaultConfiguration("FileLength");
+        config.addAttribute("unknown", "value");
+        final ModulePrototype prototype =
+            new ModulePrototype(config, factory, new DefaultContext());
+        try {
+            prototype.createModule();
+            fail("exception expected");
+        }
+        catch (CheckstyleException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().startsWith(
+                "cannot initialize module FileLength - Property 'unknown'"));
+        }
+    }
+
+    @Test
+    public void testCreateModuleNotAutomaticBean() throws Exception {
+        final DefaultConfiguration config = new DefaultConfiguration(String.class.getName());
+        final ModulePrototype prototype =
+            new ModulePrototype(config, factory, new DefaultContext());
+        assertEquals("", prototype.createModule());
+    }
+}
@@ -21,6 +21,7 @@ package com.puppycrawl.tools.checkstyle;
 
 import static junit.framework.TestCase.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 
 import java.lang.reflect.Method;
 import java.util.Collections;
@@ -64,6 +65,16 @@ public class PackageObjectFactoryTest {
         assertNotNull(check);
     }
 
+    @Test
+    public void testCreateModuleTwiceReturnsNewInstances()
+            throws CheckstyleException {
+        final String name = "com.puppycrawl.tools.checkstyle.checks.naming.ConstantName";
+        final Object first = factory.createModule(name);
+        final Object second = factory.createModule(name);
+        assertEquals(ConstantNameCheck.class, second.getClass());
+        assertNotSame(first, second);
+    }
+
     @Test
     public void testJoinPackageNamesWhichContainNullWithClassName() throws Exception {
         final Class<PackageObjectFactory> clazz = PackageObjectFactory.class;
@@ -22,6 +22,7 @@ package com.puppycrawl.tools.checkstyle;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
@@ -32,13 +33,19 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
+import java.util.Properties;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -48,6 +55,8 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({ PropertyCacheFile.class, PropertyCacheFileTest.class })
@@ -84,6 +93,184 @@ public class PropertyCacheFileTest {
         assertFalse(cache.isInCache("myFile1", 1));
     }
 
+    @Test
+    public void testInCacheWithContentHash() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final String filePath = temporaryFolder.newFile().getPath();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
+        cache.put("myFile", 1, 10, "abc");
+        assertTrue(cache.isInCache("myFile", 1));
+        assertTrue(cache.isInCache("myFile", 1, 10));
+        assertFalse(cache.isInCache("myFile", 2, 10));
+        assertFalse(cache.isInCache("myFile", 1, 11));
+        assertFalse(cache.isInCache("myFile1", 1, 10));
+        assertTrue(cache.isContentInCache("myFile", 10, "abc"));
+        assertFalse(cache.isContentInCache("myFile", 11, "abc"));
+        assertFalse(cache.isContentInCache("myFile", 10, "abd"));
+        assertFalse(cache.isContentInCache("myFile1", 10, "abc"));
+    }
+
+    @Test
+    public void testTimestampOnlyEntryHasNoContentHash() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final String filePath = temporaryFolder.newFile().getPath();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
+        cache.put("myFile", 1);
+        assertFalse(cache.isInCache("myFile", 1, 0));
+        assertFalse(cache.isContentInCache("myFile", 0, "0"));
+    }
+
+    @Test
+    public void testMessagesInCache() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final String filePath = temporaryFolder.newFile().getPath();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
+        cache.load();
+        final SortedSet<LocalizedMessage> messages = new TreeSet<>();
+        messages.add(new LocalizedMessage(1, 2, "bundle", "key", new Object[] {"arg", 3},
+            SeverityLevel.WARNING, "id", getClass(), null));
+        messages.add(new LocalizedMessage(4, 0, "bundle", "key", null,
+            SeverityLevel.ERROR, null, getClass(), "custom"));
+        cache.put("myFile", 1, 10, "abc", messages);
+        cache.put("cleanFile", 1, 10, "abc", new TreeSet<>());
+        cache.persist();
+
+        final PropertyCacheFile loaded = new PropertyCacheFile(config, filePath);
+        loaded.load();
+        assertTrue(loaded.isContentInCache("myFile", 10, "abc"));
+        final SortedSet<LocalizedMessage> loadedMessages = loaded.getMessages("myFile");
+        assertEquals(messages, loadedMessages);
+        assertEquals("WARNING", loadedMessages.first().getSeverityLevel().name());
+        assertEquals("id", loadedMessages.first().getModuleId());
+        assertEquals("custom", loadedMessages.last().getMessage());
+        assertTrue(loaded.getMessages("cleanFile").isEmpty());
+
+        loaded.put("myFile", 2, 10, "abc", new TreeSet<>());
+        assertTrue(loaded.getMessages("myFile").isEmpty());
+    }
+
+    @Test
+    public void testMessagesWhichCannotBeStored() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final String filePath = temporaryFolder.newFile().getPath();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
+        final SortedSet<LocalizedMessage> messages = new TreeSet<>();
+        messages.add(new LocalizedMessage(1, 2, "bundle", "key", new Object[] {new Object()},
+            SeverityLevel.WARNING, "id", getClass(), null));
+        cache.put("myFile", 1, 10, "abc", messages);
+        assertFalse(cache.isInCache("myFile", 1));
+        assertTrue(cache.getMessages("myFile").isEmpty());
+    }
+
+    @Test
+    public void testBrokenMessagesInCache() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File file = temporaryFolder.newFile();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, file.getPath());
+        cache.load();
+        cache.put("myFile", 1, 10, "abc");
+        cache.persist();
+        Files.write(file.toPath(), ("\n" + PropertyCacheFile.MESSAGES_KEY_PREFIX.replace("*", "\\*")
+            .replace("?", "\\?") + "myFile=broken\n").getBytes(StandardCharsets.ISO_8859_1),
+            StandardOpenOption.APPEND);
+
+        final PropertyCacheFile loaded = new PropertyCacheFile(config, file.getPath());
+        loaded.load();
+        assertTrue(loaded.isInCache("myFile", 1, 10));
+        assertNull(loaded.getMessages("myFile"));
+    }
+
+    @Test
+    public void testBinaryFormat() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final String filePath = new File(temporaryFolder.getRoot(), "cache.bin").getPath();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
+        cache.load();
+        cache.put("myFile", 1, 10, "abc");
+        cache.put("otherFile", 2);
+        cache.persist();
+
+        final PropertyCacheFile loaded = new PropertyCacheFile(config, filePath);
+        loaded.load();
+        assertNotNull(loaded.get(PropertyCacheFile.CONFIG_HASH_KEY));
+        assertTrue(loaded.isInCache("myFile", 1));
+        assertTrue(loaded.isInCache("myFile", 1, 10));
+        assertFalse(loaded.isInCache("myFile", 1, 11));
+        assertTrue(loaded.isContentInCache("myFile", 10, "abc"));
+        assertFalse(loaded.isContentInCache("myFile", 10, "abd"));
+        assertTrue(loaded.isInCache("otherFile", 2));
+        assertFalse(loaded.isInCache("otherFile", 2, -1));
+        assertFalse(loaded.isContentInCache("otherFile", -1, "0"));
+
+        final PropertyCacheFile changedConfig =
+            new PropertyCacheFile(new DefaultConfiguration("otherName"), filePath);
+        changedConfig.load();
+        assertFalse(changedConfig.isInCache("myFile", 1));
+    }
+
+    @Test
+    public void testMessagesInBinaryFormat() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final String filePath = new File(temporaryFolder.getRoot(), "cache.bin").getPath();
+        final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
+        cache.load();
+        final SortedSet<LocalizedMessage> messages = new TreeSet<>();
+        messages.add(new LocalizedMessage(1, 2, "bundle", "key", new Object[] {"arg", 3},
+            SeverityLevel.WARNING, "id", getClass(), null));
+        cache.put("myFile", 1, 10, "abc", messages);
+        cache.put("cleanFile", 1, 10, "abc", new TreeSet<>());
+        assertEquals(messages, cache.getMessages("myFile"));
+        cache.persist();
+        assertNull("violations should not be stored in the header",
+            cache.get(PropertyCacheFile.MESSAGES_KEY_PREFIX + "myFile"));
+
+        final PropertyCacheFile loaded = new PropertyCacheFile(config, filePath);
+        loaded.load();
+        assertTrue(loaded.isContentInCache("myFile", 10, "abc"));
+        assertEquals(messages, loaded.getMessages("myFile"));
+        assertTrue(loaded.getMessages("cleanFile").isEmpty());
+
+        Files.write(Paths.get(filePath + ".messages"), new byte[0]);
+        final PropertyCacheFile broken = new PropertyCacheFile(config, filePath);
+        broken.load();
+        assertNull("lost violations should not be replayed", broken.getMessages("myFile"));
+    }
+
+    @Test
+    public void testPropertyFileIsConvertedToBinaryFormat() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final String propertyFilePath = temporaryFolder.newFile().getPath();
+        final PropertyCacheFile propertyCache = new PropertyCacheFile(config, propertyFilePath);
+        propertyCache.load();
+        propertyCache.putExternalResources(Collections.singleton("dummy"));
+        propertyCache.put("myFile", 1, 10, "abc");
+        propertyCache.put("otherFile", 2);
+        final SortedSet<LocalizedMessage> messages = new TreeSet<>();
+        messages.add(new LocalizedMessage(1, 2, "bundle", "key", new Object[] {"arg"},
+            SeverityLevel.WARNING, "id", getClass(), null));
+        propertyCache.put("fileWithViolations", 3, 10, "abc", messages);
+        propertyCache.persist();
+        final File binaryFile = new File(temporaryFolder.getRoot(), "cache.bin");
+        Files.copy(Paths.get(propertyFilePath), binaryFile.toPath());
+
+        final PropertyCacheFile cache = new PropertyCacheFile(config, binaryFile.getPath());
+        cache.load();
+        assertTrue(cache.isContentInCache("myFile", 10, "abc"));
+        assertTrue(cache.isInCache("otherFile", 2));
+        assertNull(cache.get("myFile"));
+        assertNull(cache.get(PropertyCacheFile.MESSAGES_KEY_PREFIX + "fileWithViolations"));
+        assertNotNull(cache.get("dummy"));
+        cache.persist();
+
+        final PropertyCacheFile loaded = new PropertyCacheFile(config, binaryFile.getPath());
+        loaded.load();
+        assertTrue(loaded.isContentInCache("myFile", 10, "abc"));
+        assertTrue(loaded.isInCache("otherFile", 2));
+        assertEquals(messages, loaded.getMessages("fileWithViolations"));
+        assertEquals(propertyCache.get("dummy"), loaded.get("dummy"));
+        assertTrue(new BinaryCacheFile(binaryFile.toPath()).load(new Properties()));
+    }
+
     @Test
     public void testConfigHashOnReset() throws IOException {
         final Configuration config = new DefaultConfiguration("myName");
@@ -19,6 +19,10 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -29,20 +33,31 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.checks.TodoCommentCheck;
 import com.puppycrawl.tools.checkstyle.checks.coding.HiddenFieldCheck;
 import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocPackageCheck;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocParagraphCheck;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocTypeCheck;
 import com.puppycrawl.tools.checkstyle.checks.naming.ConstantNameCheck;
 import com.puppycrawl.tools.checkstyle.checks.naming.TypeNameCheck;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
@@ -251,6 +266,146 @@ public class TreeWalkerTest extends BaseCheckTestSupport {
         }
     }
 
+    @Test
+    public void testCommentNodesAreNotAppendedWithoutCommentChecks() throws Exception {
+        final DefaultConfiguration checkConfig = createCheckConfig(RootRecordingCheck.class);
+        final File file = temporaryFolder.newFile("file.java");
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("/* header */ class Main { // comment\n int field; }");
+        }
+        verify(checkConfig, file.getPath(), CommonUtils.EMPTY_STRING_ARRAY);
+
+        final DetailAST root = RootRecordingCheck.rootAst;
+        assertNull(root.getPreviousSibling());
+        final DetailAST leftCurly = root.findFirstToken(TokenTypes.OBJBLOCK).getFirstChild();
+        assertEquals(TokenTypes.VARIABLE_DEF, leftCurly.getNextSibling().getType());
+    }
+
+    @Test
+    public void testProfile() throws Exception {
+        final AuditProfile profile = AuditProfile.create("profile.txt", false);
+        final TreeWalker treeWalker = new TreeWalker();
+        treeWalker.setProfile(profile);
+        treeWalker.configure(new DefaultConfiguration("default config"));
+        final PackageObjectFactory factory = new PackageObjectFactory(
+            new HashSet<>(), Thread.currentThread().getContextClassLoader());
+        treeWalker.setModuleFactory(factory);
+        treeWalker.setupChild(createCheckConfig(TypeNameCheck.class));
+        final DefaultConfiguration todoConfig = createCheckConfig(TodoCommentCheck.class);
+        todoConfig.addAttribute("id", "todo");
+        treeWalker.setupChild(todoConfig);
+        final File file = temporaryFolder.newFile("file.java");
+        final List<String> lines = new ArrayList<>();
+        lines.add("class A { // TODO: remove");
+        lines.add("    class B { } }");
+        treeWalker.processFiltered(file, lines);
+        treeWalker.processFiltered(file, lines);
+        assertNull("measurements should be added when processing is finished",
+            profile.getStatistics("todo"));
+        treeWalker.finishProcessing();
+
+        final AuditProfile.Statistics typeName = profile.getStatistics(
+            TypeNameCheck.class.getName());
+        assertEquals(2, typeName.getCalls(AuditProfile.Event.BEGIN_TREE));
+        assertEquals(4, typeName.getCalls(AuditProfile.Event.VISIT_TOKEN));
+        assertEquals(4, typeName.getCalls(AuditProfile.Event.LEAVE_TOKEN));
+        assertEquals(2, typeName.getCalls(AuditProfile.Event.FINISH_TREE));
+        final AuditProfile.Statistics todo = profile.getStatistics("todo");
+        assertEquals(2, todo.getCalls(AuditProfile.Event.VISIT_TOKEN));
+        assertNotNull(profile.getParseTime(file.getPath()));
+        assertNotNull(profile.getCommentTime(file.getPath()));
+    }
+
+    @Test
+    public void testProfileWithoutCommentChecks() throws Exception {
+        final AuditProfile profile = AuditProfile.create("profile.txt", false);
+        final TreeWalker treeWalker = new TreeWalker();
+        treeWalker.setProfile(profile);
+        treeWalker.configure(new DefaultConfiguration("default config"));
+        final PackageObjectFactory factory = new PackageObjectFactory(
+            new HashSet<>(), Thread.currentThread().getContextClassLoader());
+        treeWalker.setModuleFactory(factory);
+        treeWalker.setupChild(createCheckConfig(TypeNameCheck.class));
+        final File file = temporaryFolder.newFile("file.java");
+        treeWalker.processFiltered(file, Collections.singletonList("class A { } // comment"));
+        treeWalker.finishProcessing();
+
+        assertNotNull(profile.getParseTime(file.getPath()));
+        assertNull("comment nodes should not be appended", profile.getCommentTime(file.getPath()));
+    }
+
+    @Test
+    public void testFastParser() throws Exception {
+        final TreeWalker treeWalker = new TreeWalker();
+        treeWalker.setFastParser(true);
+        treeWalker.configure(new DefaultConfiguration("default config"));
+        final PackageObjectFactory factory = new PackageObjectFactory(
+            new HashSet<>(), Thread.currentThread().getContextClassLoader());
+        treeWalker.setModuleFactory(factory);
+        treeWalker.setupChild(createCheckConfig(RootRecordingCheck.class));
+        final File file = temporaryFolder.newFile("file.java");
+        final List<String> lines = new ArrayList<>();
+        lines.add("class Main {");
+        lines.add("    Runnable field = () -> { };");
+        lines.add("}");
+        treeWalker.processFiltered(file, lines);
+
+        final DetailAST expected = TreeWalker.parse(
+            new FileContents(FileText.fromLines(file, lines)));
+        assertEquals(expected.toStringList(), RootRecordingCheck.rootAst.toStringList());
+    }
+
+    @Test
+    public void testIndexDrivenCheck() throws Exception {
+        final DefaultConfiguration checkConfig = createCheckConfig(IndexDrivenCheck.class);
+        checkConfig.addAttribute("tokens", "IDENT, METHOD_DEF");
+        final TreeWalker treeWalker = new TreeWalker();
+        treeWalker.configure(new DefaultConfiguration("default config"));
+        final PackageObjectFactory factory = new PackageObjectFactory(
+            new HashSet<>(), Thread.currentThread().getContextClassLoader());
+        treeWalker.setModuleFactory(factory);
+        treeWalker.setupChild(checkConfig);
+        final File file = temporaryFolder.newFile("file.java");
+        final List<String> lines = new ArrayList<>();
+        lines.add("class Main {");
+        lines.add("    void method(int parameter) { }");
+        lines.add("}");
+        IndexDrivenCheck.VISITED.clear();
+        treeWalker.processFiltered(file, lines);
+
+        assertEquals(Arrays.asList("Main", "METHOD_DEF", "method", "parameter"),
+            IndexDrivenCheck.VISITED);
+    }
+
+    @Test
+    public void testJavadocTreeStoreIsShared() throws Exception {
+        final TreeWalker treeWalker = new TreeWalker();
+        treeWalker.configure(new DefaultConfiguration("default config"));
+        final PackageObjectFactory factory = new PackageObjectFactory(
+            new HashSet<>(), Thread.currentThread().getContextClassLoader());
+        treeWalker.setModuleFactory(factory);
+        treeWalker.setupChild(createCheckConfig(JavadocParagraphCheck.class));
+        treeWalker.setupChild(createCheckConfig(JavadocTypeCheck.class));
+        final JavadocTreeStore store =
+            (JavadocTreeStore) Whitebox.getInternalState(treeWalker, "javadocTreeStore");
+        final Set<?> checks = (Set<?>) Whitebox.getInternalState(treeWalker, "commentChecks");
+        assertSame(store, Whitebox.getInternalState(checks.iterator().next(),
+            "javadocTreeStore"));
+        final Set<?> ordinaryChecks =
+            (Set<?>) Whitebox.getInternalState(treeWalker, "ordinaryChecks");
+        assertSame(store, Whitebox.getInternalState(ordinaryChecks.iterator().next(),
+            "javadocTreeStore"));
+
+        final File file = temporaryFolder.newFile("file.java");
+        final List<String> lines = new ArrayList<>();
+        lines.add("/** Javadoc. */");
+        lines.add("class Main { }");
+        treeWalker.processFiltered(file, lines);
+        assertEquals("parsed comments should be dropped after the file",
+            0, ((Map<?, ?>) Whitebox.getInternalState(store, "parseStatuses")).size());
+    }
+
     private static class BadJavaDocCheck extends AbstractCheck {
         @Override
         public int[] getDefaultTokens() {
@@ -285,6 +440,64 @@ public class TreeWalkerTest extends BaseCheckTestSupport {
         }
     }
 
+    private static class RootRecordingCheck extends AbstractCheck {
+        private static DetailAST rootAst;
+
+        @Override
+        public int[] getDefaultTokens() {
+            return new int[] {TokenTypes.CLASS_DEF};
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return getDefaultTokens();
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return getDefaultTokens();
+        }
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            rootAst = rootAST;
+        }
+    }
+
+    private static class IndexDrivenCheck extends AbstractCheck {
+        private static final List<String> VISITED = new ArrayList<>();
+
+        @Override
+        public boolean isIndexDriven() {
+            return true;
+        }
+
+        @Override
+        public int[] getDefaultTokens() {
+            return getAcceptableTokens();
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return new int[] {TokenTypes.IDENT, TokenTypes.METHOD_DEF};
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return CommonUtils.EMPTY_INT_ARRAY;
+        }
+
+        @Override
+        public void visitToken(DetailAST ast) {
+            VISITED.add(ast.getText());
+        }
+
+        @Override
+        public void leaveToken(DetailAST ast) {
+            fail("leaveToken should not be called for index driven checks");
+        }
+    }
+
     private static class RequiredTokenIsEmptyIntArray extends AbstractCheck {
         @Override
         public int[] getRequiredTokens() {
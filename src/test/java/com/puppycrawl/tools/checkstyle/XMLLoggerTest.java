@@ -64,6 +64,8 @@ public class XMLLoggerTest {
             {"&#0;", "&#0;"}, //reference
             {"&#0", "&amp;#0"}, //not reference
             {"&#X0;", "&amp;#X0;"}, //not reference
+            {"a < b & 'c'", "a &lt; b &amp; &apos;c&apos;"},
+            {"no special chars", "no special chars"},
         };
         for (String[] encoding : encodings) {
             final String encoded = XMLLogger.encode(encoding[0]);
@@ -27,6 +27,8 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -37,7 +39,9 @@ import org.apache.tools.ant.Project;
 import org.apache.tools.ant.types.FileSet;
 import org.apache.tools.ant.types.Path;
 import org.apache.tools.ant.types.Reference;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.powermock.api.mockito.PowerMockito;
 
 import com.puppycrawl.tools.checkstyle.BaseCheckTestSupport;
@@ -52,6 +56,9 @@ public class CheckstyleAntTaskTest extends BaseCheckTestSupport {
     private static final String NOT_EXISTING_FILE = "target/not_existing.xml";
     private static final String FAILURE_PROPERTY_VALUE = "myValue";
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private CheckstyleAntTask getCheckstyleAntTask() throws IOException {
         final CheckstyleAntTask antTask = new CheckstyleAntTask();
         antTask.setConfig(new File(getPath(CONFIG_FILE)));
@@ -75,6 +82,21 @@ public class CheckstyleAntTaskTest extends BaseCheckTestSupport {
         antTask.execute();
     }
 
+    @Test
+    public final void testProfile() throws IOException {
+        final CheckstyleAntTask antTask = getCheckstyleAntTask();
+        antTask.setFile(new File(getPath(FLAWLESS_INPUT)));
+        final File profile = new File(temporaryFolder.getRoot(), "profile.json");
+        antTask.setProfileFile(profile);
+        antTask.setProfileAllocations(true);
+        antTask.execute();
+
+        final String report = new String(Files.readAllBytes(profile.toPath()),
+            StandardCharsets.UTF_8);
+        assertTrue(report.contains("\"name\": \"LineLength\""));
+        assertTrue(report.contains("InputCheckstyleAntTaskFlawless.java"));
+    }
+
     @Test
     public final void testNoConfigFile() throws IOException {
         final CheckstyleAntTask antTask = new CheckstyleAntTask();
@@ -19,10 +19,14 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+import com.puppycrawl.tools.checkstyle.utils.TokenUtils;
 
 public class AbstractCheckTest {
 
@@ -73,4 +77,49 @@ public class AbstractCheckTest {
         // Eventually it will become clear abstract method
         check.visitToken(null);
     }
+
+    @Test
+    public void testGetNodesOfType() {
+        final AbstractCheck check = new AbstractCheck() {
+            @Override
+            public int[] getDefaultTokens() {
+                return CommonUtils.EMPTY_INT_ARRAY;
+            }
+        };
+        Assert.assertFalse(check.isIndexDriven());
+        Assert.assertEquals(Collections.emptyList(), check.getNodesOfType(TokenTypes.IDENT));
+
+        final DetailAST root = createNode(TokenTypes.CLASS_DEF);
+        final DetailAST name = createNode(TokenTypes.IDENT);
+        final DetailAST block = createNode(TokenTypes.OBJBLOCK);
+        final DetailAST field = createNode(TokenTypes.VARIABLE_DEF);
+        final DetailAST fieldName = createNode(TokenTypes.IDENT);
+        root.addChild(name);
+        root.addChild(block);
+        block.addChild(field);
+        field.addChild(fieldName);
+        final DetailAST next = createNode(TokenTypes.CLASS_DEF);
+        root.setNextSibling(next);
+        check.setTreeRoot(root);
+
+        Assert.assertEquals(Arrays.asList(name, fieldName),
+            check.getNodesOfType(TokenTypes.IDENT));
+        Assert.assertEquals(Arrays.asList(root, name, field, fieldName, next),
+            check.getNodesOfType(TokenTypes.IDENT, TokenTypes.VARIABLE_DEF,
+                TokenTypes.CLASS_DEF));
+        Assert.assertEquals(Collections.emptyList(), check.getNodesOfType(TokenTypes.LITERAL_IF));
+        Assert.assertEquals(Collections.emptyList(), check.getNodesOfType(-1));
+        Assert.assertEquals(Collections.emptyList(),
+            check.getNodesOfType(TokenUtils.getTokenCount() + 1));
+
+        block.addChild(createNode(TokenTypes.METHOD_DEF));
+        Assert.assertEquals("index should be rebuilt after the tree has changed",
+            1, check.getNodesOfType(TokenTypes.METHOD_DEF).size());
+    }
+
+    private static DetailAST createNode(int type) {
+        final DetailAST node = new DetailAST();
+        node.setType(type);
+        return node;
+    }
 }
@@ -20,16 +20,21 @@
 package com.puppycrawl.tools.checkstyle.api;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.lang.reflect.Method;
 import java.text.MessageFormat;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Set;
 
 import org.junit.Test;
 
 import com.puppycrawl.tools.checkstyle.TreeWalker;
+import com.puppycrawl.tools.checkstyle.utils.TokenUtils;
 
 /**
  * TestCase to check DetailAST.
@@ -116,6 +121,75 @@ public class DetailASTTest {
         assertEquals(firstLevelC, firstLevelA.getNextSibling());
     }
 
+    @Test
+    public void testBranchContains() throws Exception {
+        final FileText text = new FileText(new File("src/test/resources/com/puppycrawl/tools/"
+            + "checkstyle/grammars/InputRegressionJavaClass1.java"), "UTF-8");
+        final DetailAST root = TreeWalker.parseWithComments(new FileContents(text));
+        checkBranchContains(root);
+    }
+
+    @Test
+    public void testBranchContainsAfterChange() {
+        final DetailAST root = createNode(TokenTypes.CLASS_DEF);
+        final DetailAST child = createNode(TokenTypes.OBJBLOCK);
+        root.setFirstChild(child);
+        assertTrue(root.branchContains(TokenTypes.OBJBLOCK));
+        assertFalse(root.branchContains(TokenTypes.METHOD_DEF));
+        assertFalse(child.branchContains(TokenTypes.CLASS_DEF));
+        assertFalse(root.branchContains(-1));
+
+        child.addChild(createNode(TokenTypes.METHOD_DEF));
+        assertTrue(root.branchContains(TokenTypes.METHOD_DEF));
+        assertTrue(child.branchContains(TokenTypes.METHOD_DEF));
+
+        child.getFirstChild().setType(TokenTypes.CTOR_DEF);
+        assertFalse(root.branchContains(TokenTypes.METHOD_DEF));
+        assertTrue(root.branchContains(TokenTypes.CTOR_DEF));
+
+        final DetailAST constructor = child.getFirstChild();
+        child.setFirstChild(null);
+        assertFalse(root.branchContains(TokenTypes.CTOR_DEF));
+        final DetailAST otherRoot = createNode(TokenTypes.INTERFACE_DEF);
+        otherRoot.setFirstChild(constructor);
+        assertTrue(otherRoot.branchContains(TokenTypes.CTOR_DEF));
+        assertFalse(root.branchContains(TokenTypes.CTOR_DEF));
+    }
+
+    @Test
+    public void testBranchContainsWithWrongParent() throws Exception {
+        final DetailAST root = createNode(TokenTypes.CLASS_DEF);
+        final DetailAST child = createNode(TokenTypes.OBJBLOCK);
+        final DetailAST grandChild = createNode(TokenTypes.METHOD_DEF);
+        root.setFirstChild(child);
+        child.setFirstChild(grandChild);
+        getSetParentMethod().invoke(grandChild, createNode(TokenTypes.ENUM_DEF));
+
+        assertTrue(grandChild.branchContains(TokenTypes.METHOD_DEF));
+        assertFalse(grandChild.branchContains(TokenTypes.ENUM_DEF));
+        assertTrue(root.branchContains(TokenTypes.METHOD_DEF));
+    }
+
+    private static DetailAST createNode(int type) {
+        final DetailAST node = new DetailAST();
+        node.setType(type);
+        return node;
+    }
+
+    private static Set<Integer> checkBranchContains(DetailAST node) {
+        final Set<Integer> types = new HashSet<>();
+        types.add(node.getType());
+        for (DetailAST child = node.getFirstChild(); child != null;
+                child = child.getNextSibling()) {
+            types.addAll(checkBranchContains(child));
+        }
+        for (int type = 0; type <= TokenUtils.getTokenCount() + 1; type++) {
+            assertEquals("Wrong result for " + node + " and type " + type,
+                types.contains(type), node.branchContains(type));
+        }
+        return types;
+    }
+
     @Test
     public void testTreeStructure() throws Exception {
         checkDir(new File("src/test/resources/com/puppycrawl/tools/checkstyle"));
@@ -19,10 +19,15 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.junit.Test;
@@ -37,6 +42,20 @@ public class FileContentsTest {
         o.getFilename();
     }
 
+    @Test
+    public void testLinesAreNotCopied() {
+        final FileText text = FileText.fromLines(new File("filename"),
+                Arrays.asList("class A {", "}"));
+        final FileContents contents = new FileContents(text);
+
+        assertSame(text, contents.getText());
+        assertSame(text.get(1), contents.getLine(1));
+        final String[] lines = contents.getLines();
+        assertArrayEquals(new String[] {"class A {", "}"}, lines);
+        assertNotSame("getLines() should return a copy", lines, contents.getLines());
+        assertEquals(2, contents.getText().size());
+    }
+
     @Test
     public void testCppCommentNotIntersect() {
         // just to make UT coverage 100%
@@ -55,4 +74,24 @@ public class FileContentsTest {
         assertTrue(o.hasIntersectionWithComment(1, 5, 1, 6));
 
     }
+
+    @Test
+    public void testCommentsReportedByLexerAreCollectedOnDemand() {
+        final FileContents contents = new FileContents(FileText.fromLines(new File("filename"),
+            Arrays.asList("/** Javadoc. */", "class A { // comment", "    /* block", "    */ }")));
+        contents.reportBlockComment("", 1, 0, 1, 14);
+        contents.reportSingleLineComment("", 2, 10);
+        for (int i = 0; i < 100; i++) {
+            contents.reportSingleLineComment("", 2, 10);
+        }
+        contents.reportBlockComment("", 3, 4, 4, 5);
+
+        assertEquals("/** Javadoc. */", contents.getJavadocBefore(2).getText()[0]);
+        assertEquals("// comment", contents.getCppComments().get(2).getText()[0]);
+        assertArrayEquals(new String[] {"/* block", "    */"},
+            contents.getCComments().get(3).get(0).getText());
+        assertEquals("comments should be collected only once",
+            1, contents.getCComments().get(1).size());
+        assertTrue(contents.hasIntersectionWithComment(4, 0, 4, 1));
+    }
 }
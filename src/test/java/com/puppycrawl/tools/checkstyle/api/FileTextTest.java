@@ -24,10 +24,19 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.CRC32;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class FileTextTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testUnsupportedCharset() throws IOException {
         // just to make UT coverage 100%
@@ -68,4 +77,77 @@ public class FileTextTest {
         final FileText copy = new FileText(o);
         assertEquals(3, copy.lineColumn(100).getLine());
     }
+
+    @Test
+    public void testChecksumOfFileContent() throws IOException {
+        final File file = new File("src/test/resources/com/puppycrawl/tools/"
+                 + "checkstyle/api/import-control_complete.xml");
+        final CRC32 checksum = new CRC32();
+        new FileText(file, "ISO-8859-1", checksum);
+
+        final CRC32 expected = new CRC32();
+        expected.update(Files.readAllBytes(file.toPath()));
+        assertEquals(expected.getValue(), checksum.getValue());
+    }
+
+    @Test
+    public void testLineTerminators() throws IOException {
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), "a\nb\r\nc\rd\n\ne".getBytes(StandardCharsets.UTF_8));
+        final FileText text = new FileText(file, "UTF-8");
+        assertEquals("a\nb\r\nc\rd\n\ne", text.getFullText());
+        assertEquals(Arrays.asList("a", "b", "c", "d", "", "e"), text);
+        assertEquals(new LineColumn(4, 0), text.lineColumn(7));
+    }
+
+    @Test
+    public void testTrailingTerminatorAndEmptyFile() throws IOException {
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), "a\r\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals(Arrays.asList("a"), new FileText(file, "UTF-8"));
+
+        final File empty = temporaryFolder.newFile("Empty.java");
+        assertEquals(0, new FileText(empty, "UTF-8").size());
+    }
+
+    @Test
+    public void testMalformedInputIsReplaced() throws IOException {
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), new byte[] {'a', (byte) 0xFF, 'b'});
+        final FileText text = new FileText(file, "UTF-8");
+        final char replacement = 0xFFFD;
+        assertEquals("a" + replacement + "b", text.get(0));
+    }
+
+    @Test
+    public void testLineColumnOfEveryPosition() throws IOException {
+        final String content = "ab\r\n\rc\n\r\nd";
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        final FileText text = new FileText(file, "UTF-8");
+
+        int line = 1;
+        int column = 0;
+        for (int pos = 0; pos < content.length(); pos++) {
+            assertEquals("position " + pos, new LineColumn(line, column), text.lineColumn(pos));
+            final char chr = content.charAt(pos);
+            if (chr == '\n' || chr == '\r' && content.charAt(pos + 1) != '\n') {
+                line++;
+                column = 0;
+            }
+            else {
+                column++;
+            }
+        }
+    }
+
+    @Test
+    public void testLineColumnOfJoinedLines() {
+        final FileText text = FileText.fromLines(new File("Input.java"),
+            Arrays.asList("ab", "", "c"));
+        assertEquals("ab\n\nc\n", text.getFullText());
+        assertEquals(new LineColumn(1, 2), text.lineColumn(2));
+        assertEquals(new LineColumn(2, 0), text.lineColumn(3));
+        assertEquals(new LineColumn(3, 1), text.lineColumn(5));
+    }
 }
@@ -22,6 +22,10 @@ package com.puppycrawl.tools.checkstyle.api;
 import static com.puppycrawl.tools.checkstyle.utils.CommonUtils.EMPTY_BYTE_ARRAY;
 import static com.puppycrawl.tools.checkstyle.utils.CommonUtils.EMPTY_OBJECT_ARRAY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.when;
 
@@ -30,11 +34,15 @@ import java.io.IOException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.text.MessageFormat;
 import java.util.Locale;
 
 import org.junit.After;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+
+import com.google.common.cache.Cache;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
 
@@ -141,6 +149,65 @@ public class LocalizedMessageTest {
         assertEquals("Empty statement.", localizedMessage.getMessage());
     }
 
+    @Test
+    public void testMessageIsFormattedOnce() {
+        final LocalizedMessage localizedMessage = createSampleLocalizedMessage();
+        LocalizedMessage.setLocale(Locale.ENGLISH);
+
+        final String message = localizedMessage.getMessage();
+        assertSame(message, localizedMessage.getMessage());
+    }
+
+    @Test
+    public void testMessageIsFormattedAgainForNewLocale() {
+        final LocalizedMessage localizedMessage = createSampleLocalizedMessage();
+        LocalizedMessage.setLocale(Locale.ENGLISH);
+        assertEquals("Empty statement.", localizedMessage.getMessage());
+
+        LocalizedMessage.setLocale(Locale.FRENCH);
+        assertEquals("Instruction vide.", localizedMessage.getMessage());
+
+        LocalizedMessage.setLocale(Locale.ENGLISH);
+        assertEquals("Empty statement.", localizedMessage.getMessage());
+    }
+
+    @Test
+    public void testFormatCacheIsBounded() {
+        final int capacity = Whitebox.getInternalState(LocalizedMessage.class,
+            "MAX_CACHED_FORMATS");
+        final LocalizedMessage first = new LocalizedMessage(0, "bundle", "Pattern {0}",
+            new Object[] {"first"}, "module", LocalizedMessage.class, null);
+        assertEquals("Pattern first", first.getMessage());
+        final int count = capacity * 2;
+        for (int i = 0; i < count; i++) {
+            final LocalizedMessage message = new LocalizedMessage(0, "bundle",
+                "Pattern " + i + " {0}", new Object[] {"arg"}, "module",
+                LocalizedMessage.class, null);
+            assertEquals("Pattern " + i + " arg", message.getMessage());
+        }
+
+        final Cache<String, MessageFormat> formats =
+            Whitebox.getInternalState(LocalizedMessage.class, "FORMAT_CACHE");
+        assertTrue(formats.size() <= capacity);
+        assertNull(formats.getIfPresent("Pattern {0}"));
+        assertNotNull(formats.getIfPresent("Pattern " + (count - 1) + " {0}"));
+        assertEquals("Pattern first", first.getMessage());
+    }
+
+    @Test
+    public void testCachedFormatsKeepArguments() {
+        final LocalizedMessage first = new LocalizedMessage(0, "bundle", "Value ''{0}'' {1}.",
+            new Object[] {"a", 1}, "module", LocalizedMessage.class, null);
+        final LocalizedMessage second = new LocalizedMessage(0, "bundle", "Value ''{0}'' {1}.",
+            new Object[] {"b", 2}, "module", LocalizedMessage.class, null);
+        final LocalizedMessage custom = new LocalizedMessage(0, "bundle", "key",
+            new Object[] {"c", 3}, "module", LocalizedMessage.class, "Value ''{0}'' {1}.");
+
+        assertEquals("Value 'a' 1.", first.getMessage());
+        assertEquals("Value 'b' 2.", second.getMessage());
+        assertEquals("Value 'c' 3.", custom.getMessage());
+    }
+
     private static LocalizedMessage createSampleLocalizedMessage() {
         return new LocalizedMessage(0, "com.puppycrawl.tools.checkstyle.checks.coding.messages",
                 "empty.statement", EMPTY_OBJECT_ARRAY, "module", LocalizedMessage.class, null);
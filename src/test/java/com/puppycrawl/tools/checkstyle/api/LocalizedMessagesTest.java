@@ -19,6 +19,11 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedSet;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -35,4 +40,76 @@ public class LocalizedMessagesTest {
             null));
         Assert.assertEquals(1, messages.size());
     }
+
+    @Test
+    public void testMessagesAreSortedWithoutDuplicates() {
+        final LocalizedMessages messages = new LocalizedMessages();
+        messages.add(createMessage(3, 1));
+        messages.add(createMessage(1, 2));
+        messages.add(createMessage(3, 1));
+        messages.add(createMessage(1, 1));
+        Assert.assertEquals(3, messages.size());
+        Assert.assertEquals(Arrays.asList(createMessage(1, 1), createMessage(1, 2),
+            createMessage(3, 1)), new ArrayList<>(messages.getMessages()));
+    }
+
+    @Test
+    public void testMessagesAreIndexedBySortOrder() {
+        final LocalizedMessages messages = new LocalizedMessages();
+        messages.add(createMessage(7, 3));
+        messages.add(createMessage(2, 0));
+        final SortedSet<LocalizedMessage> sorted = messages.getMessages();
+        Assert.assertTrue(sorted.contains(createMessage(7, 3)));
+        Assert.assertFalse(sorted.contains(createMessage(7, 4)));
+        Assert.assertEquals(createMessage(2, 0), sorted.first());
+        Assert.assertEquals(1, sorted.headSet(createMessage(7, 3)).size());
+    }
+
+    @Test
+    public void testMessagesCanBeChanged() {
+        final LocalizedMessages messages = new LocalizedMessages();
+        messages.add(createMessage(1, 0));
+        final SortedSet<LocalizedMessage> result = messages.getMessages();
+        result.add(createMessage(2, 0));
+        result.remove(createMessage(1, 0));
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals(createMessage(1, 0), messages.getMessages().first());
+    }
+
+    @Test
+    public void testDrainTo() {
+        final LocalizedMessages first = new LocalizedMessages();
+        first.add(createMessage(2, 0));
+        first.add(createMessage(5, 0));
+        final LocalizedMessages second = new LocalizedMessages();
+        second.add(createMessage(1, 0));
+        second.add(createMessage(5, 0));
+        final LocalizedMessages target = new LocalizedMessages();
+
+        first.drainTo(target);
+        second.drainTo(target);
+        new LocalizedMessages().drainTo(target);
+
+        Assert.assertEquals(0, first.size());
+        Assert.assertEquals(0, second.size());
+        final List<LocalizedMessage> expected = Arrays.asList(createMessage(1, 0),
+            createMessage(2, 0), createMessage(5, 0));
+        Assert.assertEquals(expected, new ArrayList<>(target.getMessages()));
+    }
+
+    @Test
+    public void testReset() {
+        final LocalizedMessages messages = new LocalizedMessages();
+        messages.add(createMessage(2, 0));
+        messages.add(createMessage(1, 0));
+        messages.reset();
+        Assert.assertEquals(0, messages.size());
+        messages.add(createMessage(1, 0));
+        Assert.assertEquals(1, messages.getMessages().size());
+    }
+
+    private LocalizedMessage createMessage(int line, int column) {
+        return new LocalizedMessage(line, column, Definitions.CHECKSTYLE_BUNDLE,
+            "general.exception", new String[] {"args"}, null, getClass(), null);
+    }
 }
@@ -76,8 +76,31 @@ public class CsvFilterTest {
         assertTrue("equal 10", filter.accept(10));
     }
 
+    @Test
+    public void testDecideOverlappingRanges() {
+        final IntFilter filter = new CsvFilter("20-30, 5, 1-3, 2-8, 25, 40-35");
+        assertFalse("less than", filter.accept(0));
+        assertTrue("equal 1", filter.accept(1));
+        assertTrue("equal 8", filter.accept(8));
+        assertFalse("between ranges", filter.accept(9));
+        assertTrue("equal 20", filter.accept(20));
+        assertTrue("equal 30", filter.accept(30));
+        assertFalse("empty range", filter.accept(37));
+    }
+
+    @Test
+    public void testDecideAddedFilter() {
+        final CsvFilter filter = new CsvFilter("1-3");
+        filter.addFilter(new IntMatchFilter(10));
+        assertTrue("equal 2", filter.accept(2));
+        assertTrue("equal 10", filter.accept(10));
+        assertFalse("equal 5", filter.accept(5));
+    }
+
     @Test
     public void testEqualsAndHashCode() {
-        EqualsVerifier.forClass(CsvFilter.class).usingGetClass().verify();
+        EqualsVerifier.forClass(CsvFilter.class).usingGetClass()
+            .withIgnoredFields("intervals")
+            .verify();
     }
 }
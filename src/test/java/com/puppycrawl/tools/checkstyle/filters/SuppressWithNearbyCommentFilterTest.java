@@ -40,6 +40,8 @@ import com.puppycrawl.tools.checkstyle.TreeWalker;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 import com.puppycrawl.tools.checkstyle.checks.FileContentsHolder;
@@ -338,4 +340,47 @@ public class SuppressWithNearbyCommentFilterTest
             getPath("InputSuppressByIdWithNearbyCommentFilter.java"),
             removeSuppressed(expectedViolationMessages, suppressedViolationMessages));
     }
+
+    @Test
+    public void testMessageIsFormattedOnlyForMessageFormat() {
+        final FileContents contents = new FileContents(FileText.fromLines(
+            new File("Input.java"), Arrays.asList(
+                "int a; // SUPPRESS CHECKSTYLE MagicNumber",
+                "int b;",
+                "int c; // SUPPRESS CHECKSTYLE MagicNumber",
+                "int d;")));
+        contents.reportCppComment(1, 7);
+        contents.reportCppComment(3, 7);
+        final FileContentsHolder holder = new FileContentsHolder();
+        holder.setFileContents(contents);
+        holder.beginTree(null);
+        try {
+            final SuppressWithNearbyCommentFilter filter = new SuppressWithNearbyCommentFilter();
+            filter.setCheckFormat("NoSuchCheck");
+            filter.setInfluenceFormat("1");
+            // the message of the event cannot be formatted
+            Assert.assertTrue(filter.accept(createEvent(2, "{")));
+
+            filter.setCheckFormat(".*");
+            filter.setFileContents(null);
+            Assert.assertFalse(filter.accept(createEvent(2, "{")));
+            Assert.assertTrue(filter.accept(createEvent(5, "{")));
+
+            filter.setCheckFormat("NoSuchCheck");
+            filter.setMessageFormat("^message$");
+            filter.setFileContents(null);
+            Assert.assertFalse(filter.accept(createEvent(4, "message")));
+            Assert.assertTrue(filter.accept(createEvent(4, "other")));
+            Assert.assertTrue(filter.accept(createEvent(5, "message")));
+        }
+        finally {
+            holder.destroy();
+        }
+    }
+
+    private AuditEvent createEvent(int line, String key) {
+        final LocalizedMessage message = new LocalizedMessage(line, 1, "bundle", key, null,
+            SeverityLevel.ERROR, null, getClass(), null);
+        return new AuditEvent(this, "Input.java", message);
+    }
 }
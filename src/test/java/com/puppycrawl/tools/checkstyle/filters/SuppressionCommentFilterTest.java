@@ -40,6 +40,8 @@ import com.puppycrawl.tools.checkstyle.TreeWalker;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 import com.puppycrawl.tools.checkstyle.checks.FileContentsHolder;
@@ -334,4 +336,39 @@ public class SuppressionCommentFilterTest
             getPath("InputSuppressByIdWithCommentFilter.java"),
             removeSuppressed(expectedViolationMessages, suppressedViolationMessages));
     }
+
+    @Test
+    public void testMessageIsFormattedOnlyForMessageFormat() {
+        final FileContents contents = new FileContents(FileText.fromLines(
+            new File("Input.java"), Arrays.asList(
+                "// CHECKSTYLE:OFF",
+                "int a;",
+                "// CHECKSTYLE:ON",
+                "int b;")));
+        contents.reportCppComment(1, 0);
+        contents.reportCppComment(3, 0);
+        final FileContentsHolder holder = new FileContentsHolder();
+        holder.setFileContents(contents);
+        holder.beginTree(null);
+        try {
+            final SuppressionCommentFilter filter = new SuppressionCommentFilter();
+            // the message of the event cannot be formatted
+            Assert.assertFalse(filter.accept(createEvent(2, "{")));
+            Assert.assertTrue(filter.accept(createEvent(4, "{")));
+
+            filter.setMessageFormat("^message$");
+            filter.setFileContents(null);
+            Assert.assertFalse(filter.accept(createEvent(2, "message")));
+            Assert.assertTrue(filter.accept(createEvent(2, "other")));
+        }
+        finally {
+            holder.destroy();
+        }
+    }
+
+    private AuditEvent createEvent(int line, String key) {
+        final LocalizedMessage message = new LocalizedMessage(line, 1, "bundle", key, null,
+            SeverityLevel.ERROR, null, getClass(), null);
+        return new AuditEvent(this, "Input.java", message);
+    }
 }
@@ -72,7 +72,7 @@ public class SuppressionFilterTest extends BaseCheckTestSupport {
         EqualsVerifier
                 .forClass(SuppressionFilter.class)
                 .usingGetClass()
-                .withIgnoredFields("file", "optional", "configuration")
+                .withIgnoredFields("file", "optional", "configuration", "index")
                 .suppress(Warning.NONFINAL_FIELDS)
                 .verify();
     }
@@ -0,0 +1,118 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.FilterSet;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.checks.coding.MagicNumberCheck;
+import com.puppycrawl.tools.checkstyle.checks.whitespace.FileTabCharacterCheck;
+
+public class SuppressionIndexTest {
+
+    private static SuppressElement createElement(String files, String checks, String moduleId,
+            String lines, String columns) {
+        final SuppressElement element = new SuppressElement(files);
+        if (checks != null) {
+            element.setChecks(checks);
+        }
+        if (moduleId != null) {
+            element.setModuleId(moduleId);
+        }
+        element.setLines(lines);
+        element.setColumns(columns);
+        return element;
+    }
+
+    private static AuditEvent createEvent(String fileName, int line, int column,
+            String moduleId, Class<?> source) {
+        final LocalizedMessage message = new LocalizedMessage(line, column, "bundle", "key",
+            null, SeverityLevel.ERROR, moduleId, source, null);
+        return new AuditEvent(SuppressionIndexTest.class, fileName, message);
+    }
+
+    @Test
+    public void testIndexConformsToFilterSet() {
+        final FilterSet filterSet = new FilterSet();
+        filterSet.addFilter(createElement("Input\\.java", "MagicNumber", null, null, null));
+        filterSet.addFilter(createElement("Input\\.java", "FileTab", null, "1-3, 7", null));
+        filterSet.addFilter(createElement("[\\\\/]generated[\\\\/]", ".*", null, null, "5-9"));
+        filterSet.addFilter(createElement("Other", null, "magic", "10", "2"));
+        filterSet.addFilter(createElement("^Test", "FileTab|MagicNumber", null, "20-30",
+            null));
+        filterSet.addFilter(new SeverityMatchFilter());
+        final SuppressionIndex index = new SuppressionIndex(filterSet);
+
+        final String[] fileNames = {"Input.java", "src/generated/A.java", "Other.java",
+            "Test.java", "InputXjava", null, };
+        final Class<?>[] sources = {MagicNumberCheck.class, FileTabCharacterCheck.class};
+        final String[] moduleIds = {null, "magic"};
+        int suppressed = 0;
+        for (String fileName : fileNames) {
+            for (Class<?> source : sources) {
+                for (int position = 1; position < 64; position += 3) {
+                    final String moduleId = moduleIds[position % 2];
+                    final AuditEvent event =
+                        createEvent(fileName, position % 32, position / 4, moduleId, source);
+                    final boolean expected = filterSet.accept(event);
+                    assertEquals(fileName + ":" + position + " " + source.getSimpleName(),
+                        expected, index.accept(event));
+                    if (!expected) {
+                        suppressed++;
+                    }
+                }
+            }
+        }
+        assertTrue("some events should be suppressed", suppressed > 0);
+        final AuditEvent eventWithoutMessage = new AuditEvent(this, "Input.java", null);
+        assertEquals(filterSet.accept(eventWithoutMessage), index.accept(eventWithoutMessage));
+    }
+
+    @Test
+    public void testOtherFiltersAreApplied() {
+        final FilterSet filterSet = new FilterSet();
+        final SeverityMatchFilter severityFilter = new SeverityMatchFilter();
+        severityFilter.setAcceptOnMatch(false);
+        filterSet.addFilter(severityFilter);
+        final SuppressionIndex index = new SuppressionIndex(filterSet);
+
+        assertFalse(index.accept(createEvent("Input.java", 1, 1, null, getClass())));
+    }
+
+    @Test
+    public void testGetLiteral() {
+        assertEquals("Input.java", SuppressionIndex.getLiteral("Input\\.java"));
+        assertEquals("src/main/A", SuppressionIndex.getLiteral("src\\/main/A"));
+        assertEquals("a\\b", SuppressionIndex.getLiteral("a\\\\b"));
+        assertNull(SuppressionIndex.getLiteral("Input.java"));
+        assertNull(SuppressionIndex.getLiteral("[\\\\/]gen"));
+        assertNull(SuppressionIndex.getLiteral("a\\sb"));
+        assertNull(SuppressionIndex.getLiteral("a\\"));
+        assertNull(SuppressionIndex.getLiteral("^Test"));
+    }
+}
@@ -0,0 +1,67 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.grammars;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import antlr.CharScanner;
+
+public class CharSequenceInputBufferTest {
+
+    @Test
+    public void testLookahead() {
+        final CharSequenceInputBuffer buffer = new CharSequenceInputBuffer("ab");
+        buffer.fill(2);
+        assertEquals('a', buffer.LA(1));
+        assertEquals('b', buffer.LA(2));
+        assertEquals(CharScanner.EOF_CHAR, buffer.LA(3));
+        buffer.consume();
+        assertEquals('b', buffer.LA(1));
+        assertEquals(CharScanner.EOF_CHAR, buffer.LA(2));
+    }
+
+    @Test
+    public void testMarkAndRewind() {
+        final CharSequenceInputBuffer buffer = new CharSequenceInputBuffer("abc");
+        buffer.consume();
+        final int mark = buffer.mark();
+        assertTrue(buffer.isMarked());
+        buffer.consume();
+        assertEquals('c', buffer.LA(1));
+        buffer.rewind(mark);
+        assertFalse(buffer.isMarked());
+        assertEquals('b', buffer.LA(1));
+    }
+
+    @Test
+    public void testReset() {
+        final CharSequenceInputBuffer buffer = new CharSequenceInputBuffer("abc");
+        buffer.consume();
+        buffer.mark();
+        buffer.consume();
+        buffer.reset();
+        assertFalse(buffer.isMarked());
+        assertEquals('a', buffer.LA(1));
+    }
+}
@@ -0,0 +1,122 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.grammars;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import antlr.ANTLRException;
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * Checks that the fast front-end produces the same trees and the same
+ * errors as the default one for all inputs of the tests.
+ */
+public class FastJavaRecognizerTest {
+
+    private static final String[] INPUT_DIRECTORIES = {
+        "src/test/resources",
+        "src/test/resources-noncompilable",
+    };
+
+    @Test
+    public void testSameTreesForAllInputs() throws IOException {
+        final List<Path> inputs = findInputs();
+        assertTrue("inputs should be found", inputs.size() > 500);
+        for (Path input : inputs) {
+            final FileText text = new FileText(input.toFile(), "UTF-8");
+            assertEquals("Different trees for " + input,
+                parse(text, false), parse(text, true));
+        }
+    }
+
+    @Test
+    public void testSameErrors() throws IOException {
+        final File file = new File("src/test/resources-noncompilable/com/puppycrawl/tools/"
+            + "checkstyle/InputIncorrectClass.java");
+        final FileText text = new FileText(file, "UTF-8");
+        final String tree = parse(text, true);
+        assertTrue("parsing should fail", tree.startsWith("error: "));
+        assertEquals(parse(text, false), tree);
+    }
+
+    private static List<Path> findInputs() throws IOException {
+        final List<Path> inputs;
+        try (Stream<Path> files = Stream.of(INPUT_DIRECTORIES).map(Paths::get)
+                .flatMap(FastJavaRecognizerTest::walk)) {
+            inputs = files.filter(path -> path.toString().endsWith(".java"))
+                .collect(Collectors.toList());
+        }
+        return inputs;
+    }
+
+    private static Stream<Path> walk(Path directory) {
+        try {
+            return Files.walk(directory);
+        }
+        catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Parses the text with comment nodes and prints the tree with the
+     * positions of all nodes, or the error if the text cannot be parsed.
+     */
+    private static String parse(FileText text, boolean fast) {
+        String result;
+        try {
+            final DetailAST root = JavaParser.parseWithComments(new FileContents(text), fast);
+            final StringBuilder builder = new StringBuilder();
+            print(builder, root, 0);
+            result = builder.toString();
+        }
+        catch (ANTLRException ex) {
+            result = "error: " + ex.getClass().getName() + ": " + ex;
+        }
+        return result;
+    }
+
+    private static void print(StringBuilder builder, DetailAST firstNode, int depth) {
+        DetailAST node = firstNode;
+        while (node != null) {
+            builder.append(depth).append(' ').append(node.getType())
+                .append(' ').append(node.getText())
+                .append(" [").append(node.getLineNo()).append(':')
+                .append(node.getColumnNo()).append("]\n");
+            print(builder, node.getFirstChild(), depth + 1);
+            node = node.getNextSibling();
+        }
+    }
+}
@@ -87,7 +87,8 @@ public class XDocsPagesTest {
             "AbstractSuperCheck.java",
             "AbstractTypeAwareCheck.java",
             "AbstractTypeParameterNameCheck.java",
-            "FileSetCheck.java"
+            "FileSetCheck.java",
+            "GlobalStatefulCheck.java"
     );
 
     private static final List<String> XML_FILESET_LIST = Arrays.asList(
@@ -119,7 +120,9 @@ public class XDocsPagesTest {
 
     private static final List<String> UNDOCUMENTED_PROPERTIES = Arrays.asList(
             "SuppressWithNearbyCommentFilter.fileContents",
-            "SuppressionCommentFilter.fileContents"
+            "SuppressionCommentFilter.fileContents",
+            "JavadocTypeCheck.javadocTreeStore",
+            "UnusedImportsCheck.javadocTreeStore"
     );
 
     private static final Set<String> SUN_CHECKS = Collections.unmodifiableSet(
@@ -26,6 +26,7 @@ import static org.junit.Assert.fail;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 
 import org.junit.Test;
 
@@ -140,4 +141,10 @@ public class TokenUtilsTest {
         assertTrue(TokenUtils.isCommentType(TokenTypes.COMMENT_CONTENT));
     }
 
+    @Test
+    public void testGetTokenCount() {
+        final int maxTokenId = Arrays.stream(TokenUtils.getAllTokenIds()).max().getAsInt();
+        assertEquals(maxTokenId + 1, TokenUtils.getTokenCount());
+    }
+
 }